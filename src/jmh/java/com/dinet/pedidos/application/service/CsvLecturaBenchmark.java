@@ -0,0 +1,106 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.benchmark.DatosBenchmark;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura del CSV de pedidos: cada invocación procesa el archivo completo, por lo que la métrica
+ * es archivos/segundo (filas/segundo = score × filas).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvLecturaBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int filas;
+
+    @Param({"false", "true"})
+    private boolean bom;
+
+    private final CargarPedidosService service = new CargarPedidosService(null, null, null, null, null, null, null);
+
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        csv = DatosBenchmark.csv(filas, bom);
+    }
+
+    @Benchmark
+    public void lectorCommons(Blackhole bh) throws IOException {
+        leer(new CommonsCsvPedidoReader(new ByteArrayInputStream(csv)), bh);
+    }
+
+    @Benchmark
+    public void lectorBytes(Blackhole bh) throws IOException {
+        leer(new BytesPedidoCsvReader(new ByteArrayInputStream(csv)), bh);
+    }
+
+    @Benchmark
+    public void parsePedidoFromRecord(Blackhole bh) throws IOException {
+        try (CSVParser parser = abrirParser()) {
+            PedidoCsvColumnas columnas = PedidoCsvColumnas.desdeCabecera(parser.getHeaderNames());
+            for (CSVRecord record : parser) {
+                bh.consume(service.parsePedidoFromRecord(record, columnas));
+            }
+        }
+    }
+
+    /**
+     * Acceso a los campos por índice resuelto una vez desde la cabecera (con o sin BOM),
+     * sin construir el Pedido: aísla el coste de localizar las columnas.
+     */
+    @Benchmark
+    public void camposPorCabecera(Blackhole bh) throws IOException {
+        try (CSVParser parser = abrirParser()) {
+            PedidoCsvColumnas columnas = PedidoCsvColumnas.desdeCabecera(parser.getHeaderNames());
+            for (CSVRecord record : parser) {
+                bh.consume(columnas.numeroPedido(record));
+                bh.consume(columnas.clienteId(record));
+                bh.consume(columnas.fechaEntrega(record));
+                bh.consume(columnas.estado(record));
+                bh.consume(columnas.zonaEntrega(record));
+                bh.consume(columnas.requiereRefrigeracion(record));
+            }
+        }
+    }
+
+    private CSVParser abrirParser() throws IOException {
+        return new CSVParser(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8)),
+                CSVFormat.DEFAULT.withFirstRecordAsHeader());
+    }
+
+    private static void leer(PedidoCsvReader lector, Blackhole bh) throws IOException {
+        try (lector) {
+            while (lector.siguiente()) {
+                bh.consume(lector.pedido());
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.benchmark.DatosBenchmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SHA-256 del archivo completo tal como se calcula antes de consultar la idempotencia.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileHashBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int filas;
+
+    private final CargarPedidosService service = new CargarPedidosService(null, null, null, null, null, null, null);
+
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        csv = DatosBenchmark.csv(filas, false);
+    }
+
+    @Benchmark
+    public String calculateFileHash() {
+        return service.calculateFileHash(() -> new ByteArrayInputStream(csv));
+    }
+}
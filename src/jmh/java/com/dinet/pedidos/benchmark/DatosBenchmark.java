@@ -0,0 +1,90 @@
+package com.dinet.pedidos.benchmark;
+
+import com.dinet.pedidos.domain.model.Cliente;
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.model.Zona;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos sintéticos para los benchmarks: filas válidas con los mismos clientes y zonas del DataLoader,
+ * generadas en memoria para que la medición no dependa de disco.
+ */
+public final class DatosBenchmark {
+
+    public static final String CABECERA = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion";
+
+    public static final List<Cliente> CLIENTES = List.of(
+            new Cliente("CLI-123", true),
+            new Cliente("CLI-456", true),
+            new Cliente("CLI-789", true),
+            new Cliente("CLI-999", true),
+            new Cliente("CLI-001", true));
+
+    public static final List<Zona> ZONAS = List.of(
+            new Zona("ZONA1", true),
+            new Zona("ZONA2", false),
+            new Zona("ZONA3", true),
+            new Zona("ZONA5", false),
+            new Zona("ZONA9", true));
+
+    private static final EstadoPedido[] ESTADOS = EstadoPedido.values();
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * CSV completo (cabecera + filas) en UTF-8, opcionalmente precedido de BOM.
+     */
+    public static byte[] csv(int filas, boolean bom) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(filas * 60 + 128);
+        StringBuilder linea = new StringBuilder(128);
+        if (bom) {
+            linea.append('\uFEFF');
+        }
+        linea.append(CABECERA).append('\n');
+        String fecha = fechaEntrega().toString();
+        for (int i = 0; i < filas; i++) {
+            Zona zona = ZONAS.get(i % ZONAS.size());
+            linea.append('P').append(i).append(',')
+                    .append(CLIENTES.get(i % CLIENTES.size()).getId()).append(',')
+                    .append(fecha).append(',')
+                    .append(ESTADOS[i % ESTADOS.length].name()).append(',')
+                    .append(zona.getId()).append(',')
+                    .append(requiereRefrigeracion(i, zona)).append('\n');
+            if (linea.length() > 8192) {
+                out.writeBytes(linea.toString().getBytes(StandardCharsets.UTF_8));
+                linea.setLength(0);
+            }
+        }
+        out.writeBytes(linea.toString().getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    /**
+     * Las mismas filas que {@link #csv(int, boolean)}, ya como objetos de dominio.
+     */
+    public static List<Pedido> pedidos(int filas) {
+        List<Pedido> pedidos = new ArrayList<>(filas);
+        LocalDate fecha = fechaEntrega();
+        for (int i = 0; i < filas; i++) {
+            Zona zona = ZONAS.get(i % ZONAS.size());
+            pedidos.add(Pedido.of("P" + i, CLIENTES.get(i % CLIENTES.size()).getId(), zona.getId(),
+                    fecha, ESTADOS[i % ESTADOS.length], requiereRefrigeracion(i, zona)));
+        }
+        return pedidos;
+    }
+
+    private static boolean requiereRefrigeracion(int fila, Zona zona) {
+        return zona.isSoporteRefrigeracion() && fila % 2 == 0;
+    }
+
+    private static LocalDate fechaEntrega() {
+        return LocalDate.now().plusDays(30);
+    }
+}
@@ -0,0 +1,92 @@
+package com.dinet.pedidos.domain.service;
+
+import com.dinet.pedidos.benchmark.DatosBenchmark;
+import com.dinet.pedidos.domain.model.Cliente;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.model.Zona;
+import com.dinet.pedidos.domain.ports.ClienteRepositoryPort;
+import com.dinet.pedidos.domain.ports.ZonaRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Reglas de dominio sobre pedidos ya parseados, con los repositorios de clientes y zonas
+ * reemplazados por mapas en memoria para medir solo la validación.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidacionPedidoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int filas;
+
+    private PedidoDomainService domainService;
+    private List<Pedido> pedidos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        domainService = new PedidoDomainService(new ClientesEnMemoria(), new ZonasEnMemoria());
+        pedidos = DatosBenchmark.pedidos(filas);
+    }
+
+    @Benchmark
+    public int validarPedido() {
+        for (Pedido pedido : pedidos) {
+            domainService.validarPedido(pedido);
+        }
+        return pedidos.size();
+    }
+
+    private static final class ClientesEnMemoria implements ClienteRepositoryPort {
+
+        private final Map<String, Cliente> clientes = DatosBenchmark.CLIENTES.stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+
+        @Override
+        public Optional<Cliente> findById(String id) {
+            return Optional.ofNullable(clientes.get(id));
+        }
+
+        @Override
+        public List<Cliente> findAll() {
+            return List.copyOf(clientes.values());
+        }
+    }
+
+    private static final class ZonasEnMemoria implements ZonaRepositoryPort {
+
+        private final Map<String, Zona> zonas = DatosBenchmark.ZONAS.stream()
+                .collect(Collectors.toMap(Zona::getId, Function.identity()));
+
+        @Override
+        public Optional<Zona> findById(String id) {
+            return Optional.ofNullable(zonas.get(id));
+        }
+
+        @Override
+        public List<Zona> findAll() {
+            return List.copyOf(zonas.values());
+        }
+    }
+}
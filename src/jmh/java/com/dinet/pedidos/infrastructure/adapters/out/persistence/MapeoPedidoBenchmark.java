@@ -0,0 +1,60 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.benchmark.DatosBenchmark;
+import com.dinet.pedidos.domain.model.Pedido;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión dominio ↔ entidad JPA que hace el adaptador en cada saveAll / lectura.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoPedidoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int filas;
+
+    private final PedidoRepositoryAdapter adapter = new PedidoRepositoryAdapter(null, null, null);
+
+    private List<Pedido> pedidos;
+    private List<PedidoEntity> entidades;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pedidos = DatosBenchmark.pedidos(filas);
+        entidades = pedidos.stream().map(adapter::toEntity).toList();
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole bh) {
+        for (Pedido pedido : pedidos) {
+            bh.consume(adapter.toEntity(pedido));
+        }
+    }
+
+    @Benchmark
+    public void toDomain(Blackhole bh) {
+        for (PedidoEntity entidad : entidades) {
+            bh.consume(adapter.toDomain(entidad));
+        }
+    }
+}
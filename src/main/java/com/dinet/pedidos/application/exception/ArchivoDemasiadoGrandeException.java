@@ -0,0 +1,7 @@
+package com.dinet.pedidos.application.exception;
+
+public class ArchivoDemasiadoGrandeException extends RuntimeException {
+    public ArchivoDemasiadoGrandeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.dinet.pedidos.application.exception;
+
+public class CabeceraCsvInvalidaException extends IllegalArgumentException {
+    public CabeceraCsvInvalidaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.dinet.pedidos.application.exception;
+
+/**
+ * Otra petición está procesando la misma carga (misma Idempotency-Key y mismo archivo).
+ */
+public class CargaEnCursoException extends RuntimeException {
+    public CargaEnCursoException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dinet.pedidos.application.exception;
+
+/**
+ * Fallo técnico en medio de una carga por bloques: los bloques confirmados se conservan y reenviar el mismo
+ * archivo con la misma Idempotency-Key la reanuda.
+ */
+public class CargaInterrumpidaException extends RuntimeException {
+    public CargaInterrumpidaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
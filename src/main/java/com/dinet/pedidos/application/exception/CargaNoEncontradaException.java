@@ -0,0 +1,7 @@
+package com.dinet.pedidos.application.exception;
+
+public class CargaNoEncontradaException extends RuntimeException {
+    public CargaNoEncontradaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.dinet.pedidos.application.exception;
+
+public class CompresionNoSoportadaException extends IllegalArgumentException {
+    public CompresionNoSoportadaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.dinet.pedidos.application.exception;
+
+public class CuerpoLentoException extends RuntimeException {
+    public CuerpoLentoException(String message) {
+        super(message);
+    }
+
+    public CuerpoLentoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,59 @@
+package com.dinet.pedidos.application.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Estado de una carga asíncrona. Lo actualiza el hilo del pool de cargas y lo leen las consultas de
+ * estado, por eso los campos mutables son volatile.
+ */
+@Getter
+public class CargaJob {
+    private final UUID id;
+    // Solo sirve para reconocer reintentos del mismo cliente: no se expone en la respuesta 202 ni en las consultas
+    @JsonIgnore
+    private final String idempotencyKey;
+    private final Instant creadoEn;
+    private volatile EstadoCarga estado = EstadoCarga.EN_COLA;
+    private volatile Instant iniciadoEn;
+    private volatile Instant finalizadoEn;
+    private volatile ProgresoCarga progreso;
+    private volatile CargaPedidosResult resultado;
+    private volatile String errorCode;
+    private volatile String errorMensaje;
+
+    public CargaJob(UUID id, String idempotencyKey) {
+        this.id = id;
+        this.idempotencyKey = idempotencyKey;
+        this.creadoEn = Instant.now();
+    }
+
+    public void iniciar() {
+        this.iniciadoEn = Instant.now();
+        this.estado = EstadoCarga.EN_PROCESO;
+    }
+
+    public void actualizarProgreso(ProgresoCarga progreso) {
+        this.progreso = progreso;
+    }
+
+    public void completar(CargaPedidosResult resultado) {
+        this.resultado = resultado;
+        this.finalizadoEn = Instant.now();
+        this.estado = EstadoCarga.COMPLETADA;
+    }
+
+    public void fallar(String errorCode, String errorMensaje) {
+        this.errorCode = errorCode;
+        this.errorMensaje = errorMensaje;
+        this.finalizadoEn = Instant.now();
+        this.estado = EstadoCarga.FALLIDA;
+    }
+
+    public boolean isFinalizado() {
+        return estado == EstadoCarga.COMPLETADA || estado == EstadoCarga.FALLIDA;
+    }
+}
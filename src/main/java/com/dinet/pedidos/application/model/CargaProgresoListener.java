@@ -0,0 +1,13 @@
+package com.dinet.pedidos.application.model;
+
+/**
+ * Recibe el avance de una carga mientras se procesa. Se invoca en el hilo que procesa la carga,
+ * por lo que las implementaciones deben ser rápidas.
+ */
+@FunctionalInterface
+public interface CargaProgresoListener {
+
+    CargaProgresoListener NINGUNO = progreso -> { };
+
+    void onProgreso(ProgresoCarga progreso);
+}
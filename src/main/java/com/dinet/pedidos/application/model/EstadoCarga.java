@@ -0,0 +1,8 @@
+package com.dinet.pedidos.application.model;
+
+public enum EstadoCarga {
+    EN_COLA,
+    EN_PROCESO,
+    COMPLETADA,
+    FALLIDA
+}
@@ -0,0 +1,22 @@
+package com.dinet.pedidos.application.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Etapas de una carga cuyo tiempo se mide por separado. {@code tag} es el valor de la etiqueta
+ * {@code etapa} en las métricas.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EtapaCarga {
+    HASH("hash"),
+    IDEMPOTENCIA_CONSULTA("idempotencia_consulta"),
+    PARSEO("parseo"),
+    VALIDACION("validacion"),
+    DUPLICADOS("duplicados"),
+    PERSISTENCIA("persistencia"),
+    IDEMPOTENCIA_GUARDADO("idempotencia_guardado");
+
+    private final String tag;
+}
@@ -0,0 +1,28 @@
+package com.dinet.pedidos.application.model;
+
+import com.dinet.pedidos.domain.model.PedidoResumen;
+
+import java.util.function.Consumer;
+
+/**
+ * Exportación ya validada, pendiente de ejecutar: {@link #escribir(Consumer)} recorre los pedidos y los
+ * entrega uno a uno al destino. Permite rechazar un filtro inválido antes de empezar a responder.
+ * <p>
+ * Puede retener recursos desde que se pide (el turno de admisión): quien la recibe debe cerrarla siempre,
+ * también si {@link #escribir(Consumer)} no llega a ejecutarse.
+ */
+@FunctionalInterface
+public interface ExportacionPedidos extends AutoCloseable {
+
+    /**
+     * @return cantidad de pedidos escritos
+     */
+    long escribir(Consumer<PedidoResumen> destino);
+
+    /**
+     * Libera lo reservado al pedir la exportación. Cerrarla más de una vez no tiene efecto.
+     */
+    @Override
+    default void close() {
+    }
+}
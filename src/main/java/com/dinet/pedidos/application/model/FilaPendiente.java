@@ -0,0 +1,10 @@
+package com.dinet.pedidos.application.model;
+
+import com.dinet.pedidos.domain.model.Pedido;
+
+/**
+ * Pedido leído del CSV junto con su número de línea, a la espera de las validaciones por lote
+ * (duplicados en BD o validación en staging).
+ */
+public record FilaPendiente(int numeroLinea, Pedido pedido) {
+}
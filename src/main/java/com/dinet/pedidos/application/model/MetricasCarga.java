@@ -0,0 +1,86 @@
+package com.dinet.pedidos.application.model;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mediciones de una carga: tiempo acumulado por etapa, filas, bytes, errores por código y resultado.
+ * Se acumula en memoria durante la carga (sin tocar el registro de métricas por fila) y se publica
+ * una sola vez al terminar.
+ */
+@Getter
+public class MetricasCarga {
+
+    public static final String RESULTADO_OK = "ok";
+    public static final String RESULTADO_ERRORES = "errores";
+    public static final String RESULTADO_DUPLICADA = "duplicada";
+    public static final String RESULTADO_REINTENTO = "reintento";
+    public static final String RESULTADO_FALLIDA = "fallida";
+
+    private static final EtapaCarga[] ETAPAS = EtapaCarga.values();
+
+    private final long inicioNanos = System.nanoTime();
+    @Getter(AccessLevel.NONE)
+    private final long[] nanosPorEtapa = new long[ETAPAS.length];
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Long> erroresPorCodigo = new LinkedHashMap<>();
+
+    @Setter
+    private String resultado;
+    @Setter
+    private long filas;
+    @Setter
+    private long bytes;
+    private long duracionNanos;
+
+    public void sumar(EtapaCarga etapa, long nanos) {
+        nanosPorEtapa[etapa.ordinal()] += nanos;
+    }
+
+    /**
+     * Suma a {@code etapa} el tiempo transcurrido desde {@code desdeNanos} y devuelve el instante actual,
+     * para encadenar mediciones consecutivas con una sola lectura del reloj por tramo.
+     */
+    public long medir(EtapaCarga etapa, long desdeNanos) {
+        long ahora = System.nanoTime();
+        nanosPorEtapa[etapa.ordinal()] += ahora - desdeNanos;
+        return ahora;
+    }
+
+    public long nanos(EtapaCarga etapa) {
+        return nanosPorEtapa[etapa.ordinal()];
+    }
+
+    public void contarErrores(List<ErrorProcesamiento> errores) {
+        for (ErrorProcesamiento error : errores) {
+            erroresPorCodigo.merge(error.getErrorCode(), 1L, Long::sum);
+        }
+    }
+
+    public Map<String, Long> getErroresPorCodigo() {
+        return Collections.unmodifiableMap(erroresPorCodigo);
+    }
+
+    /**
+     * Completa resultado, filas y errores a partir del resultado de una carga procesada. No hace nada si el
+     * resultado ya se fijó (p. ej. un reintento que devolvió la respuesta guardada).
+     */
+    public void registrarResultado(CargaPedidosResult result) {
+        if (resultado != null) {
+            return;
+        }
+        resultado = result.getErrores().isEmpty() ? RESULTADO_OK : RESULTADO_ERRORES;
+        filas = result.getTotalProcesados();
+        contarErrores(result.getErrores());
+    }
+
+    public void finalizar() {
+        duracionNanos = System.nanoTime() - inicioNanos;
+    }
+}
@@ -0,0 +1,24 @@
+package com.dinet.pedidos.application.model;
+
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Una página de la consulta de pedidos. {@code siguienteCursor} se envía como {@code cursor} para pedir la
+ * página siguiente; es {@code null} en la última.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PedidosPagina {
+    private List<PedidoResumen> pedidos = new ArrayList<>();
+    private String siguienteCursor;
+
+}
@@ -0,0 +1,19 @@
+package com.dinet.pedidos.application.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Foto del avance de una carga en curso.
+ */
+@Getter
+@AllArgsConstructor
+public class ProgresoCarga {
+    private final int filasLeidas;
+    private final int filasValidas;
+    private final int conError;
+    private final int lotesEnviados;
+    private final int enviadosABd;
+    private final long filasPorSegundo;
+    private final boolean finalizado;
+}
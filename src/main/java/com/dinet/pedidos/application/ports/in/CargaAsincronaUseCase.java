@@ -0,0 +1,15 @@
+package com.dinet.pedidos.application.ports.in;
+
+import com.dinet.pedidos.application.model.CargaJob;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface CargaAsincronaUseCase {
+    CargaJob iniciarCarga(MultipartFile file, String idempotencyKey);
+
+    CargaJob consultarCarga(UUID id);
+
+    SseEmitter suscribirEventos(UUID id);
+}
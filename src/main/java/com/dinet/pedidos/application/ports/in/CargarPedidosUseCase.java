@@ -3,6 +3,13 @@ package com.dinet.pedidos.application.ports.in;
 import com.dinet.pedidos.application.model.CargaPedidosResult;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 public interface CargarPedidosUseCase {
     CargaPedidosResult cargarPedidos(MultipartFile file, String idempotencyKey);
+
+    /**
+     * Carga el CSV leyéndolo directamente de {@code cuerpo} (el cuerpo de la petición), sin copia intermedia.
+     */
+    CargaPedidosResult cargarPedidosDesdeCuerpo(InputStream cuerpo, String idempotencyKey);
 }
\ No newline at end of file
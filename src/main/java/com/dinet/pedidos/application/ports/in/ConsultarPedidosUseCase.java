@@ -0,0 +1,8 @@
+package com.dinet.pedidos.application.ports.in;
+
+import com.dinet.pedidos.application.model.PedidosPagina;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+
+public interface ConsultarPedidosUseCase {
+    PedidosPagina consultarPedidos(PedidoFiltro filtro, String cursor, int limite);
+}
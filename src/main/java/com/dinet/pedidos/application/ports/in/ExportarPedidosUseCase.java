@@ -0,0 +1,8 @@
+package com.dinet.pedidos.application.ports.in;
+
+import com.dinet.pedidos.application.model.ExportacionPedidos;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+
+public interface ExportarPedidosUseCase {
+    ExportacionPedidos exportarPedidos(PedidoFiltro filtro);
+}
@@ -0,0 +1,21 @@
+package com.dinet.pedidos.application.ports.out;
+
+import com.dinet.pedidos.application.model.CargaJob;
+import com.dinet.pedidos.application.model.ProgresoCarga;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * Publica el avance y el fin de las cargas asíncronas a quienes las estén siguiendo.
+ */
+public interface CargaEventosPort {
+    void publicarProgreso(UUID cargaId, ProgresoCarga progreso);
+
+    void publicarFin(CargaJob carga);
+
+    /**
+     * Registra un suscriptor a los eventos de la carga; si ya terminó recibe solo el evento de fin.
+     */
+    SseEmitter suscribir(CargaJob carga);
+}
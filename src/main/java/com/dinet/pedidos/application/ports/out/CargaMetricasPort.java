@@ -0,0 +1,11 @@
+package com.dinet.pedidos.application.ports.out;
+
+import com.dinet.pedidos.application.model.MetricasCarga;
+
+/**
+ * Publica las mediciones de cada carga terminada (con éxito, con errores o fallida).
+ */
+public interface CargaMetricasPort {
+
+    void registrarCarga(MetricasCarga metricas);
+}
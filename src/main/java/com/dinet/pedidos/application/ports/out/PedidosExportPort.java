@@ -0,0 +1,20 @@
+package com.dinet.pedidos.application.ports.out;
+
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+
+import java.util.function.Consumer;
+
+/**
+ * Lectura secuencial de pedidos para exportaciones: las filas se entregan a medida que llegan de la BD, sin
+ * acumular el resultado. Debe llamarse dentro de una transacción (el cursor vive en ella).
+ */
+public interface PedidosExportPort {
+
+    /**
+     * Entrega a {@code destino} los pedidos que cumplen el filtro, ordenados por {@code (fechaEntrega, id)}.
+     *
+     * @return cantidad de pedidos entregados
+     */
+    long exportar(PedidoFiltro filtro, Consumer<PedidoResumen> destino);
+}
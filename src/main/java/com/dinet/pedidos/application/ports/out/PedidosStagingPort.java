@@ -0,0 +1,35 @@
+package com.dinet.pedidos.application.ports.out;
+
+import com.dinet.pedidos.application.model.ErrorProcesamiento;
+import com.dinet.pedidos.application.model.FilaPendiente;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Área de staging para validar una carga completa con SQL por conjuntos en lugar de fila a fila.
+ * Todas las operaciones usan la transacción de la carga en curso.
+ */
+public interface PedidosStagingPort {
+
+    /**
+     * Indica si la base de datos admite la validación en staging (solo PostgreSQL).
+     */
+    boolean disponible();
+
+    void agregar(UUID cargaId, List<FilaPendiente> filas);
+
+    /**
+     * Evalúa las reglas del dominio y los duplicados (en el archivo y en {@code pedidos}) sobre las filas
+     * de la carga. Devuelve como mucho un error por línea, con el mismo código y mensaje que la validación
+     * en memoria, ordenados por línea.
+     */
+    List<ErrorProcesamiento> validar(UUID cargaId);
+
+    /**
+     * Inserta en {@code pedidos} todas las filas de la carga. Devuelve la cantidad insertada.
+     */
+    int insertarValidos(UUID cargaId);
+
+    void descartar(UUID cargaId);
+}
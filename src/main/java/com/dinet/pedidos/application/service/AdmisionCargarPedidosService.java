@@ -0,0 +1,33 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.ports.in.CargarPedidosUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+
+/**
+ * Decorador de {@link CargarPedidosUseCase} que pasa cada carga síncrona por {@link AdmisionCargas} antes de
+ * entrar en la transacción de {@link CargarPedidosService}.
+ */
+@Primary
+@RequiredArgsConstructor
+@Service
+public class AdmisionCargarPedidosService implements CargarPedidosUseCase {
+
+    private final CargarPedidosService cargarPedidosService;
+    private final AdmisionCargas admisionCargas;
+
+    @Override
+    public CargaPedidosResult cargarPedidos(MultipartFile file, String idempotencyKey) {
+        return admisionCargas.ejecutar(() -> cargarPedidosService.cargarPedidos(file, idempotencyKey));
+    }
+
+    @Override
+    public CargaPedidosResult cargarPedidosDesdeCuerpo(InputStream cuerpo, String idempotencyKey) {
+        return admisionCargas.ejecutar(() -> cargarPedidosService.cargarPedidosDesdeCuerpo(cuerpo, idempotencyKey));
+    }
+}
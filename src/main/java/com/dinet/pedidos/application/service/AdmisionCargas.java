@@ -0,0 +1,116 @@
+package com.dinet.pedidos.application.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Limita las cargas que procesan a la vez a {@code app.carga.admision.max-concurrentes}, por debajo del pool de
+ * conexiones: cada carga mantiene una conexión durante toda su transacción, así que con muchas peticiones
+ * simultáneas (hilos virtuales) el exceso espera aquí su turno en lugar de agotar el tiempo de espera de Hikari.
+ * El permiso se pide antes de abrir la transacción.
+ * <p>
+ * Las exportaciones también retienen una conexión (el cursor de solo lectura) mientras dura la respuesta, hasta
+ * {@code spring.mvc.async.request-timeout}: por eso toman un permiso del mismo semáforo y, además, como mucho
+ * {@code app.carga.admision.max-exportaciones} a la vez, para que no desplacen a las cargas.
+ */
+@Service
+public class AdmisionCargas {
+
+    private final Semaphore permisos;
+    private final Semaphore exportaciones;
+    private final Duration espera;
+
+    public AdmisionCargas(@Value("${app.carga.admision.max-concurrentes:8}") int maxConcurrentes,
+                          @Value("${app.carga.admision.max-exportaciones:2}") int maxExportaciones,
+                          @Value("${app.carga.admision.espera:PT30S}") Duration espera) {
+        this.permisos = new Semaphore(maxConcurrentes, true);
+        this.exportaciones = new Semaphore(maxExportaciones);
+        this.espera = espera;
+    }
+
+    /**
+     * Para cargas síncronas: si no hay turno en {@code app.carga.admision.espera} se rechaza la carga (503).
+     */
+    public <T> T ejecutar(Supplier<T> carga) {
+        try {
+            if (!permisos.tryAcquire(espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Sin turno para procesar la carga tras " + espera);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Espera de turno interrumpida", e);
+        }
+        try {
+            return carga.get();
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Para cargas asíncronas ya aceptadas: espera el turno sin límite de tiempo.
+     */
+    public <T> T ejecutarEnSegundoPlano(Supplier<T> carga) throws InterruptedException {
+        permisos.acquire();
+        try {
+            return carga.get();
+        } finally {
+            permisos.release();
+        }
+    }
+
+    /**
+     * Para exportaciones: reserva el turno al aceptar la petición, antes de responder 200, y lo devuelve el
+     * {@link Turno#close()} al terminar de escribir. Si ya hay {@code max-exportaciones} en curso se rechaza sin
+     * esperar; si no, espera el permiso compartido como una carga síncrona. En ambos casos 503.
+     */
+    public Turno reservarExportacion() {
+        if (!exportaciones.tryAcquire()) {
+            throw new RejectedExecutionException("Se alcanzó el máximo de exportaciones simultáneas");
+        }
+        try {
+            if (!permisos.tryAcquire(espera.toMillis(), TimeUnit.MILLISECONDS)) {
+                exportaciones.release();
+                throw new RejectedExecutionException("Sin turno para la exportación tras " + espera);
+            }
+        } catch (InterruptedException e) {
+            exportaciones.release();
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Espera de turno interrumpida", e);
+        }
+        AtomicBoolean liberado = new AtomicBoolean();
+        return () -> {
+            if (liberado.compareAndSet(false, true)) {
+                permisos.release();
+                exportaciones.release();
+            }
+        };
+    }
+
+    public int getDisponibles() {
+        return permisos.availablePermits();
+    }
+
+    public int getEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    public int getExportacionesDisponibles() {
+        return exportaciones.availablePermits();
+    }
+
+    /**
+     * Turno reservado; cerrarlo más de una vez no tiene efecto.
+     */
+    public interface Turno extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
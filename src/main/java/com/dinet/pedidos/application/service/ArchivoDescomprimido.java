@@ -0,0 +1,82 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.CompresionNoSoportadaException;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Archivo de carga que se entrega descomprimido: cada {@link #getInputStream()} mira los primeros bytes del
+ * origen y, si es un gzip, lo descomprime a medida que el lector consume, sin copiarlo a memoria ni a disco.
+ * Los demás archivos se entregan tal cual.
+ * <p>
+ * La compresión se reconoce por los bytes mágicos y no por el nombre ni el Content-Type de la parte, así que el
+ * mismo archivo comprimido o no produce los mismos bytes (y el mismo hash de idempotencia). Lo descomprimido se
+ * corta en {@code maxBytesDescomprimidos} ({@link LimiteInputStream}) para no procesar un gzip
+ * de pocos KB que se expande a GB. zstd se reconoce pero se rechaza: no hay descompresor disponible.
+ */
+public class ArchivoDescomprimido implements InputStreamSource {
+
+    private static final byte[] GZIP = {(byte) 0x1f, (byte) 0x8b};
+    private static final byte[] ZSTD = {(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd};
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStreamSource origen;
+    private final long maxBytesDescomprimidos;
+
+    public ArchivoDescomprimido(InputStreamSource origen, long maxBytesDescomprimidos) {
+        this.origen = origen;
+        this.maxBytesDescomprimidos = maxBytesDescomprimidos;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        InputStream in = new BufferedInputStream(origen.getInputStream(), BUFFER_SIZE);
+        try {
+            byte[] cabecera = leerCabecera(in);
+            if (empiezaCon(cabecera, GZIP)) {
+                return new LimiteInputStream(new GZIPInputStream(in, BUFFER_SIZE), maxBytesDescomprimidos,
+                        "El archivo descomprimido excede el tamaño máximo permitido de " + maxBytesDescomprimidos + " bytes");
+            }
+            if (empiezaCon(cabecera, ZSTD)) {
+                throw new CompresionNoSoportadaException(
+                        "Compresión zstd no soportada: envíe el archivo sin comprimir o comprimido con gzip");
+            }
+            return in;
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static byte[] leerCabecera(InputStream in) throws IOException {
+        byte[] cabecera = new byte[ZSTD.length];
+        in.mark(cabecera.length);
+        int leidos = 0;
+        while (leidos < cabecera.length) {
+            int n = in.read(cabecera, leidos, cabecera.length - leidos);
+            if (n == -1) {
+                break;
+            }
+            leidos += n;
+        }
+        in.reset();
+        return leidos == cabecera.length ? cabecera : Arrays.copyOf(cabecera, leidos);
+    }
+
+    private static boolean empiezaCon(byte[] cabecera, byte[] magico) {
+        if (cabecera.length < magico.length) {
+            return false;
+        }
+        for (int i = 0; i < magico.length; i++) {
+            if (cabecera[i] != magico[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,84 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.model.CargaProgresoListener;
+import com.dinet.pedidos.application.model.ProgresoCarga;
+
+/**
+ * Contadores de avance de una carga y emisión limitada hacia el {@link CargaProgresoListener}.
+ * En el bucle de filas solo se incrementan enteros; el reloj se consulta cada
+ * {@link #FILAS_ENTRE_CONTROLES} filas y al cerrar cada lote, y se notifica como mucho una vez
+ * por intervalo. El cierre de la carga siempre se notifica.
+ */
+class AvanceCarga {
+
+    static final int FILAS_ENTRE_CONTROLES = 1024;
+
+    private final CargaProgresoListener listener;
+    private final CargaPedidosResult result;
+    private final long intervaloNanos;
+    private final long inicio;
+    private long ultimaEmision;
+
+    private int filasLeidas;
+    private int filasValidas;
+    private int lotesEnviados;
+    private int enviadosABd;
+
+    AvanceCarga(CargaProgresoListener listener, CargaPedidosResult result, long intervaloMs) {
+        this.listener = listener;
+        this.result = result;
+        this.intervaloNanos = intervaloMs * 1_000_000L;
+        this.inicio = System.nanoTime();
+        this.ultimaEmision = inicio;
+    }
+
+    void filaLeida() {
+        filasLeidas++;
+        if (filasLeidas % FILAS_ENTRE_CONTROLES == 0) {
+            emitirSiCorresponde();
+        }
+    }
+
+    void filaValida() {
+        filasValidas++;
+    }
+
+    /**
+     * Para los motores que conocen las filas válidas al final (validación en staging).
+     */
+    void filasValidas(int cantidad) {
+        filasValidas += cantidad;
+    }
+
+    void loteProcesado(int guardados) {
+        // Con errores en el archivo el lote no se envía a la BD
+        if (guardados > enviadosABd) {
+            lotesEnviados++;
+            enviadosABd = guardados;
+        }
+        emitirSiCorresponde();
+    }
+
+    void finalizar() {
+        listener.onProgreso(foto(System.nanoTime(), true));
+    }
+
+    private void emitirSiCorresponde() {
+        if (listener == CargaProgresoListener.NINGUNO) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        if (ahora - ultimaEmision >= intervaloNanos) {
+            ultimaEmision = ahora;
+            listener.onProgreso(foto(ahora, false));
+        }
+    }
+
+    private ProgresoCarga foto(long ahora, boolean finalizado) {
+        long transcurrido = Math.max(1, ahora - inicio);
+        long filasPorSegundo = filasLeidas * 1_000_000_000L / transcurrido;
+        return new ProgresoCarga(filasLeidas, filasValidas, result.getErrores().size(),
+                lotesEnviados, enviadosABd, filasPorSegundo, finalizado);
+    }
+}
@@ -0,0 +1,333 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.CAMPOS;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.CLIENTE_ID;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.ESTADO;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.FECHA_ENTREGA;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.NUMERO_PEDIDO;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.REQUIERE_REFRIGERACION;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.ZONA_ENTREGA;
+
+/**
+ * Lector específico del formato de pedidos que trabaja sobre un buffer de bytes: cada fila se divide en
+ * columnas por posiciones dentro del buffer, la fecha, el estado y el booleano se interpretan directamente
+ * desde los bytes y solo se crean Strings para numeroPedido, clienteId y zonaEntrega.
+ * Las filas con comillas (campos con comas, saltos de línea o comillas escapadas) se delegan a Commons CSV,
+ * por lo que el resultado es el mismo que con {@link CommonsCsvPedidoReader}.
+ */
+class BytesPedidoCsvReader implements PedidoCsvReader {
+
+    private static final int TAMANO_BUFFER = 64 * 1024;
+
+    private static final byte[] TRUE = {'T', 'R', 'U', 'E'};
+    private static final EstadoPedido[] ESTADOS = EstadoPedido.values();
+    private static final byte[][] NOMBRES_ESTADO = new byte[ESTADOS.length][];
+
+    static {
+        for (EstadoPedido estado : ESTADOS) {
+            NOMBRES_ESTADO[estado.ordinal()] = estado.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private final InputStream in;
+    private byte[] buffer = new byte[TAMANO_BUFFER];
+    private int posicion;
+    private int limite;
+    private boolean finDeArchivo;
+
+    // Línea actual: [inicioLinea, finLinea) dentro del buffer, sin el separador
+    private int inicioLinea;
+    private int finLinea;
+
+    private final PedidoCsvColumnas columnas;
+    private final int[] indices = new int[CAMPOS.size()];
+    private final int[] inicios;
+    private final int[] fines;
+    private int columnasFila;
+
+    // Fila con comillas, interpretada por Commons CSV
+    private CSVRecord registroConComillas;
+
+    BytesPedidoCsvReader(InputStream in) throws IOException {
+        this.in = in;
+        List<String> cabecera = List.of();
+        if (leerLinea(true)) {
+            cabecera = parsearCabecera(new String(buffer, inicioLinea, finLinea - inicioLinea, StandardCharsets.UTF_8));
+        }
+        this.columnas = PedidoCsvColumnas.desdeCabecera(cabecera);
+
+        int columnasNecesarias = 0;
+        for (int campo = 0; campo < indices.length; campo++) {
+            indices[campo] = columnas.indice(campo);
+            columnasNecesarias = Math.max(columnasNecesarias, indices[campo] + 1);
+        }
+        this.inicios = new int[columnasNecesarias];
+        this.fines = new int[columnasNecesarias];
+    }
+
+    @Override
+    public boolean siguiente() throws IOException {
+        registroConComillas = null;
+        if (!leerLinea(true)) {
+            return false;
+        }
+        if (!dividirColumnas()) {
+            registroConComillas = leerConComillas();
+        }
+        return true;
+    }
+
+    @Override
+    public Pedido pedido() {
+        if (registroConComillas != null) {
+            return CommonsCsvPedidoReader.toPedido(registroConComillas, columnas);
+        }
+        for (int campo = 0; campo < indices.length; campo++) {
+            if (indices[campo] >= columnasFila) {
+                throw new IllegalArgumentException("Falta la columna " + CAMPOS.get(campo) + " en la línea");
+            }
+        }
+
+        String numeroPedido = texto(NUMERO_PEDIDO);
+        String clienteId = texto(CLIENTE_ID);
+        String zonaEntrega = texto(ZONA_ENTREGA);
+        LocalDate fechaEntrega = fecha(FECHA_ENTREGA);
+        EstadoPedido estado = estado(ESTADO);
+        boolean requiereRefrigeracion = esTrue(REQUIERE_REFRIGERACION);
+
+        return Pedido.of(numeroPedido, clienteId, zonaEntrega, fechaEntrega, estado, requiereRefrigeracion);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Registra las posiciones de las columnas de la línea actual. Devuelve false si la línea tiene comillas.
+     */
+    private boolean dividirColumnas() {
+        columnasFila = 0;
+        int inicio = inicioLinea;
+        for (int i = inicioLinea; i < finLinea; i++) {
+            byte b = buffer[i];
+            if (b == '"') {
+                return false;
+            }
+            if (b == ',') {
+                registrarColumna(inicio, i);
+                inicio = i + 1;
+            }
+        }
+        registrarColumna(inicio, finLinea);
+        return true;
+    }
+
+    private void registrarColumna(int inicio, int fin) {
+        if (columnasFila < inicios.length) {
+            inicios[columnasFila] = inicio;
+            fines[columnasFila] = fin;
+        }
+        columnasFila++;
+    }
+
+    /**
+     * Une la línea actual con las siguientes hasta cerrar las comillas y la interpreta con Commons CSV.
+     */
+    private CSVRecord leerConComillas() throws IOException {
+        StringBuilder texto = new StringBuilder(new String(buffer, inicioLinea, finLinea - inicioLinea, StandardCharsets.UTF_8));
+        while (cantidadComillas(texto) % 2 != 0 && leerLinea(false)) {
+            texto.append('\n').append(new String(buffer, inicioLinea, finLinea - inicioLinea, StandardCharsets.UTF_8));
+        }
+        try (CSVParser parser = CSVParser.parse(texto.toString(), CSVFormat.DEFAULT)) {
+            Iterator<CSVRecord> registros = parser.iterator();
+            return registros.next();
+        }
+    }
+
+    private static int cantidadComillas(CharSequence texto) {
+        int cantidad = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    private static List<String> parsearCabecera(String linea) throws IOException {
+        if (linea.indexOf('"') < 0) {
+            return Arrays.asList(linea.split(",", -1));
+        }
+        try (CSVParser parser = CSVParser.parse(linea, CSVFormat.DEFAULT)) {
+            return parser.iterator().next().toList();
+        }
+    }
+
+    private String texto(int campo) {
+        int columna = indices[campo];
+        return new String(buffer, inicios[columna], fines[columna] - inicios[columna], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * yyyy-MM-dd directamente desde los bytes; cualquier otra forma se delega a {@link LocalDate#parse}.
+     */
+    private LocalDate fecha(int campo) {
+        int inicio = inicios[indices[campo]];
+        int fin = fines[indices[campo]];
+        if (fin - inicio == 10 && buffer[inicio + 4] == '-' && buffer[inicio + 7] == '-') {
+            int anio = digitos(inicio, 4);
+            int mes = digitos(inicio + 5, 2);
+            int dia = digitos(inicio + 8, 2);
+            if (anio >= 0 && mes >= 0 && dia >= 0) {
+                try {
+                    return LocalDate.of(anio, mes, dia);
+                } catch (DateTimeException e) {
+                    throw new IllegalArgumentException("Formato de fecha inválido: " + texto(campo));
+                }
+            }
+        }
+        String texto = texto(campo);
+        try {
+            return LocalDate.parse(texto);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Formato de fecha inválido: " + texto);
+        }
+    }
+
+    private int digitos(int inicio, int cantidad) {
+        int valor = 0;
+        for (int i = inicio; i < inicio + cantidad; i++) {
+            int digito = buffer[i] - '0';
+            if (digito < 0 || digito > 9) {
+                return -1;
+            }
+            valor = valor * 10 + digito;
+        }
+        return valor;
+    }
+
+    /**
+     * Mismo criterio que {@link EstadoPedido#fromString}: sin espacios alrededor y sin distinguir mayúsculas.
+     */
+    private EstadoPedido estado(int campo) {
+        int inicio = inicios[indices[campo]];
+        int fin = fines[indices[campo]];
+        while (inicio < fin && (buffer[inicio] & 0xFF) <= ' ') {
+            inicio++;
+        }
+        while (fin > inicio && (buffer[fin - 1] & 0xFF) <= ' ') {
+            fin--;
+        }
+        for (EstadoPedido estado : ESTADOS) {
+            if (igualSinMayusculas(inicio, fin, NOMBRES_ESTADO[estado.ordinal()])) {
+                return estado;
+            }
+        }
+        String texto = texto(campo);
+        EstadoPedido estado = EstadoPedido.fromString(texto);
+        if (estado == null) {
+            throw new IllegalArgumentException("Estado inválido: " + texto);
+        }
+        return estado;
+    }
+
+    /**
+     * Mismo criterio que {@link Boolean#parseBoolean}.
+     */
+    private boolean esTrue(int campo) {
+        int inicio = inicios[indices[campo]];
+        int fin = fines[indices[campo]];
+        return igualSinMayusculas(inicio, fin, TRUE);
+    }
+
+    // nombre en mayúsculas ASCII
+    private boolean igualSinMayusculas(int inicio, int fin, byte[] nombre) {
+        if (fin - inicio != nombre.length) {
+            return false;
+        }
+        for (int i = 0; i < nombre.length; i++) {
+            byte b = buffer[inicio + i];
+            if (b != nombre[i] && b != nombre[i] + ('a' - 'A')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deja en [inicioLinea, finLinea) la siguiente línea completa del buffer, leyendo más datos si hace falta.
+     * Acepta \n, \r\n y \r como separadores, igual que Commons CSV.
+     */
+    private boolean leerLinea(boolean omitirVacias) throws IOException {
+        while (true) {
+            int fin = buscarFinDeLinea();
+            if (fin >= 0) {
+                inicioLinea = posicion;
+                finLinea = fin;
+                posicion = (buffer[fin] == '\r' && fin + 1 < limite && buffer[fin + 1] == '\n') ? fin + 2 : fin + 1;
+            } else if (finDeArchivo) {
+                if (posicion >= limite) {
+                    return false;
+                }
+                inicioLinea = posicion;
+                finLinea = limite;
+                posicion = limite;
+            } else {
+                rellenar();
+                continue;
+            }
+            if (!omitirVacias || finLinea > inicioLinea) {
+                return true;
+            }
+        }
+    }
+
+    private int buscarFinDeLinea() {
+        for (int i = posicion; i < limite; i++) {
+            byte b = buffer[i];
+            if (b == '\n') {
+                return i;
+            }
+            if (b == '\r') {
+                // Para distinguir \r de \r\n hace falta el byte siguiente
+                return (i + 1 < limite || finDeArchivo) ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    private void rellenar() throws IOException {
+        int pendientes = limite - posicion;
+        if (posicion > 0) {
+            System.arraycopy(buffer, posicion, buffer, 0, pendientes);
+        } else if (pendientes == buffer.length) {
+            // Línea más larga que el buffer
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        posicion = 0;
+        limite = pendientes;
+        int leidos = in.read(buffer, limite, buffer.length - limite);
+        if (leidos < 0) {
+            finDeArchivo = true;
+        } else {
+            limite += leidos;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.ArchivoDemasiadoGrandeException;
+import com.dinet.pedidos.application.exception.CargaEnCursoException;
+import com.dinet.pedidos.application.exception.CargaInterrumpidaException;
+import com.dinet.pedidos.application.exception.CargaNoEncontradaException;
+import com.dinet.pedidos.application.exception.CompresionNoSoportadaException;
+import com.dinet.pedidos.application.exception.DuplicateLoadException;
+import com.dinet.pedidos.application.model.CargaJob;
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.model.CargaProgresoListener;
+import com.dinet.pedidos.application.ports.in.CargaAsincronaUseCase;
+import com.dinet.pedidos.application.ports.out.CargaEventosPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cargas asíncronas: el archivo se copia a disco, se devuelve el id de la carga de inmediato y el
+ * procesamiento corre en el pool acotado {@code cargaPedidosExecutor}. El estado de cada carga se
+ * mantiene en memoria hasta {@code app.carga-async.retencion} después de finalizar.
+ * Con {@code app.carga.bloques.enabled}, los archivos de al menos {@code app.carga.bloques.umbral} se procesan
+ * con {@link CargaPorBloquesService} (una transacción por bloque); el resto, todo-o-nada en una transacción.
+ * El umbral se compara con el tamaño del archivo recibido, antes de descomprimirlo: un gzip de 10 MB que
+ * descomprime a 200 MB no pasa un umbral de 50 MB.
+ * Antes de tocar la BD cada carga espera su turno en {@link AdmisionCargas}.
+ */
+@Service
+public class CargaAsincronaService implements CargaAsincronaUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargaAsincronaService.class);
+
+    private final CargarPedidosService cargarPedidosService;
+    private final CargaPorBloquesService cargaPorBloquesService;
+    private final AdmisionCargas admisionCargas;
+    private final Executor cargaPedidosExecutor;
+    private final CargaEventosPort cargaEventos;
+    private final Map<UUID, CargaJob> cargas = new ConcurrentHashMap<>();
+
+    @Value("${app.carga-async.spool-dir:${java.io.tmpdir}/dinet-pedidos}")
+    private String spoolDir;
+
+    @Value("${app.carga-async.retencion:PT1H}")
+    private Duration retencion;
+
+    @Value("${app.carga.bloques.enabled:false}")
+    private boolean cargaPorBloques;
+
+    @Value("${app.carga.bloques.umbral:50MB}")
+    private DataSize umbralPorBloques;
+
+    public CargaAsincronaService(CargarPedidosService cargarPedidosService,
+                                 CargaPorBloquesService cargaPorBloquesService,
+                                 AdmisionCargas admisionCargas,
+                                 @Qualifier("cargaPedidosExecutor") Executor cargaPedidosExecutor,
+                                 CargaEventosPort cargaEventos) {
+        this.cargarPedidosService = cargarPedidosService;
+        this.cargaPorBloquesService = cargaPorBloquesService;
+        this.admisionCargas = admisionCargas;
+        this.cargaPedidosExecutor = cargaPedidosExecutor;
+        this.cargaEventos = cargaEventos;
+    }
+
+    @Override
+    public CargaJob iniciarCarga(MultipartFile file, String idempotencyKey) {
+        Path archivo = copiarADisco(file);
+        CargaJob carga = new CargaJob(UUID.randomUUID(), idempotencyKey);
+        cargas.put(carga.getId(), carga);
+        try {
+            cargaPedidosExecutor.execute(() -> ejecutar(carga, archivo));
+        } catch (RejectedExecutionException e) {
+            // Pool y cola llenos: no se acepta la carga
+            cargas.remove(carga.getId());
+            borrar(archivo);
+            throw e;
+        }
+        return carga;
+    }
+
+    @Override
+    public CargaJob consultarCarga(UUID id) {
+        CargaJob carga = cargas.get(id);
+        if (carga == null) {
+            throw new CargaNoEncontradaException("Carga no encontrada: " + id);
+        }
+        return carga;
+    }
+
+    @Override
+    public SseEmitter suscribirEventos(UUID id) {
+        return cargaEventos.suscribir(consultarCarga(id));
+    }
+
+    /**
+     * Elimina del registro las cargas finalizadas hace más de {@code app.carga-async.retencion}.
+     */
+    @Scheduled(fixedDelayString = "${app.carga-async.retencion:PT1H}")
+    public void purgarFinalizadas() {
+        Instant limite = Instant.now().minus(retencion);
+        cargas.values().removeIf(carga -> carga.isFinalizado() && carga.getFinalizadoEn().isBefore(limite));
+    }
+
+    void ejecutar(CargaJob carga, Path archivo) {
+        carga.iniciar();
+        try {
+            CargaProgresoListener listener = progreso -> {
+                carga.actualizarProgreso(progreso);
+                cargaEventos.publicarProgreso(carga.getId(), progreso);
+            };
+            FileSystemResource recurso = new FileSystemResource(archivo);
+            boolean porBloques = usarBloques(archivo);
+            // La carga ya fue aceptada (202): espera su turno de BD el tiempo que haga falta
+            CargaPedidosResult resultado = admisionCargas.ejecutarEnSegundoPlano(() -> porBloques
+                    ? cargaPorBloquesService.procesarCarga(recurso, carga.getIdempotencyKey(), listener)
+                    : cargarPedidosService.procesarCarga(recurso, carga.getIdempotencyKey(), listener));
+            carga.completar(resultado);
+        } catch (DuplicateLoadException e) {
+            carga.fallar("CARGA_DUPLICADA", e.getMessage());
+        } catch (CargaEnCursoException e) {
+            carga.fallar("CARGA_EN_CURSO", e.getMessage());
+        } catch (CargaInterrumpidaException e) {
+            logger.error("Carga {} interrumpida", carga.getId(), e);
+            carga.fallar("CARGA_INTERRUMPIDA", e.getMessage());
+        } catch (ArchivoDemasiadoGrandeException e) {
+            carga.fallar("ARCHIVO_DEMASIADO_GRANDE", e.getMessage());
+        } catch (CompresionNoSoportadaException e) {
+            carga.fallar("ARGUMENTO_INVALIDO", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            carga.fallar("ERROR_INTERNO", "Carga interrumpida");
+        } catch (Exception e) {
+            logger.error("Error procesando la carga {}", carga.getId(), e);
+            carga.fallar("ERROR_INTERNO", "Error interno del servidor");
+        } finally {
+            borrar(archivo);
+        }
+        cargaEventos.publicarFin(carga);
+    }
+
+    // Tamaño en disco (comprimido si es gzip): medir el descomprimido obligaría a leer el archivo una vez más
+    private boolean usarBloques(Path archivo) throws IOException {
+        return cargaPorBloques && Files.size(archivo) >= umbralPorBloques.toBytes();
+    }
+
+    private Path copiarADisco(MultipartFile file) {
+        try {
+            Path directorio = Paths.get(spoolDir);
+            Files.createDirectories(directorio);
+            Path archivo = Files.createTempFile(directorio, "carga-", ".csv");
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, archivo, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return archivo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el archivo de la carga", e);
+        }
+    }
+
+    private void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar el archivo temporal {}", archivo, e);
+        }
+    }
+}
@@ -0,0 +1,377 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.CabeceraCsvInvalidaException;
+import com.dinet.pedidos.application.exception.CargaEnCursoException;
+import com.dinet.pedidos.application.exception.CargaInterrumpidaException;
+import com.dinet.pedidos.application.exception.DuplicateLoadException;
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.model.CargaProgresoListener;
+import com.dinet.pedidos.application.model.ErrorProcesamiento;
+import com.dinet.pedidos.application.model.EtapaCarga;
+import com.dinet.pedidos.application.model.FilaPendiente;
+import com.dinet.pedidos.application.model.MetricasCarga;
+import com.dinet.pedidos.application.ports.out.CargaMetricasPort;
+import com.dinet.pedidos.domain.exception.PedidoValidationException;
+import com.dinet.pedidos.domain.model.CargaIdempotente;
+import com.dinet.pedidos.domain.model.CargaPorBloques;
+import com.dinet.pedidos.domain.model.EstadoCargaPorBloques;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.ports.CargaIdempotenteRepositoryPort;
+import com.dinet.pedidos.domain.ports.CargaPorBloquesRepositoryPort;
+import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
+import com.dinet.pedidos.domain.service.PedidoDomainService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Carga por bloques para archivos grandes: las filas válidas se confirman cada {@code app.carga.bloques.filas}
+ * filas en transacciones independientes, en lugar de una única transacción para todo el archivo.
+ * <p>
+ * Se mantiene el resultado todo-o-nada: en cuanto aparece un error no se confirman más bloques y, al terminar,
+ * se borran los pedidos de los bloques ya confirmados. El avance queda en la tabla {@code cargas_por_bloques}
+ * (última línea confirmada): si la carga se interrumpe por un fallo técnico, volver a enviarla con la misma
+ * Idempotency-Key y el mismo archivo la reanuda desde la línea siguiente. Una carga interrumpida que nadie
+ * reanuda se revierte sola cuando pasa {@code app.carga.bloques.abandono} sin avanzar.
+ * <p>
+ * Cada ejecución reclama la carga antes de procesarla: si otra petición con la misma clave y archivo la está
+ * procesando (por ejemplo, el reintento de un cliente que dejó de esperar) se rechaza con
+ * {@link CargaEnCursoException} en lugar de procesar ambas sobre la misma carga. Una ejecución que no confirma
+ * ningún bloque en {@code app.carga.bloques.expira-ejecucion} se da por caída y otra puede reanudarla.
+ */
+@RequiredArgsConstructor
+@Service
+public class CargaPorBloquesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CargaPorBloquesService.class);
+
+    private final PedidoDomainService pedidoDomainService;
+    private final PedidoRepositoryPort pedidoRepository;
+    private final CargaIdempotenteRepositoryPort cargaIdempotenteRepository;
+    private final CargaPorBloquesRepositoryPort cargaPorBloquesRepository;
+    private final ObjectMapper objectMapper;
+    private final CargaMetricasPort cargaMetricas;
+
+    @Value("${app.batch.size:500}")
+    private int batchSize;
+
+    @Value("${app.carga.bloques.filas:10000}")
+    private int filasPorBloque;
+
+    @Value("${app.csv.parser:commons}")
+    private String lectorCsv;
+
+    @Value("${app.carga.progreso-intervalo-ms:500}")
+    private long progresoIntervaloMs;
+
+    @Value("${app.carga.bloques.expira-ejecucion:PT5M}")
+    private Duration expiraEjecucion = Duration.ofMinutes(5);
+
+    @Value("${app.carga.bloques.abandono:PT24H}")
+    private Duration abandono = Duration.ofHours(24);
+
+    @Value("${app.carga.max-bytes-descomprimidos:500MB}")
+    private DataSize maxBytesDescomprimidos = DataSize.ofMegabytes(500);
+
+    /**
+     * Sin transacción propia: cada bloque, la reversión y el cierre se confirman por separado.
+     * Un gzip se descomprime al leerlo; como el hash recorre el archivo completo antes del primer bloque, un
+     * archivo que supera {@code app.carga.max-bytes-descomprimidos} se rechaza sin confirmar nada.
+     */
+    public CargaPedidosResult procesarCarga(InputStreamSource file, String idempotencyKey, CargaProgresoListener listener) {
+        MetricasCarga metricas = new MetricasCarga();
+        try {
+            InputStreamSource archivo = new ArchivoDescomprimido(file, maxBytesDescomprimidos.toBytes());
+            CargaPedidosResult result = procesar(archivo, idempotencyKey, listener, metricas);
+            metricas.registrarResultado(result);
+            return result;
+        } catch (DuplicateLoadException | CargaEnCursoException e) {
+            if (metricas.getResultado() == null) {
+                metricas.setResultado(MetricasCarga.RESULTADO_DUPLICADA);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            metricas.setResultado(MetricasCarga.RESULTADO_FALLIDA);
+            throw e;
+        } finally {
+            metricas.finalizar();
+            cargaMetricas.registrarCarga(metricas);
+        }
+    }
+
+    private CargaPedidosResult procesar(InputStreamSource file, String idempotencyKey, CargaProgresoListener listener,
+                                        MetricasCarga metricas) {
+        // El hash identifica la carga a reanudar, así que se calcula antes de leer las filas
+        long marca = System.nanoTime();
+        String fileHash = calcularHash(file, metricas);
+        marca = metricas.medir(EtapaCarga.HASH, marca);
+        Optional<CargaIdempotente> previa = cargaIdempotenteRepository.findByIdempotencyKeyAndHash(idempotencyKey, fileHash);
+        CargaPorBloques carga = cargaPorBloquesRepository.findByIdempotencyKeyAndHash(idempotencyKey, fileHash)
+                .orElse(null);
+        metricas.medir(EtapaCarga.IDEMPOTENCIA_CONSULTA, marca);
+        if (previa.isPresent()) {
+            CargaPedidosResult resultadoPrevio = CargarPedidosService.leerResultadoPrevio(previa.get(), objectMapper);
+            metricas.setResultado(MetricasCarga.RESULTADO_REINTENTO);
+            return resultadoPrevio;
+        }
+        carga = iniciar(carga, idempotencyKey, fileHash);
+        int lineaReanudacion = carga.getUltimaLinea();
+        if (lineaReanudacion > 0) {
+            logger.info("Reanudando la carga {} desde la línea {} ({} filas ya confirmadas)",
+                    carga.getId(), lineaReanudacion + 1, carga.getFilasConfirmadas());
+        }
+
+        CargaPedidosResult result = new CargaPedidosResult();
+        AvanceCarga avance = new AvanceCarga(listener, result, progresoIntervaloMs);
+        DuplicadosEnArchivo duplicados = new DuplicadosEnArchivo();
+        int effectiveBatchSize = Math.max(500, Math.min(batchSize, 1000));
+        int tamanoBloque = Math.max(filasPorBloque, effectiveBatchSize);
+
+        try (InputStream in = file.getInputStream();
+             PedidoCsvReader lector = CargarPedidosService.abrirLector(in, lectorCsv)) {
+
+            List<FilaPendiente> pendientes = new ArrayList<>(effectiveBatchSize);
+            List<Pedido> bloque = new ArrayList<>(tamanoBloque);
+            int confirmados = carga.getFilasConfirmadas();
+            int lineNumber = lector.lineaInicial();
+
+            marca = System.nanoTime();
+            while (lector.siguiente()) {
+                lineNumber++;
+                avance.filaLeida();
+                try {
+                    Pedido pedido = lector.pedido();
+                    if (lineNumber <= lineaReanudacion) {
+                        // Fila confirmada en una ejecución anterior: solo cuenta para los duplicados en el archivo
+                        duplicados.marcarVisto(pedido.getNumeroPedido());
+                        avance.filaValida();
+                        continue;
+                    }
+                    marca = metricas.medir(EtapaCarga.PARSEO, marca);
+                    pedidoDomainService.validarPedido(pedido);
+                    marca = metricas.medir(EtapaCarga.VALIDACION, marca);
+
+                    if (!duplicados.primeraAparicion(lineNumber, pedido.getNumeroPedido(), result)) {
+                        continue;
+                    }
+                    pendientes.add(new FilaPendiente(lineNumber, pedido));
+                    avance.filaValida();
+                    if (pendientes.size() >= effectiveBatchSize) {
+                        verificarDuplicados(pendientes, duplicados, bloque, result, metricas);
+                        pendientes = new ArrayList<>(effectiveBatchSize);
+                        // Todas las filas hasta lineNumber son válidas y están en el bloque
+                        if (result.getErrores().isEmpty() && bloque.size() >= tamanoBloque) {
+                            confirmados += confirmarBloque(carga, bloque, lineNumber, metricas);
+                            bloque = new ArrayList<>(tamanoBloque);
+                        }
+                        avance.loteProcesado(confirmados);
+                        marca = System.nanoTime();
+                    }
+                } catch (CargaEnCursoException e) {
+                    throw e;
+                } catch (Exception e) {
+                    marca = metricas.medir(e instanceof PedidoValidationException
+                            ? EtapaCarga.VALIDACION : EtapaCarga.PARSEO, marca);
+                    String errorCode = (e instanceof PedidoValidationException)
+                            ? ((PedidoValidationException) e).getErrorCode()
+                            : "ERROR_DESCONOCIDO";
+                    result.agregarError(new ErrorProcesamiento(lineNumber, e.getMessage(), errorCode));
+                }
+            }
+
+            if (!pendientes.isEmpty()) {
+                verificarDuplicados(pendientes, duplicados, bloque, result, metricas);
+            }
+            result.getErrores().sort(Comparator.comparingInt(ErrorProcesamiento::getNumeroLinea));
+            result.setTotalProcesados(Math.max(0, lineNumber - lector.lineaInicial()));
+            result.setConError(result.getErrores().size());
+
+            if (!result.getErrores().isEmpty()) {
+                // Todo-o-nada: se borran los bloques ya confirmados (de esta ejecución o de una anterior)
+                revertir(carga, metricas);
+                result.setGuardados(0);
+                avance.finalizar();
+                return result;
+            }
+
+            if (!bloque.isEmpty()) {
+                confirmados += confirmarBloque(carga, bloque, lineNumber, metricas);
+            }
+            result.setGuardados(confirmados);
+            avance.loteProcesado(confirmados);
+            avance.finalizar();
+
+            marca = System.nanoTime();
+            CargaIdempotente idempotencia = new CargaIdempotente();
+            idempotencia.setId(UUID.randomUUID());
+            idempotencia.setIdempotencyKey(idempotencyKey);
+            idempotencia.setArchivoHash(fileHash);
+            idempotencia.setResultadoJson(objectMapper.writeValueAsString(result));
+            idempotencia.setCreatedAt(LocalDateTime.now());
+            if (!cargaPorBloquesRepository.completar(carga, idempotencia)) {
+                throw enCurso(carga);
+            }
+            metricas.medir(EtapaCarga.IDEMPOTENCIA_GUARDADO, marca);
+            return result;
+
+        } catch (CabeceraCsvInvalidaException e) {
+            cargaPorBloquesRepository.liberar(carga);
+            result.agregarError(new ErrorProcesamiento(1, e.getMessage(), "CABECERA_INVALIDA"));
+            result.setConError(result.getErrores().size());
+            avance.finalizar();
+            return result;
+        } catch (CargaEnCursoException e) {
+            throw e;
+        } catch (Exception e) {
+            // Los bloques confirmados se conservan: reenviar el mismo archivo con la misma clave reanuda la carga
+            try {
+                cargaPorBloquesRepository.liberar(carga);
+            } catch (RuntimeException liberacion) {
+                // Sin liberar, el reintento podrá reanudarla cuando venza app.carga.bloques.expira-ejecucion
+                e.addSuppressed(liberacion);
+            }
+            logger.error("Carga {} interrumpida; confirmadas hasta la línea {}", carga.getId(), carga.getUltimaLinea(), e);
+            metricas.setResultado(MetricasCarga.RESULTADO_FALLIDA);
+            throw new CargaInterrumpidaException("Carga interrumpida: reenviar el mismo archivo con la misma "
+                    + "Idempotency-Key la reanuda desde la línea " + (carga.getUltimaLinea() + 1), e);
+        }
+    }
+
+    /**
+     * Revierte las cargas que siguen en {@code EN_PROCESO} sin confirmar ningún bloque desde hace
+     * {@code app.carga.bloques.abandono}: su ejecución se interrumpió y nadie la reanudó, así que sus bloques
+     * confirmados no deben quedarse a medias en {@code pedidos}. Reenviar el archivo después la reinicia desde
+     * el principio.
+     */
+    @Scheduled(fixedDelayString = "${app.carga.bloques.revision-abandono:PT15M}")
+    public void revertirAbandonadas() {
+        LocalDateTime limite = LocalDateTime.now().minus(abandono);
+        for (CargaPorBloques carga : cargaPorBloquesRepository.findEnProcesoSinAvanceDesde(limite)) {
+            try {
+                // Vacío si una petición la reclamó después de consultarla: ya no está abandonada
+                cargaPorBloquesRepository.revertir(carga).ifPresent(borrados -> logger.warn(
+                        "Carga {} abandonada en la línea {}: revertida, {} pedidos eliminados",
+                        carga.getId(), carga.getUltimaLinea(), borrados));
+            } catch (RuntimeException e) {
+                logger.error("No se pudo revertir la carga abandonada {}", carga.getId(), e);
+            }
+        }
+    }
+
+    /**
+     * Registra la carga en curso o reutiliza la de una ejecución anterior del mismo archivo: una carga
+     * interrumpida se reanuda y una revertida se reinicia desde el principio. En ambos casos la ejecución
+     * reclama la carga primero; si otra la sigue procesando se rechaza.
+     */
+    private CargaPorBloques iniciar(CargaPorBloques existente, String idempotencyKey, String fileHash) {
+        if (existente == null) {
+            CargaPorBloques carga = new CargaPorBloques();
+            carga.setId(UUID.randomUUID());
+            carga.setIdempotencyKey(idempotencyKey);
+            carga.setArchivoHash(fileHash);
+            carga.setEstado(EstadoCargaPorBloques.EN_PROCESO);
+            carga.setCreatedAt(LocalDateTime.now());
+            carga.setEjecucionId(UUID.randomUUID());
+            if (!cargaPorBloquesRepository.registrar(carga)) {
+                throw enCurso(carga);
+            }
+            return carga;
+        }
+        if (existente.getEstado() == EstadoCargaPorBloques.COMPLETADA) {
+            throw new DuplicateLoadException("Carga duplicada");
+        }
+        existente.setEjecucionId(UUID.randomUUID());
+        if (!cargaPorBloquesRepository.reclamar(existente, LocalDateTime.now().minus(expiraEjecucion))) {
+            throw enCurso(existente);
+        }
+        if (existente.getEstado() == EstadoCargaPorBloques.REVERTIDA) {
+            existente.setUltimaLinea(0);
+            existente.setFilasConfirmadas(0);
+            existente.setEstado(EstadoCargaPorBloques.EN_PROCESO);
+            return cargaPorBloquesRepository.save(existente);
+        }
+        return existente;
+    }
+
+    private static CargaEnCursoException enCurso(CargaPorBloques carga) {
+        return new CargaEnCursoException("La carga " + carga.getId() + " ya se está procesando en otra petición "
+                + "con la misma Idempotency-Key y el mismo archivo");
+    }
+
+    /**
+     * Una consulta por lote para los duplicados contra la BD. Mientras el archivo no acumule errores,
+     * las filas del lote pasan al bloque pendiente de confirmar.
+     */
+    private void verificarDuplicados(List<FilaPendiente> pendientes, DuplicadosEnArchivo duplicados,
+                                     List<Pedido> bloque, CargaPedidosResult result, MetricasCarga metricas) {
+        long marca = System.nanoTime();
+        List<String> numeros = new ArrayList<>(pendientes.size());
+        for (FilaPendiente fila : pendientes) {
+            numeros.add(fila.pedido().getNumeroPedido());
+        }
+        Set<String> existentes = pedidoRepository.findExistingNumeros(numeros);
+        for (FilaPendiente fila : pendientes) {
+            String numeroPedido = fila.pedido().getNumeroPedido();
+            if (existentes.contains(numeroPedido)) {
+                duplicados.existeEnBaseDeDatos(fila.numeroLinea(), numeroPedido, result);
+            }
+        }
+        if (result.getErrores().isEmpty()) {
+            for (FilaPendiente fila : pendientes) {
+                bloque.add(fila.pedido());
+            }
+        }
+        metricas.medir(EtapaCarga.DUPLICADOS, marca);
+    }
+
+    private int confirmarBloque(CargaPorBloques carga, List<Pedido> bloque, int ultimaLinea, MetricasCarga metricas) {
+        long marca = System.nanoTime();
+        carga.setUltimaLinea(ultimaLinea);
+        carga.setFilasConfirmadas(carga.getFilasConfirmadas() + bloque.size());
+        if (!cargaPorBloquesRepository.confirmarBloque(carga, bloque)) {
+            throw enCurso(carga);
+        }
+        metricas.medir(EtapaCarga.PERSISTENCIA, marca);
+        return bloque.size();
+    }
+
+    /**
+     * Borra los pedidos ya confirmados por la carga (de esta ejecución o de una anterior) y la marca revertida.
+     */
+    private void revertir(CargaPorBloques carga, MetricasCarga metricas) {
+        long marca = System.nanoTime();
+        int borrados = cargaPorBloquesRepository.revertir(carga).orElseThrow(() -> enCurso(carga));
+        if (borrados > 0) {
+            logger.info("Carga {} revertida: {} pedidos confirmados eliminados", carga.getId(), borrados);
+        }
+        metricas.medir(EtapaCarga.PERSISTENCIA, marca);
+    }
+
+    private String calcularHash(InputStreamSource file, MetricasCarga metricas) {
+        try (HashingInputStream hashingStream = new HashingInputStream(file.getInputStream())) {
+            String hash = hashingStream.hashHex();
+            metricas.setBytes(hashingStream.getBytesLeidos());
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el archivo de la carga", e);
+        }
+    }
+}
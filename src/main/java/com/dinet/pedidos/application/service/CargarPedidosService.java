@@ -1,230 +1,661 @@
 package com.dinet.pedidos.application.service;
 
+import com.dinet.pedidos.application.exception.ArchivoDemasiadoGrandeException;
+import com.dinet.pedidos.application.exception.CabeceraCsvInvalidaException;
+import com.dinet.pedidos.application.exception.CompresionNoSoportadaException;
+import com.dinet.pedidos.application.exception.CuerpoLentoException;
 import com.dinet.pedidos.application.exception.DuplicateLoadException;
 import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.model.CargaProgresoListener;
 import com.dinet.pedidos.application.model.ErrorProcesamiento;
+import com.dinet.pedidos.application.model.FilaPendiente;
+import com.dinet.pedidos.application.model.EtapaCarga;
+import com.dinet.pedidos.application.model.MetricasCarga;
 import com.dinet.pedidos.application.ports.in.CargarPedidosUseCase;
+import com.dinet.pedidos.application.ports.out.CargaMetricasPort;
+import com.dinet.pedidos.application.ports.out.PedidosStagingPort;
 import com.dinet.pedidos.domain.model.CargaIdempotente;
-import com.dinet.pedidos.domain.model.EstadoPedido;
 import com.dinet.pedidos.domain.model.Pedido;
 import com.dinet.pedidos.domain.ports.CargaIdempotenteRepositoryPort;
 import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
 import com.dinet.pedidos.domain.service.PedidoDomainService;
+import com.dinet.pedidos.domain.service.PedidoValidationContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
 
 @RequiredArgsConstructor
 @Service
 public class CargarPedidosService implements CargarPedidosUseCase {
 
+    private static final Logger logger = LoggerFactory.getLogger(CargarPedidosService.class);
+
+    private static final String LECTOR_BYTES = "bytes";
+
+    private static final String MOTOR_SQL = "sql";
+
+    // Bytes iniciales que se examinan para distinguir JSON de CSV
+    private static final int INICIO_DETECCION = 256;
+
     private final PedidoDomainService pedidoDomainService;
     private final PedidoRepositoryPort pedidoRepository;
     private final CargaIdempotenteRepositoryPort cargaIdempotenteRepository;
+    private final ObjectMapper objectMapper;
+    private final CargaMetricasPort cargaMetricas;
+    private final PedidosStagingPort pedidosStaging;
+    private final ForkJoinPool validacionPedidosPool;
 
     @Value("${app.batch.size:500}")
     private int batchSize;
 
+    // Lector del CSV: commons (Commons CSV) o bytes (lector específico del formato de pedidos)
+    @Value("${app.csv.parser:commons}")
+    private String lectorCsv;
+
+    // Motor de validación: dominio (fila a fila en memoria) o sql (staging y consultas por conjuntos, solo PostgreSQL)
+    @Value("${app.validacion.motor:dominio}")
+    private String motorValidacion;
+
+    // Valida en paralelo (validacionPedidosPool) las filas de cada bloque leído
+    @Value("${app.validacion.paralela.enabled:false}")
+    private boolean validacionParalela;
+
+    // Intervalo mínimo entre notificaciones de progreso durante una carga
+    @Value("${app.carga.progreso-intervalo-ms:500}")
+    private long progresoIntervaloMs;
+
+    // Tamaño máximo de un archivo comprimido una vez descomprimido (protección ante bombas de descompresión)
+    @Value("${app.carga.max-bytes-descomprimidos:500MB}")
+    private DataSize maxBytesDescomprimidos = DataSize.ofMegabytes(500);
+
+    // Tamaño máximo del cuerpo de PUT /pedidos/cargas (no pasa por los límites de multipart)
+    @Value("${app.carga.max-bytes-cuerpo:1GB}")
+    private DataSize maxBytesCuerpo = DataSize.ofGigabytes(1);
+
+    // Velocidad mínima del cuerpo de PUT /pedidos/cargas, por segundo, tras `cuerpo-gracia` de espera (0 = sin mínimo)
+    @Value("${app.carga.cuerpo-velocidad-minima:64KB}")
+    private DataSize velocidadMinimaCuerpo = DataSize.ofKilobytes(64);
+
+    @Value("${app.carga.cuerpo-gracia:PT10S}")
+    private Duration graciaCuerpo = Duration.ofSeconds(10);
+
+    // Directorio para copiar el cuerpo de una petición cuando hay que leerlo dos veces
+    @Value("${app.carga-async.spool-dir:${java.io.tmpdir}/dinet-pedidos}")
+    private String spoolDir = System.getProperty("java.io.tmpdir");
+
     // Tamaño por defecto eliminado en favor de la propiedad
 
     @Override
     @Transactional
     public CargaPedidosResult cargarPedidos(MultipartFile file, String idempotencyKey) {
-        // Calcular hash del archivo
-        String fileHash = calculateFileHash(file);
+        return procesarCarga(file, idempotencyKey, CargaProgresoListener.NINGUNO);
+    }
 
-        // Verificar idempotencia
-        var existingCarga = cargaIdempotenteRepository.findByIdempotencyKeyAndHash(idempotencyKey, fileHash);
-        if (existingCarga.isPresent()) {
-            // Lanzar excepción específica para carga duplicada
-            throw new DuplicateLoadException("Carga duplicada");
+    /**
+     * El lector y el hash consumen el cuerpo a medida que llega, sin copiarlo. La única excepción es una
+     * {@code Idempotency-Key} ya usada: el pre-check necesita el hash antes de parsear, así que el cuerpo se
+     * copia a disco para poder leerlo dos veces.
+     * El cuerpo se lee con la transacción abierta: un cliente que envía por debajo de
+     * {@code app.carga.cuerpo-velocidad-minima} se corta con {@link CuerpoLentoException} (408).
+     */
+    @Override
+    @Transactional
+    public CargaPedidosResult cargarPedidosDesdeCuerpo(InputStream cuerpo, String idempotencyKey) {
+        CuerpoPeticion fuente = new CuerpoPeticion(cuerpo, maxBytesCuerpo.toBytes(),
+                velocidadMinimaCuerpo.toBytes(), graciaCuerpo);
+        // La consulta decide si hace falta la copia y se reutiliza como pre-check de idempotencia
+        List<CargaIdempotente> cargasPrevias = cargaIdempotenteRepository.findByIdempotencyKey(idempotencyKey);
+        if (cargasPrevias.isEmpty()) {
+            return procesarCarga(fuente, idempotencyKey, CargaProgresoListener.NINGUNO, cargasPrevias);
+        }
+        Path copia;
+        try {
+            copia = fuente.copiarA(Paths.get(spoolDir));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el archivo de la carga", e);
+        }
+        try {
+            return procesarCarga(new FileSystemResource(copia), idempotencyKey, CargaProgresoListener.NINGUNO,
+                    cargasPrevias);
+        } finally {
+            borrar(copia);
+        }
+    }
+
+    /**
+     * Procesa la carga desde cualquier origen de bytes (archivo multipart o archivo en disco de una
+     * carga asíncrona) notificando el avance a {@code listener}, como mucho una vez cada
+     * {@code app.carga.progreso-intervalo-ms}, y siempre al terminar.
+     * Al terminar (también si falla) publica las mediciones de la carga en {@link CargaMetricasPort}.
+     * Un archivo gzip se descomprime al leerlo ({@link ArchivoDescomprimido}): el hash de idempotencia
+     * se calcula sobre los bytes descomprimidos.
+     */
+    @Transactional
+    public CargaPedidosResult procesarCarga(InputStreamSource file, String idempotencyKey, CargaProgresoListener listener) {
+        return procesarCarga(file, idempotencyKey, listener, null);
+    }
+
+    /**
+     * {@code cargasPrevias}: las cargas ya registradas con la clave si el llamador las consultó, o null para
+     * consultarlas aquí.
+     */
+    private CargaPedidosResult procesarCarga(InputStreamSource file, String idempotencyKey, CargaProgresoListener listener,
+                                             List<CargaIdempotente> cargasPrevias) {
+        MetricasCarga metricas = new MetricasCarga();
+        try {
+            InputStreamSource archivo = new ArchivoDescomprimido(file, maxBytesDescomprimidos.toBytes());
+            CargaPedidosResult result = procesar(archivo, idempotencyKey, cargasPrevias, listener, metricas);
+            metricas.registrarResultado(result);
+            return result;
+        } catch (DuplicateLoadException e) {
+            if (metricas.getResultado() == null) {
+                metricas.setResultado(MetricasCarga.RESULTADO_DUPLICADA);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            metricas.setResultado(MetricasCarga.RESULTADO_FALLIDA);
+            throw e;
+        } finally {
+            metricas.finalizar();
+            cargaMetricas.registrarCarga(metricas);
+        }
+    }
+
+    private CargaPedidosResult procesar(InputStreamSource file, String idempotencyKey,
+                                        List<CargaIdempotente> cargasPrevias, CargaProgresoListener listener,
+                                        MetricasCarga metricas) {
+        // Pre-check de idempotencia por clave (consulta indexada): solo si la clave ya se usó
+        // hace falta conocer el hash antes de procesar, para cortar la carga duplicada sin parsear.
+        long marca = System.nanoTime();
+        if (cargasPrevias == null) {
+            cargasPrevias = cargaIdempotenteRepository.findByIdempotencyKey(idempotencyKey);
+            marca = metricas.medir(EtapaCarga.IDEMPOTENCIA_CONSULTA, marca);
+        }
+        if (!cargasPrevias.isEmpty()) {
+            String fileHash = calculateFileHash(file);
+            metricas.medir(EtapaCarga.HASH, marca);
+            Optional<CargaIdempotente> previa = cargasPrevias.stream()
+                    .filter(carga -> fileHash.equals(carga.getArchivoHash()))
+                    .findFirst();
+            if (previa.isPresent()) {
+                // Reintento de una carga ya registrada: se devuelve el resultado original
+                CargaPedidosResult resultadoPrevio = leerResultadoPrevio(previa.get(), objectMapper);
+                metricas.setResultado(MetricasCarga.RESULTADO_REINTENTO);
+                return resultadoPrevio;
+            }
         }
 
         CargaPedidosResult result = new CargaPedidosResult();
-        List<Pedido> pedidosValidos = new ArrayList<>();
-        Set<String> seenNumeroPedidos = new HashSet<>(); // para detectar duplicados en el archivo
-
-        try (BufferedReader fileReader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
-             CSVParser csvParser = new CSVParser(fileReader, CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
-
-            Iterable<CSVRecord> csvRecords = csvParser.getRecords();
-            int lineNumber = 1; // La primera línea es el header, pero el parser ya la omite
-
-            for (CSVRecord record : csvRecords) {
-                lineNumber++;
-                try {
-                    Pedido pedido = parsePedidoFromRecord(record);
-                    // Validaciones de dominio
-                    pedidoDomainService.validarPedido(pedido);
-
-                    String numeroPedido = pedido.getNumeroPedido();
-
-                    // Validar duplicado dentro del mismo archivo
-                    if (seenNumeroPedidos.contains(numeroPedido)) {
-                        result.agregarError(new ErrorProcesamiento(lineNumber, "Numero de pedido duplicado en el archivo: " + numeroPedido, "DUPLICADO_EN_ARCHIVO"));
-                        continue;
-                    }
-
-                    // Validar duplicado en la base de datos
-                    if (pedidoRepository.existsByNumeroPedido(numeroPedido)) {
-                        result.agregarError(new ErrorProcesamiento(lineNumber, "Numero de pedido ya existe en la base de datos: " + numeroPedido, "DUPLICADO"));
-                        continue;
-                    }
-
-                    // Si pasa validaciones, marcar como visto y añadir a lista a persistir
-                    seenNumeroPedidos.add(numeroPedido);
-                    pedidosValidos.add(pedido);
-
-                } catch (Exception e) {
-                    // Capturar excepciones de validación y agregar al resultado
-                    String errorCode = (e instanceof com.dinet.pedidos.domain.exception.PedidoValidationException)
-                            ? ((com.dinet.pedidos.domain.exception.PedidoValidationException) e).getErrorCode()
-                            : "ERROR_DESCONOCIDO";
-                    result.agregarError(new ErrorProcesamiento(lineNumber, e.getMessage(), errorCode));
-                }
+        AvanceCarga avance = new AvanceCarga(listener, result, progresoIntervaloMs);
+
+        // El hash SHA-256 se calcula mientras el parser consume los bytes (una sola lectura del archivo).
+        // La cabecera se resuelve una vez al abrir el lector; las filas se leen por índice de columna.
+        try (HashingInputStream hashingStream = new HashingInputStream(file.getInputStream());
+             PedidoCsvReader lector = abrirLector(hashingStream, lectorCsv)) {
+
+            int guardados;
+            if (usarStaging()) {
+                guardados = validarEnStaging(lector, result, avance, metricas);
+            } else if (validacionParalela) {
+                guardados = validarEnParalelo(lector, result, avance, metricas);
+            } else {
+                guardados = validarEnDominio(lector, result, avance, metricas);
             }
 
+            // Los DUPLICADO se detectan al cerrar cada lote: ordenar los errores por línea
+            result.getErrores().sort(Comparator.comparingInt(ErrorProcesamiento::getNumeroLinea));
+
             // Ajustar totales antes de decidir persistir
-            int totalProcesados = Math.max(0, lineNumber - 1);
-            result.setTotalProcesados(totalProcesados);
+            avance.finalizar();
             result.setGuardados(0);
             result.setConError(result.getErrores().size());
 
-            // Si hubo errores, NO persistir nada: devolver el resultado con los errores
+            // Si hubo errores, NO persistir nada: se descartan los lotes ya enviados y se devuelve el resultado
             if (!result.getErrores().isEmpty()) {
+                metricas.setBytes(hashingStream.getBytesLeidos());
+                if (guardados > 0) {
+                    marcarRollback();
+                }
                 return result;
             }
 
-            // Validar rango permitido y usar batchSize configurado
-            int effectiveBatchSize = Math.max(500, Math.min(batchSize, 1000));
+            result.setGuardados(guardados);
+            result.setConError(result.getErrores().size());
 
-            // Guardar en lotes sólo si no hubo errores
-            int total = pedidosValidos.size();
-            for (int i = 0; i < total; i += effectiveBatchSize) {
-                List<Pedido> lote = pedidosValidos.subList(i, Math.min(total, i + effectiveBatchSize));
-                pedidoRepository.saveAll(lote);
+            // Verificación final por (clave, hash): cubre cargas concurrentes con la misma clave.
+            // Al lanzar la excepción se revierte la transacción, incluidos los lotes ya enviados.
+            String fileHash = hashingStream.hashHex();
+            metricas.setBytes(hashingStream.getBytesLeidos());
+            marca = System.nanoTime();
+            boolean duplicada = cargaIdempotenteRepository.findByIdempotencyKeyAndHash(idempotencyKey, fileHash).isPresent();
+            marca = metricas.medir(EtapaCarga.IDEMPOTENCIA_CONSULTA, marca);
+            if (duplicada) {
+                throw new DuplicateLoadException("Carga duplicada");
             }
 
-            result.setGuardados(pedidosValidos.size());
-            result.setConError(result.getErrores().size());
-
             // Guardar la carga idempotente
             CargaIdempotente carga = new CargaIdempotente();
             carga.setId(UUID.randomUUID());
             carga.setIdempotencyKey(idempotencyKey);
             carga.setArchivoHash(fileHash);
-            // Serializar el resultado a JSON y guardarlo? Por ahora no lo hacemos.
-            carga.setResultadoJson(null); // Podríamos usar Jackson para serializar el result a JSON
+            // Resultado en JSON compacto para responder los reintentos sin volver a procesar el archivo
+            carga.setResultadoJson(objectMapper.writeValueAsString(result));
             carga.setCreatedAt(java.time.LocalDateTime.now());
             cargaIdempotenteRepository.save(carga);
-
+            metricas.medir(EtapaCarga.IDEMPOTENCIA_GUARDADO, marca);
+
+        } catch (CabeceraCsvInvalidaException e) {
+            result.agregarError(new ErrorProcesamiento(1, e.getMessage(), "CABECERA_INVALIDA"));
+            avance.finalizar();
+            return result;
+        } catch (DuplicateLoadException e) {
+            throw e;
+        } catch (ArchivoDemasiadoGrandeException | CompresionNoSoportadaException | CuerpoLentoException e) {
+            // Se propagan tal cual (413, 400 y 408); la transacción revierte los lotes ya enviados
+            throw e;
         } catch (Exception e) {
+            metricas.setResultado(MetricasCarga.RESULTADO_FALLIDA);
             throw new DuplicateLoadException("Error al procesar el archivo", e);
         }
 
         return result;
     }
 
-    public String calculateFileHash(MultipartFile file) {
+    /**
+     * Motor de validación por defecto: cada fila se valida en memoria con {@link PedidoDomainService} y los
+     * lotes completos se envían a la BD. Devuelve la cantidad de pedidos enviados.
+     */
+    private int validarEnDominio(PedidoCsvReader lector, CargaPedidosResult result, AvanceCarga avance,
+                                 MetricasCarga metricas) throws IOException {
+        DuplicadosEnArchivo duplicados = new DuplicadosEnArchivo();
+
+        // Validar rango permitido y usar batchSize configurado
+        int effectiveBatchSize = Math.max(500, Math.min(batchSize, 1000));
+
+        // Solo se mantiene en memoria el lote en curso: los lotes completos se envían a la BD
+        // dentro de la misma transacción, así el consumo de memoria depende del batchSize y no del archivo.
+        List<FilaPendiente> pendientes = new ArrayList<>(effectiveBatchSize);
+        int guardados = 0;
+        int lineNumber = lector.lineaInicial(); // En el CSV la primera línea es el header, que el parser ya omite
+
+        // Se itera el lector directamente (registro a registro) en lugar de cargar todas las filas.
+        // El tiempo de parseo y validación se acumula por fila encadenando lecturas del reloj.
+        long marca = System.nanoTime();
+        while (lector.siguiente()) {
+            lineNumber++;
+            avance.filaLeida();
+            try {
+                Pedido pedido = lector.pedido();
+                marca = metricas.medir(EtapaCarga.PARSEO, marca);
+                // Validaciones de dominio
+                pedidoDomainService.validarPedido(pedido);
+                marca = metricas.medir(EtapaCarga.VALIDACION, marca);
+
+                // Validar duplicado dentro del mismo archivo. El duplicado contra la BD se resuelve
+                // en bloque al cerrar el lote (una consulta por lote en lugar de una por fila).
+                if (!duplicados.primeraAparicion(lineNumber, pedido.getNumeroPedido(), result)) {
+                    continue;
+                }
+                pendientes.add(new FilaPendiente(lineNumber, pedido));
+                avance.filaValida();
+                if (pendientes.size() >= effectiveBatchSize) {
+                    guardados += procesarLote(pendientes, duplicados, result, metricas);
+                    pendientes = new ArrayList<>(effectiveBatchSize);
+                    avance.loteProcesado(guardados);
+                    marca = System.nanoTime();
+                }
+
+            } catch (Exception e) {
+                marca = metricas.medir(e instanceof com.dinet.pedidos.domain.exception.PedidoValidationException
+                        ? EtapaCarga.VALIDACION : EtapaCarga.PARSEO, marca);
+                // Capturar excepciones de validación y agregar al resultado
+                String errorCode = (e instanceof com.dinet.pedidos.domain.exception.PedidoValidationException)
+                        ? ((com.dinet.pedidos.domain.exception.PedidoValidationException) e).getErrorCode()
+                        : "ERROR_DESCONOCIDO";
+                result.agregarError(new ErrorProcesamiento(lineNumber, e.getMessage(), errorCode));
+            }
+        }
+
+        // Resolver el último lote parcial
+        if (!pendientes.isEmpty()) {
+            guardados += procesarLote(pendientes, duplicados, result, metricas);
+            avance.loteProcesado(guardados);
+        }
+
+        result.setTotalProcesados(Math.max(0, lineNumber - lector.lineaInicial()));
+        return guardados;
+    }
+
+    /**
+     * Variante de {@link #validarEnDominio} que valida en paralelo: las filas se leen en bloques de
+     * {@code batchSize} y cada bloque se valida en {@code validacionPedidosPool} mientras se lee el siguiente.
+     * Los duplicados en el archivo se resuelven al cerrar cada bloque, en orden de línea y en este hilo, así que
+     * la primera aparición válida de un número sigue siendo la aceptada y el resultado es el mismo que en la
+     * validación secuencial. La persistencia también queda en este hilo (la transacción de la carga).
+     * <p>
+     * El cliente y la zona de cada fila se resuelven también en este hilo, antes de lanzar el bloque, y una sola vez
+     * por combinación de cliente y zona en toda la carga: el pool solo evalúa reglas en memoria y nunca toma
+     * conexiones de Hikari fuera de la transacción de la carga.
+     */
+    private int validarEnParalelo(PedidoCsvReader lector, CargaPedidosResult result, AvanceCarga avance,
+                                  MetricasCarga metricas) throws IOException {
+        DuplicadosEnArchivo duplicados = new DuplicadosEnArchivo();
+        Map<String, PedidoValidationContext> contextos = new HashMap<>();
+        int effectiveBatchSize = Math.max(500, Math.min(batchSize, 1000));
+        List<FilaPendiente> leidas = new ArrayList<>(effectiveBatchSize);
+        List<FilaPendiente> enValidacion = null;
+        ForkJoinTask<List<ErrorProcesamiento>> validacion = null;
+        int guardados = 0;
+        int lineNumber = lector.lineaInicial();
+
+        long marca = System.nanoTime();
+        while (lector.siguiente()) {
+            lineNumber++;
+            avance.filaLeida();
+            try {
+                leidas.add(new FilaPendiente(lineNumber, lector.pedido()));
+            } catch (Exception e) {
+                result.agregarError(new ErrorProcesamiento(lineNumber, e.getMessage(), "ERROR_DESCONOCIDO"));
+            }
+            if (leidas.size() >= effectiveBatchSize) {
+                metricas.medir(EtapaCarga.PARSEO, marca);
+                if (validacion != null) {
+                    guardados += cerrarBloque(enValidacion, validacion, duplicados, result, avance, metricas);
+                    avance.loteProcesado(guardados);
+                }
+                enValidacion = leidas;
+                validacion = validarBloque(enValidacion, contextos);
+                leidas = new ArrayList<>(effectiveBatchSize);
+                marca = System.nanoTime();
+            }
+        }
+        metricas.medir(EtapaCarga.PARSEO, marca);
+
+        if (validacion != null) {
+            guardados += cerrarBloque(enValidacion, validacion, duplicados, result, avance, metricas);
+        }
+        if (!leidas.isEmpty()) {
+            guardados += cerrarBloque(leidas, validarBloque(leidas, contextos), duplicados, result, avance, metricas);
+        }
+        avance.loteProcesado(guardados);
+
+        result.setTotalProcesados(Math.max(0, lineNumber - lector.lineaInicial()));
+        return guardados;
+    }
+
+    /**
+     * Resuelve en este hilo las referencias del bloque y lanza su validación en el pool; la lista resultante
+     * conserva el orden de las filas (null = fila válida).
+     */
+    private ForkJoinTask<List<ErrorProcesamiento>> validarBloque(List<FilaPendiente> filas,
+                                                                Map<String, PedidoValidationContext> contextos) {
+        PedidoValidationContext[] resueltos = new PedidoValidationContext[filas.size()];
+        ErrorProcesamiento[] errores = new ErrorProcesamiento[filas.size()];
+        for (int i = 0; i < filas.size(); i++) {
+            Pedido pedido = filas.get(i).pedido();
+            try {
+                String clave = pedido.getClienteId() + '\u0000' + pedido.getZonaId();
+                PedidoValidationContext contexto = contextos.get(clave);
+                if (contexto == null) {
+                    contexto = pedidoDomainService.resolverContexto(pedido);
+                    contextos.put(clave, contexto);
+                }
+                resueltos[i] = contexto;
+            } catch (Exception e) {
+                errores[i] = new ErrorProcesamiento(filas.get(i).numeroLinea(), e.getMessage(), "ERROR_DESCONOCIDO");
+            }
+        }
+        return validacionPedidosPool.submit(() -> IntStream.range(0, filas.size()).parallel()
+                .mapToObj(i -> errores[i] != null ? errores[i] : validarFila(filas.get(i), resueltos[i]))
+                .toList());
+    }
+
+    private ErrorProcesamiento validarFila(FilaPendiente fila, PedidoValidationContext contexto) {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(file.getBytes());
-            return bytesToHex(hashBytes);
+            pedidoDomainService.validarPedido(fila.pedido(), contexto);
+            return null;
+        } catch (com.dinet.pedidos.domain.exception.PedidoValidationException e) {
+            return new ErrorProcesamiento(fila.numeroLinea(), e.getMessage(), e.getErrorCode());
         } catch (Exception e) {
-            throw new RuntimeException("Error calculando hash del archivo", e);
+            return new ErrorProcesamiento(fila.numeroLinea(), e.getMessage(), "ERROR_DESCONOCIDO");
         }
     }
 
-    private String bytesToHex(byte[] hash) {
-        StringBuilder hexString = new StringBuilder(2 * hash.length);
-        for (byte b : hash) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
+    /**
+     * Espera la validación del bloque, aplica en orden de línea los duplicados en el archivo y envía las
+     * filas válidas a {@link #procesarLote}. Devuelve la cantidad de pedidos enviados.
+     */
+    private int cerrarBloque(List<FilaPendiente> filas, ForkJoinTask<List<ErrorProcesamiento>> validacion,
+                             DuplicadosEnArchivo duplicados, CargaPedidosResult result, AvanceCarga avance,
+                             MetricasCarga metricas) {
+        // Solo cuenta como validación la espera que no se solapó con la lectura del bloque siguiente
+        long marca = System.nanoTime();
+        List<ErrorProcesamiento> errores = validacion.join();
+        metricas.medir(EtapaCarga.VALIDACION, marca);
+
+        List<FilaPendiente> pendientes = new ArrayList<>(filas.size());
+        for (int i = 0; i < filas.size(); i++) {
+            FilaPendiente fila = filas.get(i);
+            ErrorProcesamiento error = errores.get(i);
+            if (error != null) {
+                result.agregarError(error);
+                continue;
+            }
+            if (!duplicados.primeraAparicion(fila.numeroLinea(), fila.pedido().getNumeroPedido(), result)) {
+                continue;
             }
-            hexString.append(hex);
+            pendientes.add(fila);
+            avance.filaValida();
         }
-        return hexString.toString();
+        return pendientes.isEmpty() ? 0 : procesarLote(pendientes, duplicados, result, metricas);
     }
 
-    public Pedido parsePedidoFromRecord(CSVRecord record) {
-        String numeroPedido = getField(record, "numeroPedido");
-        String clienteId = getField(record, "clienteId");
-        String fechaEntregaStr = getField(record, "fechaEntrega");
-        String estadoStr = getField(record, "estado");
-        String zonaEntrega = getField(record, "zonaEntrega");
-        String requiereRefrigeracionStr = getField(record, "requiereRefrigeracion");
+    /**
+     * Motor de validación {@code sql}: las filas parseadas se copian por lotes a la tabla de staging y las
+     * reglas del dominio y los duplicados se evalúan con una sola consulta por conjuntos. Sin errores, los
+     * pedidos pasan a {@code pedidos} con un único INSERT ... SELECT. Los errores de parseo se detectan al leer,
+     * igual que en {@link #validarEnDominio}.
+     */
+    private int validarEnStaging(PedidoCsvReader lector, CargaPedidosResult result, AvanceCarga avance,
+                                 MetricasCarga metricas) throws IOException {
+        UUID cargaId = UUID.randomUUID();
+        int effectiveBatchSize = Math.max(500, Math.min(batchSize, 1000));
+        List<FilaPendiente> pendientes = new ArrayList<>(effectiveBatchSize);
+        int enStaging = 0;
+        int lineNumber = lector.lineaInicial();
+
+        long marca = System.nanoTime();
+        while (lector.siguiente()) {
+            lineNumber++;
+            avance.filaLeida();
+            try {
+                pendientes.add(new FilaPendiente(lineNumber, lector.pedido()));
+            } catch (Exception e) {
+                result.agregarError(new ErrorProcesamiento(lineNumber, e.getMessage(), "ERROR_DESCONOCIDO"));
+            }
+            if (pendientes.size() >= effectiveBatchSize) {
+                marca = metricas.medir(EtapaCarga.PARSEO, marca);
+                pedidosStaging.agregar(cargaId, pendientes);
+                enStaging += pendientes.size();
+                pendientes = new ArrayList<>(effectiveBatchSize);
+                marca = metricas.medir(EtapaCarga.PERSISTENCIA, marca);
+            }
+        }
+        marca = metricas.medir(EtapaCarga.PARSEO, marca);
+        if (!pendientes.isEmpty()) {
+            pedidosStaging.agregar(cargaId, pendientes);
+            enStaging += pendientes.size();
+            marca = metricas.medir(EtapaCarga.PERSISTENCIA, marca);
+        }
 
-        LocalDate fechaEntrega;
-        try {
-            fechaEntrega = LocalDate.parse(fechaEntregaStr);
-        } catch (DateTimeParseException e) {
-            throw new IllegalArgumentException("Formato de fecha inválido: " + fechaEntregaStr);
+        List<ErrorProcesamiento> errores = pedidosStaging.validar(cargaId);
+        marca = metricas.medir(EtapaCarga.VALIDACION, marca);
+        errores.forEach(result::agregarError);
+        avance.filasValidas(enStaging - errores.size());
+
+        // Todo-o-nada: con cualquier error (de parseo o de reglas) no se inserta nada
+        int guardados = 0;
+        if (result.getErrores().isEmpty()) {
+            guardados = pedidosStaging.insertarValidos(cargaId);
+            avance.loteProcesado(guardados);
         }
+        pedidosStaging.descartar(cargaId);
+        metricas.medir(EtapaCarga.PERSISTENCIA, marca);
 
-        EstadoPedido estado = EstadoPedido.fromString(estadoStr);
-        if (estado == null) {
-            throw new IllegalArgumentException("Estado inválido: " + estadoStr);
+        result.setTotalProcesados(Math.max(0, lineNumber - lector.lineaInicial()));
+        return guardados;
+    }
+
+    private boolean usarStaging() {
+        return MOTOR_SQL.equalsIgnoreCase(motorValidacion) && pedidosStaging.disponible();
+    }
+
+    /**
+     * Resuelve en una sola consulta los duplicados del lote contra la BD y, si el archivo no
+     * acumula errores, envía el lote a persistir. Devuelve la cantidad de pedidos enviados.
+     */
+    private int procesarLote(List<FilaPendiente> pendientes, DuplicadosEnArchivo duplicados,
+                             CargaPedidosResult result, MetricasCarga metricas) {
+        long marca = System.nanoTime();
+        List<String> numeros = new ArrayList<>(pendientes.size());
+        for (FilaPendiente fila : pendientes) {
+            numeros.add(fila.pedido().getNumeroPedido());
         }
 
-        boolean requiereRefrigeracion = Boolean.parseBoolean(requiereRefrigeracionStr);
+        Set<String> existentes = pedidoRepository.findExistingNumeros(numeros);
+        for (FilaPendiente fila : pendientes) {
+            String numeroPedido = fila.pedido().getNumeroPedido();
+            if (existentes.contains(numeroPedido)) {
+                duplicados.existeEnBaseDeDatos(fila.numeroLinea(), numeroPedido, result);
+            }
+        }
 
-        return Pedido.of(numeroPedido, clienteId, zonaEntrega, fechaEntrega, estado, requiereRefrigeracion);
+        marca = metricas.medir(EtapaCarga.DUPLICADOS, marca);
+
+        // Con algún error en el archivo ya no se persistirá nada
+        if (!result.getErrores().isEmpty()) {
+            return 0;
+        }
+
+        List<Pedido> lote = new ArrayList<>(pendientes.size());
+        for (FilaPendiente fila : pendientes) {
+            lote.add(fila.pedido());
+        }
+        pedidoRepository.saveAll(lote);
+        metricas.medir(EtapaCarga.PERSISTENCIA, marca);
+        return lote.size();
     }
 
     /**
-     * Devuelve el valor del campo intentando mapear nombres de cabecera con BOM/espacios y con
-     * coincidencia case-insensitive. Si no encuentra el header por nombre, intenta por índice.
+     * Resultado guardado de una carga previa con la misma clave y hash. Las cargas registradas
+     * antes de guardar el resultado (resultado_json nulo) se siguen rechazando como duplicadas.
      */
-    private String getField(CSVRecord record, String fieldName) {
+    static CargaPedidosResult leerResultadoPrevio(CargaIdempotente carga, ObjectMapper objectMapper) {
+        if (carga.getResultadoJson() == null) {
+            throw new DuplicateLoadException("Carga duplicada");
+        }
         try {
-            if (record.isMapped(fieldName)) {
-                return record.get(fieldName);
-            }
-        } catch (IllegalArgumentException ignored) {
-            // continue to try normalized keys
+            return objectMapper.readValue(carga.getResultadoJson(), CargaPedidosResult.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("No se pudo leer el resultado guardado de la carga {}", carga.getId(), e);
+            throw new DuplicateLoadException("Carga duplicada");
         }
+    }
 
-        Map<String, String> map = record.toMap();
-        for (String key : map.keySet()) {
-            if (key == null) continue;
-            String normalized = key.replace("\uFEFF", "").trim();
-            if (normalized.equalsIgnoreCase(fieldName)) {
-                return map.get(key);
-            }
+    /**
+     * Descarta los lotes ya enviados a la BD en la transacción actual (semántica todo-o-nada).
+     */
+    private void marcarRollback() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+    }
+
+    private static void borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            logger.warn("No se pudo borrar el archivo temporal {}", archivo, e);
         }
+    }
+
+    public String calculateFileHash(InputStreamSource file) {
+        try (HashingInputStream hashingStream = new HashingInputStream(file.getInputStream())) {
+            return hashingStream.hashHex();
+        } catch (IOException e) {
+            throw new RuntimeException("Error calculando hash del archivo", e);
+        }
+    }
+
+    /**
+     * Lector de filas según el contenido: si el primer carácter (sin BOM ni espacios) es {@code {} o {@code [},
+     * {@link JsonPedidoReader}; si no, el lector CSV de {@code app.csv.parser}: {@code commons} (por defecto) o
+     * {@code bytes}.
+     */
+    static PedidoCsvReader abrirLector(InputStream in, String lectorCsv) throws IOException {
+        BufferedInputStream entrada = new BufferedInputStream(in);
+        int primero = primerCaracter(entrada);
+        if (primero == '{' || primero == '[') {
+            return new JsonPedidoReader(entrada);
+        }
+        if (LECTOR_BYTES.equalsIgnoreCase(lectorCsv)) {
+            return new BytesPedidoCsvReader(entrada);
+        }
+        return new CommonsCsvPedidoReader(entrada);
+    }
 
-        // Fallback por índice según el orden esperado
+    // Primer byte que no es BOM UTF-8 ni espacio entre los primeros bytes, sin consumirlos (-1 si no hay)
+    private static int primerCaracter(BufferedInputStream in) throws IOException {
+        in.mark(INICIO_DETECCION);
         try {
-            switch (fieldName) {
-                case "numeroPedido": return record.get(0);
-                case "clienteId": return record.get(1);
-                case "fechaEntrega": return record.get(2);
-                case "estado": return record.get(3);
-                case "zonaEntrega": return record.get(4);
-                case "requiereRefrigeracion": return record.get(5);
-                default: return record.get(fieldName);
+            for (int i = 0; i < INICIO_DETECCION; i++) {
+                int b = in.read();
+                if (b == -1) {
+                    return -1;
+                }
+                if (b != 0xEF && b != 0xBB && b != 0xBF && !Character.isWhitespace(b)) {
+                    return b;
+                }
             }
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Mapping for " + fieldName + " not found, expected one of " + map.keySet());
+            return -1;
+        } finally {
+            in.reset();
         }
     }
+
+    public Pedido parsePedidoFromRecord(CSVRecord record, PedidoCsvColumnas columnas) {
+        return CommonsCsvPedidoReader.toPedido(record, columnas);
+    }
 }
@@ -0,0 +1,85 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+
+/**
+ * Lector basado en Commons CSV: admite cualquier CSV válido (comillas, separadores dentro de campos, etc.).
+ */
+class CommonsCsvPedidoReader implements PedidoCsvReader {
+
+    private final CSVParser parser;
+    private final PedidoCsvColumnas columnas;
+    private final Iterator<CSVRecord> registros;
+    private CSVRecord actual;
+
+    CommonsCsvPedidoReader(InputStream in) throws IOException {
+        this.parser = new CSVParser(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)),
+                CSVFormat.DEFAULT.withFirstRecordAsHeader());
+        try {
+            this.columnas = PedidoCsvColumnas.desdeCabecera(parser.getHeaderNames());
+        } catch (IllegalArgumentException e) {
+            parser.close();
+            throw e;
+        }
+        this.registros = parser.iterator();
+    }
+
+    @Override
+    public boolean siguiente() {
+        if (!registros.hasNext()) {
+            return false;
+        }
+        actual = registros.next();
+        return true;
+    }
+
+    @Override
+    public Pedido pedido() {
+        return toPedido(actual, columnas);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    static Pedido toPedido(CSVRecord record, PedidoCsvColumnas columnas) {
+        return toPedido(columnas.numeroPedido(record), columnas.clienteId(record), columnas.fechaEntrega(record),
+                columnas.estado(record), columnas.zonaEntrega(record), columnas.requiereRefrigeracion(record));
+    }
+
+    /**
+     * Convierte los valores de texto de un registro (también los de {@link JsonPedidoReader}).
+     */
+    static Pedido toPedido(String numeroPedido, String clienteId, String fechaEntregaStr, String estadoStr,
+                           String zonaEntrega, String requiereRefrigeracionStr) {
+        LocalDate fechaEntrega;
+        try {
+            fechaEntrega = LocalDate.parse(fechaEntregaStr);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Formato de fecha inválido: " + fechaEntregaStr);
+        }
+
+        EstadoPedido estado = EstadoPedido.fromString(estadoStr);
+        if (estado == null) {
+            throw new IllegalArgumentException("Estado inválido: " + estadoStr);
+        }
+
+        boolean requiereRefrigeracion = Boolean.parseBoolean(requiereRefrigeracionStr);
+
+        return Pedido.of(numeroPedido, clienteId, zonaEntrega, fechaEntrega, estado, requiereRefrigeracion);
+    }
+}
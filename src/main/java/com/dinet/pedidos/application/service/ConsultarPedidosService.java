@@ -0,0 +1,68 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.model.PedidosPagina;
+import com.dinet.pedidos.application.ports.in.ConsultarPedidosUseCase;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.dinet.pedidos.domain.model.PosicionPedido;
+import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consulta de pedidos paginada por clave: el cursor codifica la posición {@code (fechaEntrega, id)} del último
+ * pedido de la página, así que pedir la página N no recorre las anteriores.
+ */
+@RequiredArgsConstructor
+@Service
+public class ConsultarPedidosService implements ConsultarPedidosUseCase {
+
+    static final int LIMITE_MAXIMO = 500;
+
+    private final PedidoRepositoryPort pedidoRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public PedidosPagina consultarPedidos(PedidoFiltro filtro, String cursor, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("limite debe estar entre 1 y " + LIMITE_MAXIMO);
+        }
+        if (filtro.fechaDesde() != null && filtro.fechaHasta() != null
+                && filtro.fechaDesde().isAfter(filtro.fechaHasta())) {
+            throw new IllegalArgumentException("fechaDesde no puede ser posterior a fechaHasta");
+        }
+        PosicionPedido despuesDe = cursor != null && !cursor.isBlank() ? decodificarCursor(cursor) : null;
+
+        // Un pedido de más indica si hay página siguiente sin una consulta count
+        List<PedidoResumen> pedidos = pedidoRepository.findPagina(filtro, despuesDe, limite + 1);
+        if (pedidos.size() <= limite) {
+            return new PedidosPagina(pedidos, null);
+        }
+        List<PedidoResumen> pagina = pedidos.subList(0, limite);
+        return new PedidosPagina(List.copyOf(pagina), codificarCursor(pagina.get(limite - 1).posicion()));
+    }
+
+    static String codificarCursor(PosicionPedido posicion) {
+        String valor = posicion.fechaEntrega() + "_" + posicion.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static PosicionPedido decodificarCursor(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separador = valor.indexOf('_');
+            return new PosicionPedido(LocalDate.parse(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("cursor inválido");
+        }
+    }
+}
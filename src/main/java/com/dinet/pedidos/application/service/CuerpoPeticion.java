@@ -0,0 +1,67 @@
+package com.dinet.pedidos.application.service;
+
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+
+/**
+ * Cuerpo de una petición como origen de una carga: el lector consume directamente el stream del servlet, sin
+ * copia intermedia en memoria ni en disco, cortado en {@code maxBytes} ({@link LimiteInputStream}).
+ * <p>
+ * Solo se puede leer una vez: una segunda llamada a {@link #getInputStream()} falla. Si el procesamiento
+ * necesita leerlo dos veces, {@link #copiarA(Path)} lo vuelca antes a un archivo temporal.
+ * <p>
+ * Como la carga lee el cuerpo con la transacción y el permiso de admisión ya tomados, un cliente lento los
+ * retendría mientras envía: con {@code bytesPorSegundo} mayor que 0 la lectura se corta
+ * ({@link VelocidadMinimaInputStream}) si el cliente envía por debajo de esa velocidad.
+ */
+public class CuerpoPeticion implements InputStreamSource {
+
+    private final InputStream cuerpo;
+    private final long maxBytes;
+    private final long bytesPorSegundo;
+    private final Duration gracia;
+    private boolean leido;
+
+    public CuerpoPeticion(InputStream cuerpo, long maxBytes) {
+        this(cuerpo, maxBytes, 0, Duration.ZERO);
+    }
+
+    public CuerpoPeticion(InputStream cuerpo, long maxBytes, long bytesPorSegundo, Duration gracia) {
+        this.cuerpo = cuerpo;
+        this.maxBytes = maxBytes;
+        this.bytesPorSegundo = bytesPorSegundo;
+        this.gracia = gracia;
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() {
+        if (leido) {
+            throw new IllegalStateException("El cuerpo de la petición ya se leyó");
+        }
+        leido = true;
+        InputStream in = bytesPorSegundo > 0 ? new VelocidadMinimaInputStream(cuerpo, bytesPorSegundo, gracia) : cuerpo;
+        return new LimiteInputStream(in, maxBytes,
+                "El archivo excede el tamaño máximo permitido de " + maxBytes + " bytes");
+    }
+
+    /**
+     * Copia el cuerpo a un archivo temporal en {@code directorio}, que el llamador debe borrar.
+     */
+    public Path copiarA(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        Path archivo = Files.createTempFile(directorio, "carga-", ".csv");
+        try (InputStream in = getInputStream()) {
+            Files.copy(in, archivo, StandardCopyOption.REPLACE_EXISTING);
+            return archivo;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(archivo);
+            throw e;
+        }
+    }
+}
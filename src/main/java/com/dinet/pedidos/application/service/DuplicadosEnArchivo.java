@@ -0,0 +1,80 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.model.ErrorProcesamiento;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Duplicados de {@code numeroPedido} dentro de un archivo. La primera aparición válida de un número es la que
+ * se compara con la BD y las siguientes son {@code DUPLICADO_EN_ARCHIVO}, salvo que el número ya exista en la
+ * BD: entonces todas sus apariciones son {@code DUPLICADO}, como cuando cada fila se consultaba por separado.
+ * <p>
+ * La BD se consulta por lote, así que una repetición puede registrarse antes de saber que su número existe:
+ * {@link #existeEnBaseDeDatos} reetiqueta las repeticiones ya registradas. Solo se guardan en memoria las
+ * repeticiones, no todas las filas.
+ */
+final class DuplicadosEnArchivo {
+
+    static final String DUPLICADO = "DUPLICADO";
+    static final String DUPLICADO_EN_ARCHIVO = "DUPLICADO_EN_ARCHIVO";
+
+    private final Set<String> vistos = new HashSet<>();
+    private final Set<String> enBaseDeDatos = new HashSet<>();
+    private final Map<String, List<ErrorProcesamiento>> repeticiones = new HashMap<>();
+
+    /**
+     * Registra una aparición válida del número. Si no es la primera, agrega su error a {@code result} y devuelve
+     * {@code false}.
+     */
+    boolean primeraAparicion(int numeroLinea, String numeroPedido, CargaPedidosResult result) {
+        if (vistos.add(numeroPedido)) {
+            return true;
+        }
+        if (enBaseDeDatos.contains(numeroPedido)) {
+            result.agregarError(existente(numeroLinea, numeroPedido));
+        } else {
+            ErrorProcesamiento error = new ErrorProcesamiento(numeroLinea,
+                    "Numero de pedido duplicado en el archivo: " + numeroPedido, DUPLICADO_EN_ARCHIVO);
+            repeticiones.computeIfAbsent(numeroPedido, numero -> new ArrayList<>()).add(error);
+            result.agregarError(error);
+        }
+        return false;
+    }
+
+    /**
+     * Marca el número como ya visto sin registrar error (filas confirmadas en una ejecución anterior).
+     */
+    void marcarVisto(String numeroPedido) {
+        vistos.add(numeroPedido);
+    }
+
+    /**
+     * La primera aparición del número ya existe en la BD: agrega su {@code DUPLICADO} y pasa a {@code DUPLICADO}
+     * las repeticiones registradas antes de la consulta.
+     */
+    void existeEnBaseDeDatos(int numeroLinea, String numeroPedido, CargaPedidosResult result) {
+        enBaseDeDatos.add(numeroPedido);
+        result.agregarError(existente(numeroLinea, numeroPedido));
+        List<ErrorProcesamiento> previas = repeticiones.remove(numeroPedido);
+        if (previas != null) {
+            for (ErrorProcesamiento error : previas) {
+                error.setMotivo(motivoExistente(numeroPedido));
+                error.setErrorCode(DUPLICADO);
+            }
+        }
+    }
+
+    private static ErrorProcesamiento existente(int numeroLinea, String numeroPedido) {
+        return new ErrorProcesamiento(numeroLinea, motivoExistente(numeroPedido), DUPLICADO);
+    }
+
+    private static String motivoExistente(String numeroPedido) {
+        return "Numero de pedido ya existe en la base de datos: " + numeroPedido;
+    }
+}
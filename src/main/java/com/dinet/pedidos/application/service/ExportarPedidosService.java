@@ -0,0 +1,66 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.model.ExportacionPedidos;
+import com.dinet.pedidos.application.ports.in.ExportarPedidosUseCase;
+import com.dinet.pedidos.application.ports.out.PedidosExportPort;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+/**
+ * Exportación de pedidos en streaming. El filtro se valida al pedir la exportación; la lectura se hace después,
+ * en el hilo que escribe la respuesta, dentro de una transacción de solo lectura que mantiene abierto el cursor.
+ * <p>
+ * Como esa transacción retiene una conexión mientras dura la respuesta, el turno se reserva en
+ * {@link AdmisionCargas} al pedir la exportación (el exceso se rechaza con 503 antes de responder 200) y se
+ * devuelve al terminar de escribir o al cerrar la exportación, lo que ocurra primero.
+ */
+@Service
+public class ExportarPedidosService implements ExportarPedidosUseCase {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportarPedidosService.class);
+
+    private final PedidosExportPort pedidosExport;
+    private final AdmisionCargas admisionCargas;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportarPedidosService(PedidosExportPort pedidosExport, AdmisionCargas admisionCargas,
+                                  PlatformTransactionManager transactionManager) {
+        this.pedidosExport = pedidosExport;
+        this.admisionCargas = admisionCargas;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public ExportacionPedidos exportarPedidos(PedidoFiltro filtro) {
+        if (filtro.fechaDesde() != null && filtro.fechaHasta() != null
+                && filtro.fechaDesde().isAfter(filtro.fechaHasta())) {
+            throw new IllegalArgumentException("fechaDesde no puede ser posterior a fechaHasta");
+        }
+        AdmisionCargas.Turno turno = admisionCargas.reservarExportacion();
+        return new ExportacionPedidos() {
+            @Override
+            public long escribir(Consumer<PedidoResumen> destino) {
+                try (turno) {
+                    long inicio = System.nanoTime();
+                    Long exportados = transactionTemplate.execute(status -> pedidosExport.exportar(filtro, destino));
+                    logger.info("Exportación de pedidos terminada: {} pedidos en {} ms",
+                            exportados, (System.nanoTime() - inicio) / 1_000_000);
+                    return exportados != null ? exportados : 0;
+                }
+            }
+
+            @Override
+            public void close() {
+                turno.close();
+            }
+        };
+    }
+}
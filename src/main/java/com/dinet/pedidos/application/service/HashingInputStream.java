@@ -0,0 +1,83 @@
+package com.dinet.pedidos.application.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * InputStream que calcula el SHA-256 de los bytes a medida que otro consumidor (p. ej. el parser CSV) los lee.
+ * Evita leer el archivo dos veces y copiarlo completo a memoria solo para calcular su hash.
+ */
+public class HashingInputStream extends DigestInputStream {
+
+    private static final int DRAIN_BUFFER_SIZE = 8192;
+
+    private String hash;
+    private long bytesLeidos;
+
+    public HashingInputStream(InputStream in) {
+        super(in, newSha256());
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            bytesLeidos++;
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int leidos = super.read(b, off, len);
+        if (leidos > 0) {
+            bytesLeidos += leidos;
+        }
+        return leidos;
+    }
+
+    /**
+     * Bytes leídos hasta el momento (el archivo completo una vez llamado {@link #hashHex()}).
+     */
+    public long getBytesLeidos() {
+        return bytesLeidos;
+    }
+
+    /**
+     * Consume los bytes que el lector no haya llegado a leer y devuelve el hash en hexadecimal.
+     * Una vez calculado, el digest queda cerrado y llamadas sucesivas devuelven el mismo valor.
+     */
+    public String hashHex() throws IOException {
+        if (hash == null) {
+            byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+            while (read(buffer, 0, buffer.length) != -1) {
+                // solo se drena el stream para que el digest cubra el archivo completo
+            }
+            hash = toHex(getMessageDigest().digest());
+        }
+        return hash;
+    }
+
+    static String toHex(byte[] hash) {
+        StringBuilder hexString = new StringBuilder(2 * hash.length);
+        for (byte b : hash) {
+            String hex = Integer.toHexString(0xff & b);
+            if (hex.length() == 1) {
+                hexString.append('0');
+            }
+            hexString.append(hex);
+        }
+        return hexString.toString();
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.domain.model.Pedido;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.CAMPOS;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.CLIENTE_ID;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.ESTADO;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.FECHA_ENTREGA;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.NUMERO_PEDIDO;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.REQUIERE_REFRIGERACION;
+import static com.dinet.pedidos.application.service.PedidoCsvColumnas.ZONA_ENTREGA;
+
+/**
+ * Lector de pedidos en JSON: un objeto por registro, como JSON lines ({@code {...}\n{...}}) o como un único
+ * array ({@code [{...}, {...}]}). Los registros se recorren token a token con {@link JsonParser}, sin construir
+ * el árbol del documento, así que la memoria no depende del tamaño del archivo.
+ * <p>
+ * Los campos son los mismos que las columnas del CSV ({@link PedidoCsvColumnas#CAMPOS}, sin distinguir
+ * mayúsculas); los desconocidos se ignoran. Un registro que no es un objeto, al que le falta un campo o con un
+ * campo que no es un valor simple se informa como error de ese registro. Los registros se numeran desde 1
+ * ({@link #lineaInicial()} es 0): {@code ErrorProcesamiento.numeroLinea} es el índice del registro.
+ * Un JSON mal formado (no un registro inválido) interrumpe la lectura, igual que un CSV ilegible.
+ */
+class JsonPedidoReader implements PedidoCsvReader {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final String[] valores = new String[CAMPOS.size()];
+    private boolean enArray;
+    private boolean iniciado;
+    private String error;
+
+    JsonPedidoReader(InputStream in) throws IOException {
+        this.parser = JSON_FACTORY.createParser(in);
+    }
+
+    @Override
+    public boolean siguiente() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (!iniciado) {
+            iniciado = true;
+            if (token == JsonToken.START_ARRAY) {
+                enArray = true;
+                token = parser.nextToken();
+            }
+        }
+        if (token == null || (enArray && token == JsonToken.END_ARRAY)) {
+            return false;
+        }
+
+        Arrays.fill(valores, null);
+        error = null;
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            error = "El registro no es un objeto JSON";
+            return true;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            int campo = campo(parser.currentName());
+            JsonToken valor = parser.nextToken();
+            if (valor.isStructStart()) {
+                parser.skipChildren();
+                if (campo >= 0 && error == null) {
+                    error = "El campo " + CAMPOS.get(campo) + " debe ser un valor simple";
+                }
+            } else if (campo >= 0 && valor != JsonToken.VALUE_NULL) {
+                valores[campo] = parser.getText();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Pedido pedido() {
+        if (error != null) {
+            throw new IllegalArgumentException(error);
+        }
+        for (int campo = 0; campo < valores.length; campo++) {
+            if (valores[campo] == null) {
+                throw new IllegalArgumentException("Falta el campo " + CAMPOS.get(campo) + " en el registro");
+            }
+        }
+        return CommonsCsvPedidoReader.toPedido(valores[NUMERO_PEDIDO], valores[CLIENTE_ID], valores[FECHA_ENTREGA],
+                valores[ESTADO], valores[ZONA_ENTREGA], valores[REQUIERE_REFRIGERACION]);
+    }
+
+    @Override
+    public int lineaInicial() {
+        return 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private static int campo(String nombre) {
+        for (int campo = 0; campo < CAMPOS.size(); campo++) {
+            if (CAMPOS.get(campo).equalsIgnoreCase(nombre)) {
+                return campo;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,60 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.ArchivoDemasiadoGrandeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Corta la lectura con {@link ArchivoDemasiadoGrandeException} en cuanto se leen más de {@code maximo} bytes.
+ */
+class LimiteInputStream extends FilterInputStream {
+
+    private final long maximo;
+    private final String mensaje;
+    private long leidos;
+
+    LimiteInputStream(InputStream in, long maximo, String mensaje) {
+        super(in);
+        this.maximo = maximo;
+        this.mensaje = mensaje;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b != -1) {
+            contar(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            contar(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long saltados = super.skip(n);
+        contar(saltados);
+        return saltados;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void contar(long n) {
+        leidos += n;
+        if (leidos > maximo) {
+            throw new ArchivoDemasiadoGrandeException(mensaje);
+        }
+    }
+}
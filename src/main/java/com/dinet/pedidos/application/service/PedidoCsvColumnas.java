@@ -0,0 +1,116 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.CabeceraCsvInvalidaException;
+import org.apache.commons.csv.CSVRecord;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índices de las columnas del CSV de pedidos, resueltos una sola vez por archivo a partir de la cabecera.
+ * Cada nombre se normaliza (BOM, espacios, mayúsculas/minúsculas) y, si un campo no aparece por nombre,
+ * se usa su posición en el orden esperado. En el bucle de filas los campos se leen por índice.
+ */
+public final class PedidoCsvColumnas {
+
+    public static final List<String> CAMPOS = List.of(
+            "numeroPedido", "clienteId", "fechaEntrega", "estado", "zonaEntrega", "requiereRefrigeracion");
+
+    static final int NUMERO_PEDIDO = 0;
+    static final int CLIENTE_ID = 1;
+    static final int FECHA_ENTREGA = 2;
+    static final int ESTADO = 3;
+    static final int ZONA_ENTREGA = 4;
+    static final int REQUIERE_REFRIGERACION = 5;
+
+    private final int[] indices;
+
+    private PedidoCsvColumnas(int[] indices) {
+        this.indices = indices;
+    }
+
+    /**
+     * Resuelve los índices de la cabecera. Lanza {@link CabeceraCsvInvalidaException} si algún campo no se
+     * encuentra por nombre ni tiene una columna libre en su posición esperada. Sin cabecera (archivo vacío)
+     * se usa el orden esperado.
+     */
+    public static PedidoCsvColumnas desdeCabecera(List<String> cabecera) {
+        int[] indices = new int[CAMPOS.size()];
+        Arrays.fill(indices, -1);
+        if (cabecera == null || cabecera.isEmpty()) {
+            for (int campo = 0; campo < indices.length; campo++) {
+                indices[campo] = campo;
+            }
+            return new PedidoCsvColumnas(indices);
+        }
+
+        boolean[] usadas = new boolean[cabecera.size()];
+        for (int columna = 0; columna < cabecera.size(); columna++) {
+            String nombre = normalizar(cabecera.get(columna));
+            for (int campo = 0; campo < CAMPOS.size(); campo++) {
+                if (indices[campo] < 0 && CAMPOS.get(campo).equalsIgnoreCase(nombre)) {
+                    indices[campo] = columna;
+                    usadas[columna] = true;
+                    break;
+                }
+            }
+        }
+
+        // Fallback por posición según el orden esperado
+        for (int campo = 0; campo < indices.length; campo++) {
+            if (indices[campo] >= 0) {
+                continue;
+            }
+            if (campo >= cabecera.size() || usadas[campo]) {
+                throw new CabeceraCsvInvalidaException("Cabecera inválida: no se encontró la columna " + CAMPOS.get(campo)
+                        + ", se esperaba " + CAMPOS + " y se recibió " + cabecera);
+            }
+            indices[campo] = campo;
+            usadas[campo] = true;
+        }
+        return new PedidoCsvColumnas(indices);
+    }
+
+    public String numeroPedido(CSVRecord record) {
+        return valor(record, NUMERO_PEDIDO);
+    }
+
+    public String clienteId(CSVRecord record) {
+        return valor(record, CLIENTE_ID);
+    }
+
+    public String fechaEntrega(CSVRecord record) {
+        return valor(record, FECHA_ENTREGA);
+    }
+
+    public String estado(CSVRecord record) {
+        return valor(record, ESTADO);
+    }
+
+    public String zonaEntrega(CSVRecord record) {
+        return valor(record, ZONA_ENTREGA);
+    }
+
+    public String requiereRefrigeracion(CSVRecord record) {
+        return valor(record, REQUIERE_REFRIGERACION);
+    }
+
+    /**
+     * Índice de columna del campo (ver constantes {@link #NUMERO_PEDIDO}...{@link #REQUIERE_REFRIGERACION}).
+     */
+    int indice(int campo) {
+        return indices[campo];
+    }
+
+    private String valor(CSVRecord record, int campo) {
+        int indice = indices[campo];
+        if (indice >= record.size()) {
+            throw new IllegalArgumentException("Falta la columna " + CAMPOS.get(campo) + " en la línea");
+        }
+        return record.get(indice);
+    }
+
+    private static String normalizar(String nombre) {
+        return nombre == null ? "" : nombre.replace("\uFEFF", "").trim();
+    }
+}
@@ -0,0 +1,33 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.domain.model.Pedido;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lector de filas del archivo de pedidos (CSV o, con {@link JsonPedidoReader}, JSON). La cabecera se resuelve al abrir el lector
+ * ({@link com.dinet.pedidos.application.exception.CabeceraCsvInvalidaException} si no se puede mapear).
+ * Las líneas vacías se omiten, igual que en Commons CSV.
+ */
+public interface PedidoCsvReader extends Closeable {
+
+    /**
+     * Avanza a la siguiente fila. Devuelve false al llegar al final del archivo.
+     */
+    boolean siguiente() throws IOException;
+
+    /**
+     * Convierte la fila actual. Lanza {@link IllegalArgumentException} si la fila no tiene todas las
+     * columnas o si la fecha o el estado no son válidos.
+     */
+    Pedido pedido();
+
+    /**
+     * Número de línea anterior a la primera fila: los servicios numeran cada fila leída a partir de este valor
+     * ({@code ErrorProcesamiento.numeroLinea}). En el CSV es 1, la cabecera.
+     */
+    default int lineaInicial() {
+        return 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.CuerpoLentoException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Corta con {@link CuerpoLentoException} la lectura de un cliente que envía por debajo de {@code bytesPorSegundo}.
+ * Solo cuenta el tiempo bloqueado en {@code read}, esperando al cliente: el tiempo que la carga dedica a validar
+ * e insertar entre lecturas no baja la velocidad medida. Durante los primeros {@code gracia} de espera no se
+ * corta, para no penalizar el arranque de la conexión.
+ * <p>
+ * Un cliente que deja de enviar por completo no vuelve de {@code read}: lo corta el timeout de lectura del
+ * conector ({@code server.tomcat.connection-timeout}), que también se informa como {@link CuerpoLentoException}.
+ */
+class VelocidadMinimaInputStream extends FilterInputStream {
+
+    private final long bytesPorSegundo;
+    private final long graciaNanos;
+    private final LongSupplier reloj;
+    private long leidos;
+    private long esperaNanos;
+
+    VelocidadMinimaInputStream(InputStream in, long bytesPorSegundo, Duration gracia) {
+        this(in, bytesPorSegundo, gracia, System::nanoTime);
+    }
+
+    VelocidadMinimaInputStream(InputStream in, long bytesPorSegundo, Duration gracia, LongSupplier reloj) {
+        super(in);
+        this.bytesPorSegundo = bytesPorSegundo;
+        this.graciaNanos = gracia.toNanos();
+        this.reloj = reloj;
+    }
+
+    @Override
+    public int read() throws IOException {
+        long inicio = reloj.getAsLong();
+        int b;
+        try {
+            b = super.read();
+        } catch (SocketTimeoutException e) {
+            throw new CuerpoLentoException("Se agotó el tiempo de espera del cuerpo de la petición", e);
+        }
+        contar(b != -1 ? 1 : 0, inicio);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long inicio = reloj.getAsLong();
+        int n;
+        try {
+            n = super.read(b, off, len);
+        } catch (SocketTimeoutException e) {
+            throw new CuerpoLentoException("Se agotó el tiempo de espera del cuerpo de la petición", e);
+        }
+        contar(Math.max(n, 0), inicio);
+        return n;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void contar(int n, long inicio) {
+        leidos += n;
+        esperaNanos += reloj.getAsLong() - inicio;
+        if (esperaNanos > graciaNanos && leidos * 1_000_000_000.0 / esperaNanos < bytesPorSegundo) {
+            throw new CuerpoLentoException("El cuerpo de la petición llega a menos de " + bytesPorSegundo
+                    + " bytes por segundo");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.dinet.pedidos.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Estado de una carga confirmada por bloques. {@code ultimaLinea} es la última línea del archivo
+ * cuyas filas ya están confirmadas en BD (todas las filas hasta esa línea son válidas y están guardadas).
+ * {@code ejecucionId} identifica la petición que la está procesando; solo ella puede avanzarla.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CargaPorBloques {
+    private UUID id;
+    private String idempotencyKey;
+    private String archivoHash;
+    private EstadoCargaPorBloques estado;
+    private int ultimaLinea;
+    private int filasConfirmadas;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private UUID ejecucionId;
+
+}
@@ -0,0 +1,7 @@
+package com.dinet.pedidos.domain.model;
+
+public enum EstadoCargaPorBloques {
+    EN_PROCESO,
+    COMPLETADA,
+    REVERTIDA
+}
@@ -0,0 +1,10 @@
+package com.dinet.pedidos.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Criterios de búsqueda de pedidos; un criterio {@code null} no filtra. El rango de fechas es inclusivo.
+ */
+public record PedidoFiltro(EstadoPedido estado, LocalDate fechaDesde, LocalDate fechaHasta, String zonaId,
+                           String clienteId) {
+}
@@ -0,0 +1,22 @@
+package com.dinet.pedidos.domain.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Proyección de solo lectura de un pedido para consultas: se construye directamente desde la consulta,
+ * sin cargar entidades en el contexto de persistencia.
+ */
+public record PedidoResumen(UUID id, String numeroPedido, String clienteId, String zonaId, LocalDate fechaEntrega,
+                            EstadoPedido estado, boolean requiereRefrigeracion) {
+
+    // Usado por la expresión constructora de JPQL, donde el estado llega como texto
+    public PedidoResumen(UUID id, String numeroPedido, String clienteId, String zonaId, LocalDate fechaEntrega,
+                         String estado, boolean requiereRefrigeracion) {
+        this(id, numeroPedido, clienteId, zonaId, fechaEntrega, EstadoPedido.valueOf(estado), requiereRefrigeracion);
+    }
+
+    public PosicionPedido posicion() {
+        return new PosicionPedido(fechaEntrega, id);
+    }
+}
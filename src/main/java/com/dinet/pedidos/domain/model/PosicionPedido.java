@@ -0,0 +1,11 @@
+package com.dinet.pedidos.domain.model;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Posición de un pedido en el orden de consulta {@code (fechaEntrega, id)}: la página siguiente empieza
+ * en el primer pedido posterior a ella.
+ */
+public record PosicionPedido(LocalDate fechaEntrega, UUID id) {
+}
@@ -2,9 +2,11 @@ package com.dinet.pedidos.domain.ports;
 
 import com.dinet.pedidos.domain.model.CargaIdempotente;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CargaIdempotenteRepositoryPort {
     Optional<CargaIdempotente> findByIdempotencyKeyAndHash(String idempotencyKey, String hash);
+    List<CargaIdempotente> findByIdempotencyKey(String idempotencyKey);
     CargaIdempotente save(CargaIdempotente carga);
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.dinet.pedidos.domain.ports;
+
+import com.dinet.pedidos.domain.model.CargaIdempotente;
+import com.dinet.pedidos.domain.model.CargaPorBloques;
+import com.dinet.pedidos.domain.model.Pedido;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+
+/**
+ * Persistencia de las cargas por bloques. Cada operación de escritura corre en su propia transacción.
+ */
+public interface CargaPorBloquesRepositoryPort {
+    Optional<CargaPorBloques> findByIdempotencyKeyAndHash(String idempotencyKey, String hash);
+
+    CargaPorBloques save(CargaPorBloques carga);
+
+    /**
+     * Inserta una carga nueva ya asignada a {@code carga.getEjecucionId()}. Devuelve false si otra petición
+     * registró la misma clave y archivo a la vez.
+     */
+    boolean registrar(CargaPorBloques carga);
+
+    /**
+     * Asigna la carga a {@code carga.getEjecucionId()} si ninguna ejecución la tiene o si la que la tiene no
+     * avanza desde {@code libreDesde}. Devuelve false si otra ejecución la sigue procesando.
+     */
+    boolean reclamar(CargaPorBloques carga, LocalDateTime libreDesde);
+
+    /**
+     * Deja la carga sin ejecución para que un reintento la pueda reanudar enseguida.
+     */
+    void liberar(CargaPorBloques carga);
+
+    /**
+     * Cargas en {@code EN_PROCESO} sin avance desde {@code limite}.
+     */
+    List<CargaPorBloques> findEnProcesoSinAvanceDesde(LocalDateTime limite);
+
+    /**
+     * Guarda los pedidos del bloque, sus números como confirmados por la carga y el avance de la carga en una
+     * misma transacción. Devuelve false, sin guardar nada, si la carga ya no es de {@code carga.getEjecucionId()}.
+     */
+    boolean confirmarBloque(CargaPorBloques carga, List<Pedido> pedidos);
+
+    /**
+     * Borra los pedidos confirmados por la carga, la marca como revertida y la libera en una misma transacción.
+     * Devuelve el número de pedidos borrados, o vacío, sin borrar nada, si la carga ya no es de
+     * {@code carga.getEjecucionId()}.
+     */
+    OptionalInt revertir(CargaPorBloques carga);
+
+    /**
+     * Marca la carga como completada y registra su idempotencia en una misma transacción. Devuelve false, sin
+     * completarla, si la carga ya no es de {@code carga.getEjecucionId()}.
+     */
+    boolean completar(CargaPorBloques carga, CargaIdempotente idempotencia);
+}
@@ -1,8 +1,10 @@
 package com.dinet.pedidos.domain.ports;
 
 import com.dinet.pedidos.domain.model.Cliente;
+import java.util.List;
 import java.util.Optional;
 
 public interface ClienteRepositoryPort {
     Optional<Cliente> findById(String id);
+    List<Cliente> findAll();
 }
\ No newline at end of file
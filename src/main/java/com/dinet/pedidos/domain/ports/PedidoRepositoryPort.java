@@ -1,10 +1,22 @@
 package com.dinet.pedidos.domain.ports;
 
 import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.dinet.pedidos.domain.model.PosicionPedido;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface PedidoRepositoryPort {
     Pedido save(Pedido pedido);
     List<Pedido> saveAll(List<Pedido> pedidos);
     boolean existsByNumeroPedido(String numeroPedido);
+    Set<String> findExistingNumeros(Collection<String> numerosPedido);
+
+    /**
+     * Hasta {@code limite} pedidos que cumplen el filtro, ordenados por {@code (fechaEntrega, id)} y posteriores
+     * a {@code despuesDe} ({@code null} para la primera página).
+     */
+    List<PedidoResumen> findPagina(PedidoFiltro filtro, PosicionPedido despuesDe, int limite);
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.dinet.pedidos.domain.ports;
 
 import com.dinet.pedidos.domain.model.Zona;
+import java.util.List;
 import java.util.Optional;
 
 public interface ZonaRepositoryPort {
     Optional<Zona> findById(String id);
+    List<Zona> findAll();
 }
\ No newline at end of file
@@ -43,6 +43,32 @@ public class PedidoDomainService {
      *               - requiereRefrigeracion (boolean)
      */
     public void validarPedido(Pedido pedido) {
+        validarDatosPedido(pedido);
+        validarReferencias(pedido, resolverContexto(pedido));
+    }
+
+    /**
+     * Igual que {@link #validarPedido(Pedido)} pero con las referencias ya resueltas por el llamador
+     * (por ejemplo, resueltas una vez para todo un lote).
+     */
+    public void validarPedido(Pedido pedido, PedidoValidationContext contexto) {
+        validarDatosPedido(pedido);
+        validarReferencias(pedido, contexto);
+    }
+
+    /**
+     * Resuelve el cliente y la zona del pedido con una consulta a cada repositorio.
+     */
+    public PedidoValidationContext resolverContexto(Pedido pedido) {
+        Cliente cliente = clienteRepository.findById(pedido.getClienteId()).orElse(null);
+        Zona zona = zonaRepository.findById(pedido.getZonaId()).orElse(null);
+        return new PedidoValidationContext(cliente, zona);
+    }
+
+    /**
+     * Reglas que solo dependen de los datos del pedido (no requieren consultar repositorios).
+     */
+    private void validarDatosPedido(Pedido pedido) {
         if (pedido == null) {
             throw new PedidoValidationException("PEDIDO_NULO", "El pedido no puede ser nulo");
         }
@@ -50,10 +76,15 @@ public class PedidoDomainService {
         validarNumeroPedido(pedido.getNumeroPedido());
         validarEstado(pedido.getEstado());
         validarFechaEntrega(pedido.getFechaEntrega());
+    }
 
-        validarClienteExistenteYActivo(pedido.getClienteId());
-        validarZonaExistente(pedido.getZonaId());
-        validarRequisitoCadenaFrio(pedido.isRequiereRefrigeracion(), pedido.getZonaId());
+    /**
+     * Reglas sobre las referencias del pedido, evaluadas contra los objetos ya resueltos.
+     */
+    private void validarReferencias(Pedido pedido, PedidoValidationContext contexto) {
+        validarClienteExistenteYActivo(contexto.getCliente());
+        validarZonaExistente(contexto.getZona());
+        validarRequisitoCadenaFrio(pedido.isRequiereRefrigeracion(), contexto.getZona());
     }
 
 
@@ -88,12 +119,12 @@ public class PedidoDomainService {
 
     /**
      * Comprueba que el cliente exista (cliente != null) y que esté activo.
-     * La existencia física (consulta BD) debe hacerse en la capa de aplicación y pasar
-     * el objeto Cliente ya resuelto. Si cliente == null => CLIENTE_NO_ENCONTRADO.
+     * La existencia física (consulta BD) se resuelve antes en el contexto de validación.
      */
-    private void validarClienteExistenteYActivo(String clienteId) {
-        Cliente cliente = clienteRepository.findById(clienteId)
-                .orElseThrow(() -> new PedidoValidationException("CLIENTE_NO_EXISTE", "El cliente no existe"));
+    private void validarClienteExistenteYActivo(Cliente cliente) {
+        if (cliente == null) {
+            throw new PedidoValidationException("CLIENTE_NO_EXISTE", "El cliente no existe");
+        }
 
         if (!cliente.isActivo()) {
             throw new PedidoValidationException("CLIENTE_INACTIVO", "El cliente no está activo");
@@ -101,20 +132,18 @@ public class PedidoDomainService {
     }
 
     /**
-     * Comprueba existencia de zona. La resolución (buscar en BD) se hace en la capa de aplicación.
+     * Comprueba existencia de zona (zona != null).
      */
-    private void validarZonaExistente(String zonaId) {
-        zonaRepository.findById(zonaId)
-                .orElseThrow(() -> new PedidoValidationException("ZONA_NO_EXISTE", "La zona no existe"));
+    private void validarZonaExistente(Zona zona) {
+        if (zona == null) {
+            throw new PedidoValidationException("ZONA_NO_EXISTE", "La zona no existe");
+        }
     }
 
     /**
      * Si requiere refrigeración, la zona debe soportarla.
      */
-    private void validarRequisitoCadenaFrio(boolean requiereRefrigeracion, String zonaId) {
-        Zona zona = zonaRepository.findById(zonaId)
-                .orElseThrow(() -> new PedidoValidationException("ZONA_NO_EXISTE", "La zona no existe"));
-
+    private void validarRequisitoCadenaFrio(boolean requiereRefrigeracion, Zona zona) {
         if (requiereRefrigeracion && !zona.isSoporteRefrigeracion()) {
             throw new PedidoValidationException(
                     "ZONA_NO_PERMITE_REFRIGERACION",
@@ -0,0 +1,28 @@
+package com.dinet.pedidos.domain.service;
+
+import com.dinet.pedidos.domain.model.Cliente;
+import com.dinet.pedidos.domain.model.Zona;
+
+/**
+ * Referencias de un pedido ya resueltas (cliente y zona) que comparten todas las reglas de validación.
+ * Se resuelven una sola vez por fila, de modo que agregar reglas no multiplica las consultas a repositorios.
+ * Un valor null indica que la referencia no existe en BD.
+ */
+public class PedidoValidationContext {
+
+    private final Cliente cliente;
+    private final Zona zona;
+
+    public PedidoValidationContext(Cliente cliente, Zona zona) {
+        this.cliente = cliente;
+        this.zona = zona;
+    }
+
+    public Cliente getCliente() {
+        return cliente;
+    }
+
+    public Zona getZona() {
+        return zona;
+    }
+}
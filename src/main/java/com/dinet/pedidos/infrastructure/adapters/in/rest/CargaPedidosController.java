@@ -0,0 +1,118 @@
+package com.dinet.pedidos.infrastructure.adapters.in.rest;
+
+import com.dinet.pedidos.application.model.CargaJob;
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.ports.in.CargaAsincronaUseCase;
+import com.dinet.pedidos.application.ports.in.CargarPedidosUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.util.UUID;
+
+@Tag(name = "Cargas", description = "Cargas asíncronas de pedidos y carga desde el cuerpo de la petición")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/pedidos/cargas")
+public class CargaPedidosController {
+
+    private final CargaAsincronaUseCase cargaAsincronaUseCase;
+    private final CargarPedidosUseCase cargarPedidosUseCase;
+
+    @Operation(
+            summary = "Iniciar carga asíncrona de pedidos",
+            description = "Recibe el CSV, lo encola y devuelve de inmediato el id de la carga. El avance y el resultado se consultan en GET /pedidos/cargas/{id}. "
+                    + "Acepta el CSV comprimido con gzip; el hash de idempotencia es el SHA-256 del CSV descomprimido."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Carga aceptada"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "503", description = "Capacidad de cargas agotada")
+    })
+    @PostMapping(consumes = "multipart/form-data")
+    public ResponseEntity<CargaJob> iniciarCarga(
+            @Parameter(
+                    description = "Archivo CSV con los pedidos, sin comprimir o comprimido con gzip",
+                    required = true,
+                    content = @Content(mediaType = "multipart/form-data")
+            )
+            @RequestPart("file") MultipartFile file,
+
+            @Parameter(
+                    description = "Clave de idempotencia para evitar duplicados",
+                    required = true,
+                    example = "test-123"
+            )
+            @RequestHeader("Idempotency-Key") String idempotencyKey) {
+        CargaJob carga = cargaAsincronaUseCase.iniciarCarga(file, idempotencyKey);
+        return ResponseEntity.accepted()
+                .location(URI.create("/pedidos/cargas/" + carga.getId()))
+                .body(carga);
+    }
+
+    @Operation(
+            summary = "Cargar pedidos desde el cuerpo de la petición",
+            description = "Carga síncrona equivalente a POST /pedidos/cargar, con el CSV como cuerpo de la petición en lugar de multipart. "
+                    + "El cuerpo se lee a medida que llega, sin copiarlo a memoria ni a disco, hasta app.carga.max-bytes-cuerpo. "
+                    + "Como se lee con una conexión de BD y un turno de carga ya tomados, un cliente que envía por debajo de "
+                    + "app.carga.cuerpo-velocidad-minima recibe 408; para enlaces lentos conviene la carga asíncrona. "
+                    + "También acepta los pedidos en JSON (un objeto por línea o un array de objetos). "
+                    + "Puede enviarse comprimido con gzip (con o sin Content-Encoding: gzip); el hash de idempotencia es el SHA-256 del archivo descomprimido."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Carga procesada"),
+            @ApiResponse(responseCode = "400", description = "Error en datos"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "408", description = "El cuerpo llega demasiado lento"),
+            @ApiResponse(responseCode = "409", description = "Carga duplicada"),
+            @ApiResponse(responseCode = "413", description = "Archivo demasiado grande"),
+            @ApiResponse(responseCode = "503", description = "Capacidad de cargas agotada")
+    })
+    @PutMapping(consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE,
+            "application/gzip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<CargaPedidosResult> cargarDesdeCuerpo(
+            @Parameter(hidden = true) InputStream cuerpo,
+
+            @Parameter(
+                    description = "Clave de idempotencia para evitar duplicados",
+                    required = true,
+                    example = "test-123"
+            )
+            @RequestHeader("Idempotency-Key") String idempotencyKey) {
+        return ResponseEntity.ok(cargarPedidosUseCase.cargarPedidosDesdeCuerpo(cuerpo, idempotencyKey));
+    }
+
+    @Operation(summary = "Estado de una carga", description = "Progreso y, al finalizar, el resultado de la carga.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado de la carga"),
+            @ApiResponse(responseCode = "404", description = "Carga no encontrada")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<CargaJob> consultarCarga(@PathVariable UUID id) {
+        return ResponseEntity.ok(cargaAsincronaUseCase.consultarCarga(id));
+    }
+
+    @Operation(
+            summary = "Eventos de progreso de una carga",
+            description = "Stream Server-Sent Events: eventos 'progreso' (filas leídas/válidas, errores, lotes enviados, filas por segundo) y un evento 'fin' con el estado final."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream de eventos"),
+            @ApiResponse(responseCode = "404", description = "Carga no encontrada")
+    })
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(@PathVariable UUID id) {
+        return cargaAsincronaUseCase.suscribirEventos(id);
+    }
+}
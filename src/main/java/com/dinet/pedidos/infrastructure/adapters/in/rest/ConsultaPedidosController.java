@@ -0,0 +1,151 @@
+package com.dinet.pedidos.infrastructure.adapters.in.rest;
+
+import com.dinet.pedidos.application.model.ExportacionPedidos;
+import com.dinet.pedidos.application.model.PedidosPagina;
+import com.dinet.pedidos.application.ports.in.ConsultarPedidosUseCase;
+import com.dinet.pedidos.application.ports.in.ExportarPedidosUseCase;
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
+
+@Tag(name = "Pedidos", description = "API para gestión de pedidos")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/pedidos")
+public class ConsultaPedidosController {
+
+    private final ConsultarPedidosUseCase consultarPedidosUseCase;
+    private final ExportarPedidosUseCase exportarPedidosUseCase;
+    private final ObjectMapper objectMapper;
+
+    @Operation(
+            summary = "Consultar pedidos",
+            description = "Pedidos ordenados por fechaEntrega e id, paginados por cursor: para la página siguiente enviar el siguienteCursor de la respuesta."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de pedidos"),
+            @ApiResponse(responseCode = "400", description = "Filtro, límite o cursor inválido"),
+            @ApiResponse(responseCode = "401", description = "No autorizado")
+    })
+    @GetMapping
+    public ResponseEntity<PedidosPagina> consultarPedidos(
+            @Parameter(description = "Estado del pedido", example = "PENDIENTE")
+            @RequestParam(required = false) EstadoPedido estado,
+
+            @Parameter(description = "Fecha de entrega mínima (inclusive)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaDesde,
+
+            @Parameter(description = "Fecha de entrega máxima (inclusive)", example = "2025-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaHasta,
+
+            @Parameter(description = "Zona de entrega", example = "ZONA1")
+            @RequestParam(required = false) String zona,
+
+            @Parameter(description = "Cliente", example = "CLI-123")
+            @RequestParam(required = false) String cliente,
+
+            @Parameter(description = "siguienteCursor de la página anterior")
+            @RequestParam(required = false) String cursor,
+
+            @Parameter(description = "Pedidos por página (1-500)", example = "100")
+            @RequestParam(defaultValue = "100") int limite) {
+        PedidoFiltro filtro = new PedidoFiltro(estado, fechaDesde, fechaHasta, zona, cliente);
+        return ResponseEntity.ok(consultarPedidosUseCase.consultarPedidos(filtro, cursor, limite));
+    }
+
+    @Operation(
+            summary = "Exportar pedidos",
+            description = "Todos los pedidos que cumplen el filtro, ordenados por fechaEntrega e id, escritos en streaming a medida que se leen de la BD. CSV con el formato de /pedidos/cargar o NDJSON; gzip=true comprime la respuesta (Content-Encoding: gzip)."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pedidos exportados"),
+            @ApiResponse(responseCode = "400", description = "Filtro o formato inválido"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "503", description = "Máximo de exportaciones simultáneas alcanzado")
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportarPedidos(
+            @Parameter(description = "Estado del pedido", example = "PENDIENTE")
+            @RequestParam(required = false) EstadoPedido estado,
+
+            @Parameter(description = "Fecha de entrega mínima (inclusive)", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaDesde,
+
+            @Parameter(description = "Fecha de entrega máxima (inclusive)", example = "2025-01-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fechaHasta,
+
+            @Parameter(description = "Zona de entrega", example = "ZONA1")
+            @RequestParam(required = false) String zona,
+
+            @Parameter(description = "Cliente", example = "CLI-123")
+            @RequestParam(required = false) String cliente,
+
+            @Parameter(description = "csv | ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv") String formato,
+
+            @Parameter(description = "Comprimir la respuesta con gzip")
+            @RequestParam(defaultValue = "false") boolean gzip,
+
+            @Parameter(hidden = true) NativeWebRequest request) {
+        PedidosExportWriter.Formato formatoExport = PedidosExportWriter.Formato.desde(formato);
+        // Valida el filtro antes de responder: una vez enviado el 200 un error ya no puede cambiar el estado
+        ExportacionPedidos exportacion = exportarPedidosUseCase.exportarPedidos(
+                new PedidoFiltro(estado, fechaDesde, fechaHasta, zona, cliente));
+
+        // La exportación retiene un turno de admisión: se cierra al terminar la petición asíncrona aunque el cuerpo
+        // no llegue a ejecutarse (timeout, cliente desconectado, ejecutor sin capacidad)
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportacionPedidos.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        exportacion.close();
+                    }
+                });
+
+        StreamingResponseBody cuerpo = out -> {
+            // Incluye la cabecera gzip y el writer: si fallan también se devuelve el turno
+            try (exportacion) {
+                OutputStream destino = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+                try (PedidosExportWriter writer = new PedidosExportWriter(formatoExport, destino, objectMapper.getFactory())) {
+                    exportacion.escribir(writer::escribir);
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(formatoExport.getMediaType());
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("pedidos." + formatoExport.getExtension())
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return ResponseEntity.ok().headers(headers).body(cuerpo);
+    }
+}
@@ -23,19 +23,25 @@ public class PedidoController {
 
     @Operation(
             summary = "Cargar pedidos desde archivo CSV",
-            description = "Endpoint para cargar múltiples pedidos desde un archivo CSV. Requiere autenticación Bearer Token y Idempotency-Key."
+            description = "Endpoint para cargar múltiples pedidos desde un archivo CSV. Requiere autenticación Bearer Token y Idempotency-Key. "
+                    + "El CSV puede enviarse comprimido con gzip (se reconoce por su contenido, no por el nombre ni el Content-Type) "
+                    + "y se descomprime hasta app.carga.max-bytes-descomprimidos. El hash de idempotencia es el SHA-256 del CSV "
+                    + "descomprimido: el mismo archivo enviado comprimido o sin comprimir es la misma carga. "
+                    + "En lugar de CSV el archivo puede contener los pedidos en JSON (un objeto por línea o un array de objetos, "
+                    + "con los mismos campos que las columnas del CSV); los errores se informan por índice de registro."
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Carga exitosa"),
             @ApiResponse(responseCode = "400", description = "Error en datos"),
             @ApiResponse(responseCode = "409", description = "Carga duplicada"),
+            @ApiResponse(responseCode = "413", description = "Archivo demasiado grande, comprimido o descomprimido"),
             @ApiResponse(responseCode = "401", description = "No autorizado"),
             @ApiResponse(responseCode = "500", description = "Error interno")
     })
     @PostMapping(value = "/cargar", consumes = "multipart/form-data")
     public ResponseEntity<CargaPedidosResult> cargarPedidos(
             @Parameter(
-                    description = "Archivo CSV con los pedidos",
+                    description = "Archivo CSV con los pedidos, sin comprimir o comprimido con gzip",
                     required = true,
                     content = @Content(mediaType = "multipart/form-data")
             )
@@ -0,0 +1,142 @@
+package com.dinet.pedidos.infrastructure.adapters.in.rest;
+
+import com.dinet.pedidos.application.service.PedidoCsvColumnas;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escribe pedidos uno a uno en la respuesta de la exportación. CSV usa la misma cabecera y formato que acepta
+ * {@code POST /pedidos/cargar} (un archivo exportado se puede volver a cargar); NDJSON escribe un objeto JSON
+ * por línea con los mismos campos que {@code GET /pedidos}.
+ */
+class PedidosExportWriter implements Closeable {
+
+    private static final int BUFFER = 64 * 1024;
+
+    enum Formato {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", MediaType.APPLICATION_NDJSON);
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Formato(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        String getExtension() {
+            return extension;
+        }
+
+        MediaType getMediaType() {
+            return mediaType;
+        }
+
+        static Formato desde(String valor) {
+            for (Formato formato : values()) {
+                if (formato.extension.equalsIgnoreCase(valor)) {
+                    return formato;
+                }
+            }
+            throw new IllegalArgumentException("formato debe ser csv o ndjson");
+        }
+    }
+
+    private final Formato formato;
+    private final Writer writer;
+    private final JsonGenerator json;
+
+    PedidosExportWriter(Formato formato, OutputStream out, JsonFactory jsonFactory) throws IOException {
+        this.formato = formato;
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER);
+        if (formato == Formato.NDJSON) {
+            this.json = jsonFactory.createGenerator(writer);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Sin el espacio que Jackson pone entre valores raíz: cada objeto termina en su propio salto de línea
+            this.json.setRootValueSeparator(null);
+        } else {
+            this.json = null;
+            writer.write(String.join(",", PedidoCsvColumnas.CAMPOS));
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Para usar como {@code Consumer}: los errores de escritura (cliente desconectado) se propagan como
+     * {@link UncheckedIOException} y cortan la lectura de la BD.
+     */
+    void escribir(PedidoResumen pedido) {
+        try {
+            if (formato == Formato.NDJSON) {
+                escribirJson(pedido);
+            } else {
+                escribirCsv(pedido);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (json != null) {
+            json.close();
+        }
+        writer.close();
+    }
+
+    private void escribirCsv(PedidoResumen pedido) throws IOException {
+        escribirValorCsv(pedido.numeroPedido());
+        writer.write(',');
+        escribirValorCsv(pedido.clienteId());
+        writer.write(',');
+        writer.write(pedido.fechaEntrega().toString());
+        writer.write(',');
+        writer.write(pedido.estado().name());
+        writer.write(',');
+        escribirValorCsv(pedido.zonaId());
+        writer.write(',');
+        writer.write(pedido.requiereRefrigeracion() ? "true" : "false");
+        writer.write('\n');
+    }
+
+    private void escribirJson(PedidoResumen pedido) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("id", pedido.id().toString());
+        json.writeStringField("numeroPedido", pedido.numeroPedido());
+        json.writeStringField("clienteId", pedido.clienteId());
+        json.writeStringField("zonaId", pedido.zonaId());
+        json.writeStringField("fechaEntrega", pedido.fechaEntrega().toString());
+        json.writeStringField("estado", pedido.estado().name());
+        json.writeBooleanField("requiereRefrigeracion", pedido.requiereRefrigeracion());
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void escribirValorCsv(String valor) throws IOException {
+        boolean comillas = valor.isEmpty();
+        for (int i = 0; i < valor.length() && !comillas; i++) {
+            char c = valor.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            writer.write(valor);
+            return;
+        }
+        writer.write('"');
+        writer.write(valor.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,36 @@
+package com.dinet.pedidos.infrastructure.adapters.in.rest;
+
+import com.dinet.pedidos.infrastructure.adapters.out.cache.ReferenceDataCache;
+import com.dinet.pedidos.infrastructure.adapters.out.cache.ReferenceDataCacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Catálogos", description = "Caché en memoria de clientes y zonas")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/referencias/cache")
+@ConditionalOnProperty(name = "app.cache.referencias.enabled", havingValue = "true", matchIfMissing = true)
+public class ReferenceDataCacheController {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @Operation(summary = "Estadísticas de la caché", description = "Tamaño de los catálogos en memoria y contadores de hits/misses.")
+    @GetMapping
+    public ResponseEntity<ReferenceDataCacheStats> getStats() {
+        return ResponseEntity.ok(referenceDataCache.getStats());
+    }
+
+    @Operation(summary = "Refrescar la caché", description = "Recarga clientes y zonas desde la base de datos.")
+    @PostMapping("/refresh")
+    public ResponseEntity<ReferenceDataCacheStats> refresh() {
+        referenceDataCache.refresh();
+        return ResponseEntity.ok(referenceDataCache.getStats());
+    }
+}
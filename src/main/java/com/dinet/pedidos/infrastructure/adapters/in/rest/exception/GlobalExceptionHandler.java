@@ -1,5 +1,9 @@
 package com.dinet.pedidos.infrastructure.adapters.in.rest.exception;
 
+import com.dinet.pedidos.application.exception.ArchivoDemasiadoGrandeException;
+import com.dinet.pedidos.application.exception.CargaEnCursoException;
+import com.dinet.pedidos.application.exception.CargaNoEncontradaException;
+import com.dinet.pedidos.application.exception.CuerpoLentoException;
 import com.dinet.pedidos.application.exception.DuplicateLoadException;
 import com.dinet.pedidos.application.model.ErrorResponse;
 import com.dinet.pedidos.domain.exception.PedidoValidationException;
@@ -11,9 +15,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -47,6 +53,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode("ARGUMENTO_INVALIDO");
+        errorResponse.setMessage("Valor inválido para el parámetro " + ex.getName() + ": " + ex.getValue());
+        errorResponse.setCorrelationId(getCorrelationId());
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(MaxUploadSizeExceededException.class)
     public ResponseEntity<ErrorResponse> handleMaxUploadSizeExceededException(MaxUploadSizeExceededException ex) {
         ErrorResponse errorResponse = new ErrorResponse();
@@ -56,6 +71,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
     }
 
+    @ExceptionHandler(ArchivoDemasiadoGrandeException.class)
+    public ResponseEntity<ErrorResponse> handleArchivoDemasiadoGrande(ArchivoDemasiadoGrandeException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode("ARCHIVO_DEMASIADO_GRANDE");
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setCorrelationId(getCorrelationId());
+        return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    @ExceptionHandler(CuerpoLentoException.class)
+    public ResponseEntity<ErrorResponse> handleCuerpoLento(CuerpoLentoException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode("TIEMPO_AGOTADO");
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setCorrelationId(getCorrelationId());
+        return new ResponseEntity<>(errorResponse, HttpStatus.REQUEST_TIMEOUT);
+    }
+
     @ExceptionHandler(DuplicateLoadException.class)
     public ResponseEntity<ErrorResponse> handleDuplicateLoad(DuplicateLoadException ex) {
         ErrorResponse errorResponse = new ErrorResponse();
@@ -65,6 +98,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(CargaEnCursoException.class)
+    public ResponseEntity<ErrorResponse> handleCargaEnCurso(CargaEnCursoException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode("CARGA_EN_CURSO");
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setCorrelationId(getCorrelationId());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(CargaNoEncontradaException.class)
+    public ResponseEntity<ErrorResponse> handleCargaNoEncontrada(CargaNoEncontradaException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode("CARGA_NO_ENCONTRADA");
+        errorResponse.setMessage(ex.getMessage());
+        errorResponse.setCorrelationId(getCorrelationId());
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.setCode("CAPACIDAD_AGOTADA");
+        errorResponse.setMessage("No hay capacidad para procesar más cargas, reintente más tarde");
+        errorResponse.setCorrelationId(getCorrelationId());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
         logger.error("Error interno del servidor", ex);
@@ -0,0 +1,96 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas: {@link #puedeContener(String)} nunca da falso negativo y da falso positivo con
+ * probabilidad cercana a la pedida al crearlo mientras no se supere la cantidad esperada de elementos.
+ * Los bits están en un {@link AtomicLongArray}: se puede consultar mientras otro hilo agrega.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long numBits;
+    private final int numHashes;
+
+    private BloomFilter(long numBits, int numHashes) {
+        this.bits = new AtomicLongArray((int) ((numBits + 63) / 64));
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Dimensiona el filtro con las fórmulas habituales: m = -n·ln(p)/ln(2)² bits y k = m/n·ln(2) hashes.
+     */
+    static BloomFilter crear(long esperados, double falsosPositivos) {
+        long n = Math.max(1, esperados);
+        long m = (long) Math.ceil(-n * Math.log(falsosPositivos) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, Math.min(m, (long) Integer.MAX_VALUE * 64));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k);
+    }
+
+    void agregar(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long actual = bits.get(indice);
+            while ((actual & mascara) == 0 && !bits.compareAndSet(indice, actual, actual | mascara)) {
+                actual = bits.get(indice);
+            }
+        }
+    }
+
+    boolean puedeContener(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Probabilidad de falso positivo con los bits activos actuales: (bits activos / bits)^k.
+     */
+    double falsosPositivosEstimados() {
+        long activos = 0;
+        for (int i = 0; i < bits.length(); i++) {
+            activos += Long.bitCount(bits.get(i));
+        }
+        return Math.pow((double) activos / numBits, numHashes);
+    }
+
+    long getBytes() {
+        return bits.length() * 8L;
+    }
+
+    int getNumHashes() {
+        return numHashes;
+    }
+
+    // FNV-1a sobre los caracteres y finalizador de MurmurHash3 para repartir los bits
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
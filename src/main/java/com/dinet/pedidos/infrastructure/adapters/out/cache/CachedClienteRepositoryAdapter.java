@@ -0,0 +1,33 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import com.dinet.pedidos.domain.model.Cliente;
+import com.dinet.pedidos.domain.ports.ClienteRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorador de {@link ClienteRepositoryPort} que resuelve los clientes desde {@link ReferenceDataCache}.
+ */
+@Primary
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "app.cache.referencias.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedClienteRepositoryAdapter implements ClienteRepositoryPort {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @Override
+    public Optional<Cliente> findById(String id) {
+        return referenceDataCache.findCliente(id);
+    }
+
+    @Override
+    public List<Cliente> findAll() {
+        return referenceDataCache.findAllClientes();
+    }
+}
@@ -0,0 +1,33 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import com.dinet.pedidos.domain.model.Zona;
+import com.dinet.pedidos.domain.ports.ZonaRepositoryPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorador de {@link ZonaRepositoryPort} que resuelve las zonas desde {@link ReferenceDataCache}.
+ */
+@Primary
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "app.cache.referencias.enabled", havingValue = "true", matchIfMissing = true)
+public class CachedZonaRepositoryAdapter implements ZonaRepositoryPort {
+
+    private final ReferenceDataCache referenceDataCache;
+
+    @Override
+    public Optional<Zona> findById(String id) {
+        return referenceDataCache.findZona(id);
+    }
+
+    @Override
+    public List<Zona> findAll() {
+        return referenceDataCache.findAllZonas();
+    }
+}
@@ -0,0 +1,79 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.dinet.pedidos.domain.model.PosicionPedido;
+import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
+import com.dinet.pedidos.infrastructure.adapters.out.persistence.PedidoRepositoryAdapter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Decorador de {@link PedidoRepositoryPort} que consulta en BD solo los números que {@link NumerosPedidoFilter}
+ * no descarta, y le informa los pedidos guardados.
+ */
+@Primary
+@RequiredArgsConstructor
+@Component
+@ConditionalOnProperty(name = "app.cache.numeros-pedido.enabled", havingValue = "true")
+public class FiltroNumerosPedidoRepositoryAdapter implements PedidoRepositoryPort {
+
+    private final PedidoRepositoryAdapter pedidoRepository;
+    private final NumerosPedidoFilter numerosPedidoFilter;
+
+    @Override
+    public Pedido save(Pedido pedido) {
+        Pedido guardado = pedidoRepository.save(pedido);
+        numerosPedidoFilter.registrar(List.of(pedido.getNumeroPedido()));
+        return guardado;
+    }
+
+    @Override
+    public List<Pedido> saveAll(List<Pedido> pedidos) {
+        List<Pedido> guardados = pedidoRepository.saveAll(pedidos);
+        numerosPedidoFilter.registrar(pedidos.stream().map(Pedido::getNumeroPedido).toList());
+        return guardados;
+    }
+
+    @Override
+    public boolean existsByNumeroPedido(String numeroPedido) {
+        if (!numerosPedidoFilter.puedeExistir(numeroPedido)) {
+            return false;
+        }
+        boolean existe = pedidoRepository.existsByNumeroPedido(numeroPedido);
+        numerosPedidoFilter.registrarConfirmacion(1, existe ? 1 : 0);
+        return existe;
+    }
+
+    @Override
+    public Set<String> findExistingNumeros(Collection<String> numerosPedido) {
+        Set<String> probables = new HashSet<>();
+        if (numerosPedido == null) {
+            return probables;
+        }
+        for (String numero : numerosPedido) {
+            if (numerosPedidoFilter.puedeExistir(numero)) {
+                probables.add(numero);
+            }
+        }
+        if (probables.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> existentes = pedidoRepository.findExistingNumeros(probables);
+        numerosPedidoFilter.registrarConfirmacion(probables.size(), existentes.size());
+        return existentes;
+    }
+
+    @Override
+    public List<PedidoResumen> findPagina(PedidoFiltro filtro, PosicionPedido despuesDe, int limite) {
+        return pedidoRepository.findPagina(filtro, despuesDe, limite);
+    }
+}
@@ -0,0 +1,205 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro de Bloom con todos los {@code pedidos.numero_pedido}, usado por
+ * {@link FiltroNumerosPedidoRepositoryAdapter}: un número que el filtro descarta seguro no existe y no se consulta
+ * en BD; solo los probables se confirman con una consulta.
+ * <p>
+ * Se construye al arrancar recorriendo la tabla con un cursor y se reconstruye cada
+ * {@code app.cache.numeros-pedido.refresh-interval} (redimensiona el filtro, olvida pedidos borrados e incorpora
+ * los insertados por otras instancias). Los números insertados por esta instancia se agregan al confirmarse la
+ * transacción; los que se confirman durante una reconstrucción se guardan aparte y se agregan al filtro nuevo.
+ * Hasta la primera construcción todos los números se consideran probables.
+ * <p>
+ * Métricas: {@code pedidos.numeros.filtro.elementos}, {@code .bytes} y {@code .falsos.positivos} (tasa estimada),
+ * el timer {@code pedidos.numeros.filtro.reconstruccion} y el counter {@code pedidos.numeros.filtro.consultas}
+ * por resultado ({@code descartado}, {@code existente}, {@code falso_positivo}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.numeros-pedido.enabled", havingValue = "true")
+public class NumerosPedidoFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(NumerosPedidoFilter.class);
+
+    static final String ELEMENTOS = "pedidos.numeros.filtro.elementos";
+    static final String BYTES = "pedidos.numeros.filtro.bytes";
+    static final String FALSOS_POSITIVOS = "pedidos.numeros.filtro.falsos.positivos";
+    static final String RECONSTRUCCION = "pedidos.numeros.filtro.reconstruccion";
+    static final String CONSULTAS = "pedidos.numeros.filtro.consultas";
+
+    static final String SELECT_SQL = "SELECT numero_pedido FROM pedidos";
+    static final String COUNT_SQL = "SELECT count(*) FROM pedidos";
+
+    // Capacidad mínima y holgura sobre los pedidos actuales para absorber inserciones hasta la próxima reconstrucción
+    private static final long CAPACIDAD_MINIMA = 100_000;
+    private static final int HOLGURA = 2;
+    private static final int FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double falsosPositivos;
+    private final AtomicLong elementos = new AtomicLong();
+    private final Timer reconstruccion;
+    private final Counter descartados;
+    private final Counter existentes;
+    private final Counter falsosPositivosObservados;
+
+    private volatile BloomFilter filtro;
+    // Números confirmados mientras se recorre la tabla; protegido por el monitor de this
+    private List<String> durante;
+
+    public NumerosPedidoFilter(DataSource dataSource, PlatformTransactionManager transactionManager,
+                               MeterRegistry registry,
+                               @Value("${app.cache.numeros-pedido.falsos-positivos:0.01}") double falsosPositivos) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.falsosPositivos = falsosPositivos;
+
+        Gauge.builder(ELEMENTOS, elementos, AtomicLong::get)
+                .description("Números de pedido agregados al filtro de Bloom")
+                .register(registry);
+        Gauge.builder(BYTES, this, f -> f.filtro != null ? f.filtro.getBytes() : 0)
+                .description("Memoria del filtro de Bloom de números de pedido")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder(FALSOS_POSITIVOS, this, f -> f.filtro != null ? f.filtro.falsosPositivosEstimados() : 1)
+                .description("Probabilidad estimada de falso positivo del filtro de Bloom")
+                .register(registry);
+        this.reconstruccion = Timer.builder(RECONSTRUCCION)
+                .description("Duración de la construcción del filtro de Bloom de números de pedido")
+                .register(registry);
+        this.descartados = Counter.builder(CONSULTAS).tag("resultado", "descartado").register(registry);
+        this.existentes = Counter.builder(CONSULTAS).tag("resultado", "existente").register(registry);
+        this.falsosPositivosObservados = Counter.builder(CONSULTAS).tag("resultado", "falso_positivo").register(registry);
+    }
+
+    /**
+     * {@code false} si el número seguro no existe en {@code pedidos}; {@code true} si hay que confirmarlo en BD.
+     */
+    public boolean puedeExistir(String numeroPedido) {
+        BloomFilter actual = filtro;
+        if (actual == null || actual.puedeContener(numeroPedido)) {
+            return true;
+        }
+        descartados.increment();
+        return false;
+    }
+
+    /**
+     * Resultado de confirmar en BD {@code consultados} números probables: los que no existían son falsos positivos.
+     */
+    public void registrarConfirmacion(int consultados, int encontrados) {
+        if (filtro != null) {
+            existentes.increment(encontrados);
+            falsosPositivosObservados.increment(consultados - encontrados);
+        }
+    }
+
+    /**
+     * Agrega los números al confirmarse la transacción en curso (o de inmediato si no hay ninguna): si la carga
+     * se revierte no dejan falsos positivos.
+     */
+    public void registrar(Collection<String> numerosPedido) {
+        if (numerosPedido.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            agregar(numerosPedido);
+            return;
+        }
+        List<String> numeros = new ArrayList<>(numerosPedido);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                agregar(numeros);
+            }
+        });
+    }
+
+    /**
+     * Reconstruye el filtro desde {@code pedidos} y lo publica de forma atómica.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.cache.numeros-pedido.refresh-interval:PT6H}",
+            initialDelayString = "${app.cache.numeros-pedido.refresh-interval:PT6H}")
+    public void refresh() {
+        synchronized (this) {
+            durante = new ArrayList<>();
+        }
+        long inicio = System.nanoTime();
+        BloomFilter nuevo;
+        long cargados;
+        try {
+            long[] contador = new long[1];
+            nuevo = transactionTemplate.execute(status -> {
+                Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+                BloomFilter construido = BloomFilter.crear(
+                        Math.max(CAPACIDAD_MINIMA, (total != null ? total : 0) * HOLGURA), falsosPositivos);
+                jdbcTemplate.query(SELECT_SQL, rs -> {
+                    construido.agregar(rs.getString(1));
+                    contador[0]++;
+                });
+                return construido;
+            });
+            cargados = contador[0];
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                durante = null;
+            }
+            throw e;
+        }
+        long nanos = System.nanoTime() - inicio;
+        reconstruccion.record(nanos, TimeUnit.NANOSECONDS);
+
+        int pendientes;
+        synchronized (this) {
+            durante.forEach(nuevo::agregar);
+            pendientes = durante.size();
+            durante = null;
+            filtro = nuevo;
+            elementos.set(cargados + pendientes);
+        }
+        logger.info("Filtro de números de pedido construido: {} números, {} KB, {} hashes en {} ms",
+                cargados + pendientes, nuevo.getBytes() / 1024, nuevo.getNumHashes(), nanos / 1_000_000);
+    }
+
+    private synchronized void agregar(Collection<String> numeros) {
+        BloomFilter actual = filtro;
+        for (String numero : numeros) {
+            if (actual != null) {
+                actual.agregar(numero);
+            }
+            if (durante != null) {
+                durante.add(numero);
+            }
+        }
+        elementos.addAndGet(numeros.size());
+    }
+}
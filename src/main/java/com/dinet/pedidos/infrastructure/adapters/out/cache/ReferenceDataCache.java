@@ -0,0 +1,128 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import com.dinet.pedidos.domain.model.Cliente;
+import com.dinet.pedidos.domain.model.Zona;
+import com.dinet.pedidos.infrastructure.adapters.out.persistence.ClienteRepositoryAdapter;
+import com.dinet.pedidos.infrastructure.adapters.out.persistence.ZonaRepositoryAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Foto inmutable en memoria de las tablas clientes y zonas, usada por los decoradores
+ * {@link CachedClienteRepositoryAdapter} y {@link CachedZonaRepositoryAdapter}.
+ * Son catálogos pequeños que cambian poco: durante una carga cada fila se resuelve con una búsqueda en un
+ * HashMap en lugar de una consulta a BD. La foto se reemplaza completa al refrescar (al arrancar, cada
+ * {@code app.cache.referencias.refresh-interval} o a demanda), por lo que las lecturas no requieren bloqueo.
+ * Un id que no está en la foto se consulta en BD (miss) para no rechazar registros creados entre refrescos.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.referencias.enabled", havingValue = "true", matchIfMissing = true)
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final ClienteRepositoryAdapter clienteRepository;
+    private final ZonaRepositoryAdapter zonaRepository;
+
+    private final LongAdder clienteHits = new LongAdder();
+    private final LongAdder clienteMisses = new LongAdder();
+    private final LongAdder zonaHits = new LongAdder();
+    private final LongAdder zonaMisses = new LongAdder();
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataCache(ClienteRepositoryAdapter clienteRepository, ZonaRepositoryAdapter zonaRepository) {
+        this.clienteRepository = clienteRepository;
+        this.zonaRepository = zonaRepository;
+    }
+
+    public Optional<Cliente> findCliente(String id) {
+        Cliente cliente = getSnapshot().clientes().get(id);
+        if (cliente != null) {
+            clienteHits.increment();
+            return Optional.of(cliente);
+        }
+        clienteMisses.increment();
+        return clienteRepository.findById(id);
+    }
+
+    public Optional<Zona> findZona(String id) {
+        Zona zona = getSnapshot().zonas().get(id);
+        if (zona != null) {
+            zonaHits.increment();
+            return Optional.of(zona);
+        }
+        zonaMisses.increment();
+        return zonaRepository.findById(id);
+    }
+
+    public List<Cliente> findAllClientes() {
+        return List.copyOf(getSnapshot().clientes().values());
+    }
+
+    public List<Zona> findAllZonas() {
+        return List.copyOf(getSnapshot().zonas().values());
+    }
+
+    /**
+     * Recarga ambos catálogos desde BD y publica la nueva foto de forma atómica.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.cache.referencias.refresh-interval:PT5M}",
+            initialDelayString = "${app.cache.referencias.refresh-interval:PT5M}")
+    public void refresh() {
+        long inicio = System.nanoTime();
+        Map<String, Cliente> clientes = new HashMap<>();
+        for (Cliente cliente : clienteRepository.findAll()) {
+            clientes.put(cliente.getId(), cliente);
+        }
+        Map<String, Zona> zonas = new HashMap<>();
+        for (Zona zona : zonaRepository.findAll()) {
+            zonas.put(zona.getId(), zona);
+        }
+        snapshot = new Snapshot(Map.copyOf(clientes), Map.copyOf(zonas), Instant.now());
+        logger.info("Catálogos de referencia cargados en memoria: {} clientes, {} zonas en {} ms",
+                clientes.size(), zonas.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public ReferenceDataCacheStats getStats() {
+        Snapshot actual = snapshot;
+        return new ReferenceDataCacheStats(
+                actual != null ? actual.clientes().size() : 0,
+                actual != null ? actual.zonas().size() : 0,
+                clienteHits.sum(),
+                clienteMisses.sum(),
+                zonaHits.sum(),
+                zonaMisses.sum(),
+                actual != null ? actual.cargadoEn() : null
+        );
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot actual = snapshot;
+        if (actual == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    refresh();
+                }
+                actual = snapshot;
+            }
+        }
+        return actual;
+    }
+
+    private record Snapshot(Map<String, Cliente> clientes, Map<String, Zona> zonas, Instant cargadoEn) {
+    }
+}
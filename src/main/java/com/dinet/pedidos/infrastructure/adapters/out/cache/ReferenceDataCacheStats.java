@@ -0,0 +1,23 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReferenceDataCacheStats {
+    private int clientes;
+    private int zonas;
+    private long clienteHits;
+    private long clienteMisses;
+    private long zonaHits;
+    private long zonaMisses;
+    private Instant cargadoEn;
+
+}
@@ -0,0 +1,210 @@
+package com.dinet.pedidos.infrastructure.adapters.out.eventos;
+
+import com.dinet.pedidos.application.model.CargaJob;
+import com.dinet.pedidos.application.model.ProgresoCarga;
+import com.dinet.pedidos.application.ports.out.CargaEventosPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Envía por Server-Sent Events el avance de las cargas asíncronas. Cada carga puede tener varios
+ * suscriptores; se emiten eventos {@code progreso} (ya limitados en frecuencia por el procesamiento)
+ * y un evento {@code fin} con el estado final, tras el cual se cierra el stream.
+ * <p>
+ * {@link #publicarProgreso} y {@link #publicarFin} se llaman desde el hilo de la carga, dentro de su transacción:
+ * no escriben en el socket, solo dejan el evento pendiente del suscriptor y encargan el envío a un pool propio
+ * ({@code app.carga-async.sse-hilos}). Cada suscriptor conserva solo el último progreso pendiente, así que uno que
+ * lee despacio recibe menos eventos en lugar de acumularlos, y ocupa como mucho un hilo del pool. Si la cola del
+ * pool ({@code app.carga-async.sse-cola}) está llena el progreso se descarta hasta el siguiente.
+ */
+@Component
+public class SseCargaEventosAdapter implements CargaEventosPort {
+
+    static final String EVENTO_PROGRESO = "progreso";
+    static final String EVENTO_FIN = "fin";
+
+    private final Map<UUID, List<Suscriptor>> suscriptores = new ConcurrentHashMap<>();
+    private final Executor envios;
+
+    @Value("${app.carga-async.sse-timeout:PT30M}")
+    private Duration timeout = Duration.ofMinutes(30);
+
+    @Autowired
+    public SseCargaEventosAdapter(@Value("${app.carga-async.sse-hilos:4}") int hilos,
+                                  @Value("${app.carga-async.sse-cola:1000}") int cola) {
+        this(crearPool(hilos, cola));
+    }
+
+    SseCargaEventosAdapter(Executor envios) {
+        this.envios = envios;
+    }
+
+    @Override
+    public SseEmitter suscribir(CargaJob carga) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        UUID cargaId = carga.getId();
+        Suscriptor suscriptor = new Suscriptor(cargaId, emitter);
+
+        // Carga ya terminada: se envía el estado final y se cierra sin registrar al suscriptor
+        if (carga.isFinalizado()) {
+            suscriptor.fin(carga);
+            return emitter;
+        }
+
+        suscriptores.computeIfAbsent(cargaId, id -> new CopyOnWriteArrayList<>()).add(suscriptor);
+        emitter.onCompletion(() -> quitar(suscriptor));
+        emitter.onTimeout(() -> quitar(suscriptor));
+        emitter.onError(e -> quitar(suscriptor));
+
+        if (carga.getProgreso() != null) {
+            suscriptor.progreso(carga.getProgreso());
+        }
+        // Si terminó mientras se registraba, publicarFin pudo no ver a este suscriptor
+        if (carga.isFinalizado()) {
+            publicarFin(carga);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void publicarProgreso(UUID cargaId, ProgresoCarga progreso) {
+        List<Suscriptor> lista = suscriptores.get(cargaId);
+        if (lista == null) {
+            return;
+        }
+        for (Suscriptor suscriptor : lista) {
+            suscriptor.progreso(progreso);
+        }
+    }
+
+    @Override
+    public void publicarFin(CargaJob carga) {
+        List<Suscriptor> lista = suscriptores.remove(carga.getId());
+        if (lista == null) {
+            return;
+        }
+        for (Suscriptor suscriptor : lista) {
+            suscriptor.fin(carga);
+        }
+    }
+
+    int suscriptores(UUID cargaId) {
+        List<Suscriptor> lista = suscriptores.get(cargaId);
+        return lista != null ? lista.size() : 0;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        if (envios instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    private void quitar(Suscriptor suscriptor) {
+        suscriptores.computeIfPresent(suscriptor.cargaId, (id, lista) -> {
+            lista.remove(suscriptor);
+            return lista.isEmpty() ? null : lista;
+        });
+    }
+
+    private static ExecutorService crearPool(int hilos, int cola) {
+        AtomicInteger contador = new AtomicInteger();
+        return new ThreadPoolExecutor(hilos, hilos, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(cola), tarea -> {
+            Thread hilo = new Thread(tarea, "sse-carga-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Eventos pendientes de un suscriptor: el último progreso y el fin. {@code programado} garantiza como mucho un
+     * envío en curso o en cola por suscriptor, de modo que sus eventos salen en orden.
+     */
+    private final class Suscriptor {
+
+        private final UUID cargaId;
+        private final SseEmitter emitter;
+        private final AtomicReference<ProgresoCarga> progresoPendiente = new AtomicReference<>();
+        private final AtomicReference<CargaJob> finPendiente = new AtomicReference<>();
+        private final AtomicBoolean programado = new AtomicBoolean();
+
+        private Suscriptor(UUID cargaId, SseEmitter emitter) {
+            this.cargaId = cargaId;
+            this.emitter = emitter;
+        }
+
+        void progreso(ProgresoCarga progreso) {
+            progresoPendiente.set(progreso);
+            programar();
+        }
+
+        void fin(CargaJob carga) {
+            finPendiente.set(carga);
+            programar();
+        }
+
+        private void programar() {
+            if (!programado.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                envios.execute(this::entregar);
+            } catch (RejectedExecutionException e) {
+                programado.set(false);
+                if (finPendiente.get() != null) {
+                    // Sin capacidad para el evento fin: al menos se cierra el stream
+                    emitter.complete();
+                }
+            }
+        }
+
+        private void entregar() {
+            do {
+                CargaJob fin = finPendiente.get();
+                ProgresoCarga progreso = progresoPendiente.getAndSet(null);
+                if (fin != null) {
+                    enviar(EVENTO_FIN, fin);
+                    emitter.complete();
+                    return;
+                }
+                if (progreso != null && !enviar(EVENTO_PROGRESO, progreso)) {
+                    return;
+                }
+                programado.set(false);
+            } while ((progresoPendiente.get() != null || finPendiente.get() != null)
+                    && programado.compareAndSet(false, true));
+        }
+
+        private boolean enviar(String evento, Object datos) {
+            try {
+                emitter.send(SseEmitter.event().name(evento).data(datos, MediaType.APPLICATION_JSON));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado o stream ya cerrado: no se le programan más envíos
+                quitar(this);
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.dinet.pedidos.infrastructure.adapters.out.metricas;
+
+import com.dinet.pedidos.application.model.EtapaCarga;
+import com.dinet.pedidos.application.model.MetricasCarga;
+import com.dinet.pedidos.application.ports.out.CargaMetricasPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Traduce las mediciones de cada carga a métricas de Micrometer (expuestas en /actuator/prometheus).
+ * Las etiquetas son de cardinalidad acotada: resultado, etapa y código de error; nunca la
+ * Idempotency-Key ni datos de las filas.
+ * <ul>
+ *   <li>{@code pedidos.carga} (timer): duración total por resultado.</li>
+ *   <li>{@code pedidos.carga.etapa} (timer): tiempo acumulado de cada etapa en una carga, por etapa y resultado.</li>
+ *   <li>{@code pedidos.carga.filas} / {@code pedidos.carga.bytes} (counters): volumen procesado por resultado.</li>
+ *   <li>{@code pedidos.carga.errores} (counter): filas con error por código.</li>
+ *   <li>{@code pedidos.carga.filas.por.segundo} / {@code pedidos.carga.bytes.por.segundo} (gauges):
+ *       rendimiento de la última carga procesada.</li>
+ * </ul>
+ */
+@Component
+public class MicrometerCargaMetricasAdapter implements CargaMetricasPort {
+
+    static final String CARGA = "pedidos.carga";
+    static final String ETAPA = "pedidos.carga.etapa";
+    static final String FILAS = "pedidos.carga.filas";
+    static final String BYTES = "pedidos.carga.bytes";
+    static final String ERRORES = "pedidos.carga.errores";
+    static final String FILAS_POR_SEGUNDO = "pedidos.carga.filas.por.segundo";
+    static final String BYTES_POR_SEGUNDO = "pedidos.carga.bytes.por.segundo";
+
+    private final MeterRegistry registry;
+    private final AtomicLong filasPorSegundo = new AtomicLong();
+    private final AtomicLong bytesPorSegundo = new AtomicLong();
+
+    public MicrometerCargaMetricasAdapter(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder(FILAS_POR_SEGUNDO, filasPorSegundo, AtomicLong::get)
+                .description("Filas por segundo de la última carga procesada")
+                .register(registry);
+        Gauge.builder(BYTES_POR_SEGUNDO, bytesPorSegundo, AtomicLong::get)
+                .description("Bytes por segundo de la última carga procesada")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @Override
+    public void registrarCarga(MetricasCarga metricas) {
+        String resultado = metricas.getResultado();
+
+        Timer.builder(CARGA)
+                .description("Duración total de la carga de pedidos")
+                .tag("resultado", resultado)
+                .register(registry)
+                .record(metricas.getDuracionNanos(), TimeUnit.NANOSECONDS);
+
+        for (EtapaCarga etapa : EtapaCarga.values()) {
+            long nanos = metricas.nanos(etapa);
+            if (nanos > 0) {
+                Timer.builder(ETAPA)
+                        .description("Tiempo de cada etapa de la carga de pedidos")
+                        .tag("etapa", etapa.getTag())
+                        .tag("resultado", resultado)
+                        .register(registry)
+                        .record(nanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        Counter.builder(FILAS).tag("resultado", resultado).register(registry).increment(metricas.getFilas());
+        Counter.builder(BYTES).baseUnit("bytes").tag("resultado", resultado).register(registry)
+                .increment(metricas.getBytes());
+        metricas.getErroresPorCodigo().forEach((codigo, cantidad) ->
+                Counter.builder(ERRORES).tag("codigo", codigo).register(registry).increment(cantidad));
+
+        // Los reintentos devuelven un resultado guardado: no reflejan el rendimiento del procesamiento
+        if (metricas.getFilas() > 0 && !MetricasCarga.RESULTADO_REINTENTO.equals(resultado)) {
+            double segundos = Math.max(metricas.getDuracionNanos(), 1) / 1_000_000_000d;
+            filasPorSegundo.set(Math.round(metricas.getFilas() / segundos));
+            bytesPorSegundo.set(Math.round(metricas.getBytes() / segundos));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.dinet.pedidos.infrastructure.entities.CargaIdempotenteEntity;
 import com.dinet.pedidos.infrastructure.repositories.CargaIdempotenteJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -21,6 +22,13 @@ public class CargaIdempotenteRepositoryAdapter implements CargaIdempotenteReposi
                 .map(this::toDomain);
     }
 
+    @Override
+    public List<CargaIdempotente> findByIdempotencyKey(String idempotencyKey) {
+        return cargaIdempotenteJpaRepository.findByIdempotencyKey(idempotencyKey).stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
     @Override
     public CargaIdempotente save(CargaIdempotente carga) {
         CargaIdempotenteEntity entity = toEntity(carga);
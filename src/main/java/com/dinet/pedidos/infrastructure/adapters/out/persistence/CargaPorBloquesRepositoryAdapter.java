@@ -0,0 +1,180 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.domain.model.CargaIdempotente;
+import com.dinet.pedidos.domain.model.CargaPorBloques;
+import com.dinet.pedidos.domain.model.EstadoCargaPorBloques;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.ports.CargaIdempotenteRepositoryPort;
+import com.dinet.pedidos.domain.ports.CargaPorBloquesRepositoryPort;
+import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
+import com.dinet.pedidos.infrastructure.entities.CargaPorBloquesEntity;
+import com.dinet.pedidos.infrastructure.repositories.CargaPorBloquesJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+/**
+ * Las escrituras de cada bloque se hacen en transacciones propias (una por llamada): la carga que las
+ * invoca no abre una transacción que abarque el archivo completo.
+ * <p>
+ * Cada bloque registra sus números de pedido en {@code cargas_por_bloques_pedidos}, así la reversión borra
+ * exactamente lo confirmado por la carga sin volver a leer su archivo.
+ * <p>
+ * Las transacciones por bloque no permiten bloquear la fila durante toda la carga, así que la propiedad se
+ * guarda en {@code ejecucion_id}: cada escritura empieza con un UPDATE condicionado a la ejecución, que además
+ * bloquea la fila hasta el commit y renueva {@code updated_at}. Una ejecución que perdió la carga no escribe.
+ */
+@RequiredArgsConstructor
+@Component
+public class CargaPorBloquesRepositoryAdapter implements CargaPorBloquesRepositoryPort {
+
+    static final String REGISTRAR_SQL = "INSERT INTO cargas_por_bloques_pedidos (carga_id, numero_pedido) VALUES (?, ?)";
+    static final String ELIMINAR_PEDIDOS_SQL = "DELETE FROM pedidos WHERE numero_pedido IN "
+            + "(SELECT numero_pedido FROM cargas_por_bloques_pedidos WHERE carga_id = ?)";
+    static final String ELIMINAR_REGISTRO_SQL = "DELETE FROM cargas_por_bloques_pedidos WHERE carga_id = ?";
+    static final String RECLAMAR_SQL = "UPDATE cargas_por_bloques SET ejecucion_id = ?, updated_at = ? "
+            + "WHERE id = ? AND estado <> 'COMPLETADA' AND (ejecucion_id IS NULL OR updated_at < ?)";
+    static final String COMPROBAR_EJECUCION_SQL = "UPDATE cargas_por_bloques SET updated_at = ? "
+            + "WHERE id = ? AND ejecucion_id IS NOT DISTINCT FROM ?";
+    static final String LIBERAR_SQL = "UPDATE cargas_por_bloques SET ejecucion_id = NULL "
+            + "WHERE id = ? AND ejecucion_id IS NOT DISTINCT FROM ?";
+
+    private final CargaPorBloquesJpaRepository cargaPorBloquesJpaRepository;
+    private final PedidoRepositoryPort pedidoRepository;
+    private final CargaIdempotenteRepositoryPort cargaIdempotenteRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<CargaPorBloques> findByIdempotencyKeyAndHash(String idempotencyKey, String hash) {
+        return cargaPorBloquesJpaRepository.findByIdempotencyKeyAndArchivoHash(idempotencyKey, hash)
+                .map(this::toDomain);
+    }
+
+    @Override
+    public List<CargaPorBloques> findEnProcesoSinAvanceDesde(LocalDateTime limite) {
+        return cargaPorBloquesJpaRepository
+                .findByEstadoAndUpdatedAtBefore(EstadoCargaPorBloques.EN_PROCESO.name(), limite).stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public CargaPorBloques save(CargaPorBloques carga) {
+        carga.setUpdatedAt(LocalDateTime.now());
+        return toDomain(cargaPorBloquesJpaRepository.save(toEntity(carga)));
+    }
+
+    @Override
+    public boolean registrar(CargaPorBloques carga) {
+        carga.setUpdatedAt(LocalDateTime.now());
+        try {
+            // saveAndFlush con su propia transacción: la violación de la clave única se detecta aquí
+            cargaPorBloquesJpaRepository.saveAndFlush(toEntity(carga));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean reclamar(CargaPorBloques carga, LocalDateTime libreDesde) {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (jdbcTemplate.update(RECLAMAR_SQL, carga.getEjecucionId(), ahora, carga.getId(), libreDesde) == 0) {
+            return false;
+        }
+        carga.setUpdatedAt(ahora);
+        return true;
+    }
+
+    @Override
+    public void liberar(CargaPorBloques carga) {
+        jdbcTemplate.update(LIBERAR_SQL, carga.getId(), carga.getEjecucionId());
+    }
+
+    @Override
+    @Transactional
+    public boolean confirmarBloque(CargaPorBloques carga, List<Pedido> pedidos) {
+        if (!comprobarEjecucion(carga)) {
+            return false;
+        }
+        pedidoRepository.saveAll(pedidos);
+        jdbcTemplate.batchUpdate(REGISTRAR_SQL, pedidos, pedidos.size(), (ps, pedido) -> {
+            ps.setObject(1, carga.getId());
+            ps.setString(2, pedido.getNumeroPedido());
+        });
+        save(carga);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public OptionalInt revertir(CargaPorBloques carga) {
+        if (!comprobarEjecucion(carga)) {
+            return OptionalInt.empty();
+        }
+        int borrados = jdbcTemplate.update(ELIMINAR_PEDIDOS_SQL, carga.getId());
+        jdbcTemplate.update(ELIMINAR_REGISTRO_SQL, carga.getId());
+        carga.setUltimaLinea(0);
+        carga.setFilasConfirmadas(0);
+        carga.setEstado(EstadoCargaPorBloques.REVERTIDA);
+        save(carga);
+        liberar(carga);
+        return OptionalInt.of(borrados);
+    }
+
+    @Override
+    @Transactional
+    public boolean completar(CargaPorBloques carga, CargaIdempotente idempotencia) {
+        if (!comprobarEjecucion(carga)) {
+            return false;
+        }
+        carga.setEstado(EstadoCargaPorBloques.COMPLETADA);
+        save(carga);
+        // Una carga completada ya no se revierte: su registro de pedidos deja de hacer falta
+        jdbcTemplate.update(ELIMINAR_REGISTRO_SQL, carga.getId());
+        cargaIdempotenteRepository.save(idempotencia);
+        return true;
+    }
+
+    private boolean comprobarEjecucion(CargaPorBloques carga) {
+        return jdbcTemplate.update(COMPROBAR_EJECUCION_SQL, LocalDateTime.now(), carga.getId(),
+                carga.getEjecucionId()) > 0;
+    }
+
+    public CargaPorBloquesEntity toEntity(CargaPorBloques domain) {
+        CargaPorBloquesEntity entity = new CargaPorBloquesEntity();
+        entity.setId(domain.getId() != null ? domain.getId() : UUID.randomUUID());
+        entity.setIdempotencyKey(domain.getIdempotencyKey());
+        entity.setArchivoHash(domain.getArchivoHash());
+        entity.setEstado(domain.getEstado().name());
+        entity.setUltimaLinea(domain.getUltimaLinea());
+        entity.setFilasConfirmadas(domain.getFilasConfirmadas());
+        entity.setCreatedAt(domain.getCreatedAt());
+        entity.setUpdatedAt(domain.getUpdatedAt());
+        entity.setEjecucionId(domain.getEjecucionId());
+        return entity;
+    }
+
+    public CargaPorBloques toDomain(CargaPorBloquesEntity entity) {
+        return new CargaPorBloques(
+                entity.getId(),
+                entity.getIdempotencyKey(),
+                entity.getArchivoHash(),
+                EstadoCargaPorBloques.valueOf(entity.getEstado()),
+                entity.getUltimaLinea(),
+                entity.getFilasConfirmadas(),
+                entity.getCreatedAt(),
+                entity.getUpdatedAt(),
+                entity.getEjecucionId()
+        );
+    }
+}
@@ -7,6 +7,7 @@ import com.dinet.pedidos.infrastructure.repositories.ClienteJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 
 @RequiredArgsConstructor
@@ -21,6 +22,13 @@ public class ClienteRepositoryAdapter implements ClienteRepositoryPort {
                 .map(this::toDomain);
     }
 
+    @Override
+    public List<Cliente> findAll() {
+        return clienteJpaRepository.findAll().stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
     public Cliente toDomain(ClienteEntity entity) {
         return new Cliente(entity.getId(), entity.isActivo());
     }
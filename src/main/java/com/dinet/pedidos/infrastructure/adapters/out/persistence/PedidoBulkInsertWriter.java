@@ -0,0 +1,133 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.domain.model.Pedido;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rutas de inserción masiva de pedidos que no pasan por el contexto de persistencia de JPA.
+ * Ambas usan la conexión ligada a la transacción en curso, por lo que respetan el mismo commit/rollback
+ * que el resto de la carga.
+ */
+@Component
+public class PedidoBulkInsertWriter {
+
+    static final String COPY_SQL = "COPY pedidos (id, numero_pedido, cliente_id, zona_id, fecha_entrega, estado, requiere_refrigeracion) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    static final String INSERT_SQL = "INSERT INTO pedidos (id, numero_pedido, cliente_id, zona_id, fecha_entrega, estado, "
+            + "requiere_refrigeracion, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PedidoBulkInsertWriter(DataSource dataSource) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Envía los pedidos con {@code COPY ... FROM STDIN} (CopyManager de PgJDBC). Si la conexión no es de
+     * PostgreSQL (p. ej. H2 en pruebas) usa {@link #batchInsert(List)}.
+     */
+    public void copy(List<Pedido> pedidos) {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        boolean postgres;
+        try {
+            postgres = connection.isWrapperFor(PGConnection.class);
+            if (postgres) {
+                copyIn(connection.unwrap(PGConnection.class), pedidos);
+            }
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY pedidos", COPY_SQL, e);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Error enviando pedidos con COPY", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        if (!postgres) {
+            batchInsert(pedidos);
+        }
+    }
+
+    /**
+     * INSERT con batch JDBC (un solo round trip por lote).
+     */
+    public void batchInsert(List<Pedido> pedidos) {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, pedidos, pedidos.size(), (ps, pedido) -> {
+            ps.setObject(1, pedido.getId());
+            ps.setString(2, pedido.getNumeroPedido());
+            ps.setString(3, pedido.getClienteId());
+            ps.setString(4, pedido.getZonaId());
+            ps.setDate(5, Date.valueOf(pedido.getFechaEntrega()));
+            ps.setString(6, pedido.getEstado().name());
+            ps.setBoolean(7, pedido.isRequiereRefrigeracion());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        });
+    }
+
+    private void copyIn(PGConnection connection, List<Pedido> pedidos) throws SQLException, IOException {
+        // created_at/updated_at se omiten: los completa el DEFAULT now() de la tabla
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, COPY_SQL), StandardCharsets.UTF_8))) {
+            for (Pedido pedido : pedidos) {
+                writer.write(pedido.getId().toString());
+                writer.write(',');
+                writeCsvValue(writer, pedido.getNumeroPedido());
+                writer.write(',');
+                writeCsvValue(writer, pedido.getClienteId());
+                writer.write(',');
+                writeCsvValue(writer, pedido.getZonaId());
+                writer.write(',');
+                writer.write(pedido.getFechaEntrega().toString());
+                writer.write(',');
+                writer.write(pedido.getEstado().name());
+                writer.write(',');
+                writer.write(pedido.isRequiereRefrigeracion() ? "true" : "false");
+                writer.write('\n');
+            }
+        }
+    }
+
+    static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean needsQuotes = value.isEmpty();
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -1,20 +1,61 @@
 package com.dinet.pedidos.infrastructure.adapters.out.persistence;
 
 import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.dinet.pedidos.domain.model.PosicionPedido;
 import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
 import com.dinet.pedidos.infrastructure.entities.PedidoEntity;
 import com.dinet.pedidos.infrastructure.repositories.PedidoJpaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
 public class PedidoRepositoryAdapter implements PedidoRepositoryPort {
 
+    // Límite de parámetros por consulta IN; colecciones más grandes se consultan por tramos
+    private static final int MAX_IN_PARAMS = 1000;
+
+    private static final String INSERT_MODE_JPA = "jpa";
+    private static final String INSERT_MODE_COPY = "copy";
+    private static final String INSERT_MODE_JDBC = "jdbc";
+
     private final PedidoJpaRepository pedidoJpaRepository;
+    private final EntityManager entityManager;
+    private final PedidoBulkInsertWriter bulkInsertWriter;
+
+    // jpa (por defecto), copy (COPY FROM STDIN en PostgreSQL) o jdbc (INSERT con batch JDBC)
+    @Value("${app.persistence.insert-mode:jpa}")
+    private String insertMode;
 
-    public PedidoRepositoryAdapter(PedidoJpaRepository pedidoJpaRepository) {
+    public PedidoRepositoryAdapter(PedidoJpaRepository pedidoJpaRepository, EntityManager entityManager,
+                                   PedidoBulkInsertWriter bulkInsertWriter) {
         this.pedidoJpaRepository = pedidoJpaRepository;
+        this.entityManager = entityManager;
+        this.bulkInsertWriter = bulkInsertWriter;
+    }
+
+    /**
+     * Un valor desconocido haría que {@link #saveAll} usara JPA sin avisar: se rechaza al arrancar.
+     */
+    @PostConstruct
+    void validarInsertMode() {
+        if (!INSERT_MODE_JPA.equalsIgnoreCase(insertMode) && !INSERT_MODE_COPY.equalsIgnoreCase(insertMode)
+                && !INSERT_MODE_JDBC.equalsIgnoreCase(insertMode)) {
+            throw new IllegalStateException("app.persistence.insert-mode inválido: '" + insertMode
+                    + "'. Valores permitidos: jpa, copy, jdbc");
+        }
     }
 
     @Override
@@ -26,10 +67,21 @@ public class PedidoRepositoryAdapter implements PedidoRepositoryPort {
 
     @Override
     public List<Pedido> saveAll(List<Pedido> pedidos) {
+        if (INSERT_MODE_COPY.equalsIgnoreCase(insertMode)) {
+            bulkInsertWriter.copy(pedidos);
+            return pedidos;
+        }
+        if (INSERT_MODE_JDBC.equalsIgnoreCase(insertMode)) {
+            bulkInsertWriter.batchInsert(pedidos);
+            return pedidos;
+        }
         List<PedidoEntity> entities = pedidos.stream()
                 .map(this::toEntity)
                 .collect(Collectors.toList());
         entities = pedidoJpaRepository.saveAll(entities);
+        // Enviar el lote a la BD y liberar el contexto de persistencia para que no crezca con el archivo
+        entityManager.flush();
+        entityManager.clear();
         return entities.stream()
                 .map(this::toDomain)
                 .collect(Collectors.toList());
@@ -40,6 +92,65 @@ public class PedidoRepositoryAdapter implements PedidoRepositoryPort {
         return pedidoJpaRepository.existsByNumeroPedido(numeroPedido);
     }
 
+    @Override
+    public Set<String> findExistingNumeros(Collection<String> numerosPedido) {
+        Set<String> existentes = new HashSet<>();
+        if (numerosPedido == null || numerosPedido.isEmpty()) {
+            return existentes;
+        }
+        List<String> numeros = new ArrayList<>(numerosPedido);
+        for (int i = 0; i < numeros.size(); i += MAX_IN_PARAMS) {
+            List<String> tramo = numeros.subList(i, Math.min(numeros.size(), i + MAX_IN_PARAMS));
+            existentes.addAll(pedidoJpaRepository.findExistingNumeros(tramo));
+        }
+        return existentes;
+    }
+
+    /**
+     * Paginación por clave (keyset): en lugar de OFFSET la página empieza después de la última posición
+     * {@code (fechaEntrega, id)} devuelta, así que cualquier página cuesta lo mismo que la primera. La condición
+     * redundante {@code fechaEntrega >= :fecha} permite recorrer {@code idx_pedidos_estado_fecha_id} o
+     * {@code idx_pedidos_fecha_id} como un rango; solo se agregan al JPQL los filtros informados.
+     */
+    @Override
+    public List<PedidoResumen> findPagina(PedidoFiltro filtro, PosicionPedido despuesDe, int limite) {
+        StringBuilder jpql = new StringBuilder("select new " + PedidoResumen.class.getName()
+                + "(p.id, p.numeroPedido, p.clienteId, p.zonaId, p.fechaEntrega, p.estado, p.requiereRefrigeracion)"
+                + " from PedidoEntity p where 1 = 1");
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        if (filtro.estado() != null) {
+            jpql.append(" and p.estado = :estado");
+            parametros.put("estado", filtro.estado().name());
+        }
+        if (filtro.fechaDesde() != null) {
+            jpql.append(" and p.fechaEntrega >= :fechaDesde");
+            parametros.put("fechaDesde", filtro.fechaDesde());
+        }
+        if (filtro.fechaHasta() != null) {
+            jpql.append(" and p.fechaEntrega <= :fechaHasta");
+            parametros.put("fechaHasta", filtro.fechaHasta());
+        }
+        if (filtro.zonaId() != null) {
+            jpql.append(" and p.zonaId = :zonaId");
+            parametros.put("zonaId", filtro.zonaId());
+        }
+        if (filtro.clienteId() != null) {
+            jpql.append(" and p.clienteId = :clienteId");
+            parametros.put("clienteId", filtro.clienteId());
+        }
+        if (despuesDe != null) {
+            jpql.append(" and p.fechaEntrega >= :despuesFecha"
+                    + " and (p.fechaEntrega > :despuesFecha or p.id > :despuesId)");
+            parametros.put("despuesFecha", despuesDe.fechaEntrega());
+            parametros.put("despuesId", despuesDe.id());
+        }
+        jpql.append(" order by p.fechaEntrega, p.id");
+
+        TypedQuery<PedidoResumen> query = entityManager.createQuery(jpql.toString(), PedidoResumen.class);
+        parametros.forEach(query::setParameter);
+        return query.setMaxResults(limite).getResultList();
+    }
+
     public PedidoEntity toEntity(Pedido pedido) {
         PedidoEntity entity = new PedidoEntity();
         entity.setId(pedido.getId());
@@ -0,0 +1,71 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.application.ports.out.PedidosExportPort;
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Recorre {@code pedidos} con un cursor del servidor: {@code ResultSet} forward-only y fetch size
+ * {@value #FETCH_SIZE}, así que la memoria usada no depende de la cantidad de filas. En PostgreSQL el driver
+ * solo usa cursor con autocommit desactivado, por eso el puerto exige una transacción.
+ */
+@Component
+public class PedidosExportAdapter implements PedidosExportPort {
+
+    static final int FETCH_SIZE = 1000;
+
+    static final String SELECT_SQL = "SELECT id, numero_pedido, cliente_id, zona_id, fecha_entrega, estado, "
+            + "requiere_refrigeracion FROM pedidos";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PedidosExportAdapter(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Override
+    public long exportar(PedidoFiltro filtro, Consumer<PedidoResumen> destino) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> parametros = new ArrayList<>();
+        agregarCondicion(sql, parametros, "estado = ?", filtro.estado() != null ? filtro.estado().name() : null);
+        agregarCondicion(sql, parametros, "fecha_entrega >= ?", filtro.fechaDesde());
+        agregarCondicion(sql, parametros, "fecha_entrega <= ?", filtro.fechaHasta());
+        agregarCondicion(sql, parametros, "zona_id = ?", filtro.zonaId());
+        agregarCondicion(sql, parametros, "cliente_id = ?", filtro.clienteId());
+        sql.append(" ORDER BY fecha_entrega, id");
+
+        long[] exportados = new long[1];
+        jdbcTemplate.query(sql.toString(), rs -> {
+            destino.accept(new PedidoResumen(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("numero_pedido"),
+                    rs.getString("cliente_id"),
+                    rs.getString("zona_id"),
+                    rs.getObject("fecha_entrega", LocalDate.class),
+                    EstadoPedido.valueOf(rs.getString("estado")),
+                    rs.getBoolean("requiere_refrigeracion")));
+            exportados[0]++;
+        }, parametros.toArray());
+        return exportados[0];
+    }
+
+    // Solo se agregan las condiciones informadas: un "(? IS NULL OR ...)" impediría usar los índices
+    private static void agregarCondicion(StringBuilder sql, List<Object> parametros, String condicion, Object valor) {
+        if (valor == null) {
+            return;
+        }
+        sql.append(parametros.isEmpty() ? " WHERE " : " AND ").append(condicion);
+        parametros.add(valor);
+    }
+}
@@ -0,0 +1,229 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.application.model.ErrorProcesamiento;
+import com.dinet.pedidos.application.model.FilaPendiente;
+import com.dinet.pedidos.application.ports.out.PedidosStagingPort;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.infrastructure.adapters.out.cache.NumerosPedidoFilter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Validación por conjuntos en PostgreSQL: las filas se copian con {@code COPY ... FROM STDIN} a la tabla
+ * UNLOGGED {@code pedidos_staging} y las reglas de {@code PedidoDomainService} se evalúan con joins contra
+ * {@code clientes}, {@code zonas} y {@code pedidos}. Usa la conexión ligada a la transacción de la carga.
+ */
+@Component
+public class PedidosStagingAdapter implements PedidosStagingPort {
+
+    static final String COPY_SQL = "COPY pedidos_staging (carga_id, linea, id, numero_pedido, cliente_id, zona_id, "
+            + "fecha_entrega, estado, requiere_refrigeracion) FROM STDIN WITH (FORMAT csv)";
+
+    // Una regla por fila, en el mismo orden que PedidoDomainService; los duplicados solo se evalúan sobre las
+    // filas válidas: si el número ya existe en pedidos todas sus apariciones son DUPLICADO; si no, las siguientes
+    // a la primera son DUPLICADO_EN_ARCHIVO (igual que DuplicadosEnArchivo en el motor de dominio).
+    static final String VALIDAR_SQL = """
+            WITH reglas AS (
+                SELECT s.linea, s.numero_pedido,
+                       CASE
+                           WHEN s.numero_pedido IS NULL OR s.numero_pedido ~ '^\\s*$' THEN 'NUMERO_OBLIGATORIO'
+                           WHEN s.numero_pedido !~ '^[A-Za-z0-9]+$' THEN 'NUMERO_FORMATO'
+                           WHEN s.estado IS NULL THEN 'ESTADO_OBLIGATORIO'
+                           WHEN s.fecha_entrega IS NULL THEN 'FECHA_OBLIGATORIA'
+                           WHEN s.fecha_entrega < (now() AT TIME ZONE 'America/Lima')::date THEN 'FECHA_ANTERIOR'
+                           WHEN c.id IS NULL THEN 'CLIENTE_NO_EXISTE'
+                           WHEN NOT c.activo THEN 'CLIENTE_INACTIVO'
+                           WHEN z.id IS NULL THEN 'ZONA_NO_EXISTE'
+                           WHEN s.requiere_refrigeracion AND NOT z.soporte_refrigeracion THEN 'ZONA_NO_PERMITE_REFRIGERACION'
+                       END AS regla
+                FROM pedidos_staging s
+                LEFT JOIN clientes c ON c.id = s.cliente_id
+                LEFT JOIN zonas z ON z.id = s.zona_id
+                WHERE s.carga_id = ?
+            ),
+            validas AS (
+                SELECT linea, numero_pedido,
+                       row_number() OVER (PARTITION BY numero_pedido ORDER BY linea) AS aparicion
+                FROM reglas
+                WHERE regla IS NULL
+            ),
+            duplicados AS (
+                SELECT v.linea, v.numero_pedido,
+                       CASE
+                           WHEN EXISTS (SELECT 1 FROM pedidos p WHERE p.numero_pedido = v.numero_pedido) THEN 'DUPLICADO'
+                           WHEN v.aparicion > 1 THEN 'DUPLICADO_EN_ARCHIVO'
+                       END AS regla
+                FROM validas v
+            )
+            SELECT linea, numero_pedido, regla FROM reglas WHERE regla IS NOT NULL
+            UNION ALL
+            SELECT linea, numero_pedido, regla FROM duplicados WHERE regla IS NOT NULL
+            ORDER BY linea
+            """;
+
+    static final String INSERT_SQL = "INSERT INTO pedidos (id, numero_pedido, cliente_id, zona_id, fecha_entrega, estado, "
+            + "requiere_refrigeracion) SELECT id, numero_pedido, cliente_id, zona_id, fecha_entrega, estado, "
+            + "requiere_refrigeracion FROM pedidos_staging WHERE carga_id = ?";
+
+    static final String INSERT_RETURNING_SQL = INSERT_SQL + " RETURNING numero_pedido";
+
+    static final String DELETE_SQL = "DELETE FROM pedidos_staging WHERE carga_id = ?";
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    // Con app.cache.numeros-pedido.enabled los números insertados se informan al filtro de Bloom
+    private final Optional<NumerosPedidoFilter> numerosPedidoFilter;
+
+    private volatile Boolean postgres;
+
+    public PedidosStagingAdapter(DataSource dataSource, Optional<NumerosPedidoFilter> numerosPedidoFilter) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.numerosPedidoFilter = numerosPedidoFilter;
+    }
+
+    @Override
+    public boolean disponible() {
+        Boolean esPostgres = postgres;
+        if (esPostgres == null) {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                esPostgres = connection.isWrapperFor(PGConnection.class);
+            } catch (SQLException e) {
+                throw new UncategorizedSQLException("Detectar PostgreSQL", null, e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+            postgres = esPostgres;
+        }
+        return esPostgres;
+    }
+
+    @Override
+    public void agregar(UUID cargaId, List<FilaPendiente> filas) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            copyIn(connection.unwrap(PGConnection.class), cargaId, filas);
+        } catch (SQLException e) {
+            throw new UncategorizedSQLException("COPY pedidos_staging", COPY_SQL, e);
+        } catch (IOException e) {
+            throw new DataAccessResourceFailureException("Error enviando filas a pedidos_staging", e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    @Override
+    public List<ErrorProcesamiento> validar(UUID cargaId) {
+        return jdbcTemplate.query(VALIDAR_SQL, (rs, rowNum) -> Regla.valueOf(rs.getString("regla"))
+                .error(rs.getInt("linea"), rs.getString("numero_pedido")), cargaId);
+    }
+
+    @Override
+    public int insertarValidos(UUID cargaId) {
+        if (numerosPedidoFilter.isEmpty()) {
+            return jdbcTemplate.update(INSERT_SQL, cargaId);
+        }
+        List<String> insertados = new ArrayList<>();
+        jdbcTemplate.query(INSERT_RETURNING_SQL, rs -> {
+            insertados.add(rs.getString(1));
+        }, cargaId);
+        numerosPedidoFilter.get().registrar(insertados);
+        return insertados.size();
+    }
+
+    @Override
+    public void descartar(UUID cargaId) {
+        jdbcTemplate.update(DELETE_SQL, cargaId);
+    }
+
+    private void copyIn(PGConnection connection, UUID cargaId, List<FilaPendiente> filas) throws SQLException, IOException {
+        String carga = cargaId.toString();
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new PGCopyOutputStream(connection, COPY_SQL), StandardCharsets.UTF_8))) {
+            for (FilaPendiente fila : filas) {
+                Pedido pedido = fila.pedido();
+                writer.write(carga);
+                writer.write(',');
+                writer.write(Integer.toString(fila.numeroLinea()));
+                writer.write(',');
+                writer.write(pedido.getId().toString());
+                writer.write(',');
+                writeNullable(writer, pedido.getNumeroPedido());
+                writer.write(',');
+                writeNullable(writer, pedido.getClienteId());
+                writer.write(',');
+                writeNullable(writer, pedido.getZonaId());
+                writer.write(',');
+                if (pedido.getFechaEntrega() != null) {
+                    writer.write(pedido.getFechaEntrega().toString());
+                }
+                writer.write(',');
+                if (pedido.getEstado() != null) {
+                    writer.write(pedido.getEstado().name());
+                }
+                writer.write(',');
+                writer.write(pedido.isRequiereRefrigeracion() ? "true" : "false");
+                writer.write('\n');
+            }
+        }
+    }
+
+    // En COPY csv un campo vacío sin comillas es NULL; la cadena vacía se escribe entre comillas
+    private static void writeNullable(Writer writer, String value) throws IOException {
+        if (value != null) {
+            PedidoBulkInsertWriter.writeCsvValue(writer, value);
+        }
+    }
+
+    /**
+     * Código y mensaje de cada regla, iguales a los de PedidoDomainService y CargarPedidosService.
+     */
+    enum Regla {
+        NUMERO_OBLIGATORIO("NUMERO_PEDIDO_INVALIDO", "numeroPedido es obligatorio"),
+        NUMERO_FORMATO("NUMERO_PEDIDO_INVALIDO", "numeroPedido debe ser alfanumérico (A-Z, a-z, 0-9) sin espacios ni símbolos"),
+        ESTADO_OBLIGATORIO("ESTADO_INVALIDO", "estado es obligatorio y debe ser PENDIENTE|CONFIRMADO|ENTREGADO"),
+        FECHA_OBLIGATORIA("FECHA_INVALIDA", "fechaEntrega es obligatoria"),
+        FECHA_ANTERIOR("FECHA_INVALIDA", "fechaEntrega no puede ser anterior a la fecha actual (America/Lima)"),
+        CLIENTE_NO_EXISTE("CLIENTE_NO_EXISTE", "El cliente no existe"),
+        CLIENTE_INACTIVO("CLIENTE_INACTIVO", "El cliente no está activo"),
+        ZONA_NO_EXISTE("ZONA_NO_EXISTE", "La zona no existe"),
+        ZONA_NO_PERMITE_REFRIGERACION("ZONA_NO_PERMITE_REFRIGERACION", "Esta zona no admite pedidos con refrigeración"),
+        DUPLICADO_EN_ARCHIVO("DUPLICADO_EN_ARCHIVO", "Numero de pedido duplicado en el archivo: "),
+        DUPLICADO("DUPLICADO", "Numero de pedido ya existe en la base de datos: ");
+
+        private final String codigo;
+        private final String mensaje;
+
+        Regla(String codigo, String mensaje) {
+            this.codigo = codigo;
+            this.mensaje = mensaje;
+        }
+
+        ErrorProcesamiento error(int linea, String numeroPedido) {
+            boolean conNumero = this == DUPLICADO || this == DUPLICADO_EN_ARCHIVO;
+            return new ErrorProcesamiento(linea, conNumero ? mensaje + numeroPedido : mensaje, codigo);
+        }
+    }
+}
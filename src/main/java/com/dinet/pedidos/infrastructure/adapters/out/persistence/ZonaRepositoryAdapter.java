@@ -5,6 +5,7 @@ import com.dinet.pedidos.domain.ports.ZonaRepositoryPort;
 import com.dinet.pedidos.infrastructure.entities.ZonaEntity;
 import com.dinet.pedidos.infrastructure.repositories.ZonaJpaRepository;
 import org.springframework.stereotype.Component;
+import java.util.List;
 import java.util.Optional;
 
 @Component
@@ -22,6 +23,13 @@ public class ZonaRepositoryAdapter implements ZonaRepositoryPort {
                 .map(this::toDomain);
     }
 
+    @Override
+    public List<Zona> findAll() {
+        return zonaJpaRepository.findAll().stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
     public Zona toDomain(ZonaEntity entity) {
         return new Zona(entity.getId(), entity.isSoporteRefrigeracion());
     }
@@ -0,0 +1,57 @@
+package com.dinet.pedidos.infrastructure.config;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Map;
+
+@Configuration
+public class CargaAsyncConfig {
+
+    /**
+     * Pool acotado para las cargas asíncronas: con todos los hilos ocupados y la cola llena
+     * se rechaza la carga (503) en lugar de acumular archivos sin límite.
+     * Con {@code spring.threads.virtual.enabled} (Java 21+) los hilos del pool son virtuales: un hilo esperando
+     * su turno en {@code AdmisionCargas} o bloqueado en JDBC no ocupa un hilo de plataforma, así que
+     * {@code app.carga-async.pool-size} puede subirse muy por encima del pool de conexiones.
+     */
+    @Bean(name = "cargaPedidosExecutor")
+    public ThreadPoolTaskExecutor cargaPedidosExecutor(
+            @Value("${app.carga-async.pool-size:2}") int poolSize,
+            @Value("${app.carga-async.queue-capacity:20}") int queueCapacity,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("carga-pedidos-");
+        executor.setTaskDecorator(copiarMdc());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+
+    // Propaga el correlationId de la petición al hilo que procesa la carga
+    private TaskDecorator copiarMdc() {
+        return runnable -> {
+            Map<String, String> contexto = MDC.getCopyOfContextMap();
+            return () -> {
+                if (contexto != null) {
+                    MDC.setContextMap(contexto);
+                }
+                try {
+                    runnable.run();
+                } finally {
+                    MDC.clear();
+                }
+            };
+        };
+    }
+}
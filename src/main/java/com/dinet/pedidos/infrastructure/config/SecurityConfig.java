@@ -35,6 +35,13 @@ public class SecurityConfig {
             "/swagger-ui/oauth2-redirect.html"
     };
 
+    // Health y scrape de Prometheus sin token; el resto de endpoints de actuator no se exponen
+    private static final String[] ACTUATOR_WHITELIST = new String[] {
+            "/actuator/health",
+            "/actuator/health/**",
+            "/actuator/prometheus"
+    };
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -42,6 +49,7 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers(SWAGGER_WHITELIST).permitAll()
+                        .requestMatchers(ACTUATOR_WHITELIST).permitAll()
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
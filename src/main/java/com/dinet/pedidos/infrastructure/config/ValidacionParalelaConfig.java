@@ -0,0 +1,27 @@
+package com.dinet.pedidos.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+@Configuration
+public class ValidacionParalelaConfig {
+
+    /**
+     * Pool fork/join propio para la validación en paralelo de las filas ({@code app.validacion.paralela.enabled}):
+     * no compite con el pool común de la JVM. Sin {@code app.validacion.paralela.hilos} usa un hilo por procesador.
+     * Los hilos se crean a demanda, así que con la validación secuencial el pool no consume recursos.
+     */
+    @Bean(name = "validacionPedidosPool", destroyMethod = "shutdown")
+    public ForkJoinPool validacionPedidosPool(@Value("${app.validacion.paralela.hilos:0}") int hilos) {
+        int paralelismo = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(paralelismo, pool -> {
+            ForkJoinWorkerThread hilo = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            hilo.setName("validacion-pedidos-" + hilo.getPoolIndex());
+            return hilo;
+        }, null, false);
+    }
+}
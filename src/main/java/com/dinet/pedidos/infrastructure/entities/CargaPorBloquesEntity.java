@@ -0,0 +1,47 @@
+package com.dinet.pedidos.infrastructure.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "cargas_por_bloques")
+public class CargaPorBloquesEntity {
+    @Id
+    private UUID id;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "archivo_hash", nullable = false)
+    private String archivoHash;
+
+    @Column(name = "estado", nullable = false)
+    private String estado;
+
+    @Column(name = "ultima_linea", nullable = false)
+    private int ultimaLinea;
+
+    @Column(name = "filas_confirmadas", nullable = false)
+    private int filasConfirmadas;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Solo se escribe al insertar: después la reclaman y liberan sentencias condicionales del adaptador
+    @Column(name = "ejecucion_id", updatable = false)
+    private UUID ejecucionId;
+
+}
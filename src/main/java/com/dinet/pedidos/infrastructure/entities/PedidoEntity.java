@@ -1,22 +1,27 @@
 package com.dinet.pedidos.infrastructure.entities;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+/**
+ * El id (UUID) lo asigna el dominio, así que Spring Data no puede deducir por el id si la entidad es nueva
+ * y haría un merge (SELECT + INSERT por fila). Con {@link Persistable} toda instancia creada en la
+ * aplicación se trata como nueva y se inserta con persist; al cargarse o persistirse deja de serlo.
+ */
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 @Entity
 @Table(name = "pedidos")
-public class PedidoEntity {
+public class PedidoEntity implements Persistable<UUID> {
     @Id
     private UUID id;
 
@@ -44,4 +49,33 @@ public class PedidoEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean nuevo = true;
+
+    public PedidoEntity(UUID id, String numeroPedido, String clienteId, String zonaId, LocalDate fechaEntrega,
+                        String estado, boolean requiereRefrigeracion, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.numeroPedido = numeroPedido;
+        this.clienteId = clienteId;
+        this.zonaId = zonaId;
+        this.fechaEntrega = fechaEntrega;
+        this.estado = estado;
+        this.requiereRefrigeracion = requiereRefrigeracion;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nuevo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarNoNuevo() {
+        this.nuevo = false;
+    }
+
 }
\ No newline at end of file
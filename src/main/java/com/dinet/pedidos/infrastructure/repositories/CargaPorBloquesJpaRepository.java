@@ -0,0 +1,14 @@
+package com.dinet.pedidos.infrastructure.repositories;
+
+import com.dinet.pedidos.infrastructure.entities.CargaPorBloquesEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CargaPorBloquesJpaRepository extends JpaRepository<CargaPorBloquesEntity, UUID> {
+    Optional<CargaPorBloquesEntity> findByIdempotencyKeyAndArchivoHash(String idempotencyKey, String archivoHash);
+
+    List<CargaPorBloquesEntity> findByEstadoAndUpdatedAtBefore(String estado, LocalDateTime limite);
+}
@@ -2,9 +2,16 @@ package com.dinet.pedidos.infrastructure.repositories;
 
 import com.dinet.pedidos.infrastructure.entities.PedidoEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PedidoJpaRepository extends JpaRepository<PedidoEntity, UUID> {
     boolean existsByNumeroPedido(String numeroPedido);
+
+    @Query("select p.numeroPedido from PedidoEntity p where p.numeroPedido in :numeros")
+    List<String> findExistingNumeros(@Param("numeros") Collection<String> numeros);
 }
\ No newline at end of file
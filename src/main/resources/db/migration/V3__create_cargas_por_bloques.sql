@@ -0,0 +1,14 @@
+-- V3__create_cargas_por_bloques.sql
+-- Estado de las cargas confirmadas por bloques: hasta qué línea del archivo hay filas ya confirmadas,
+-- para revertirlas si el archivo termina con errores o reanudar la carga tras una caída.
+CREATE TABLE IF NOT EXISTS cargas_por_bloques (
+                                                  id uuid PRIMARY KEY DEFAULT gen_random_uuid(),
+    idempotency_key varchar NOT NULL,
+    archivo_hash varchar NOT NULL,
+    estado varchar NOT NULL CHECK (estado IN ('EN_PROCESO','COMPLETADA','REVERTIDA')),
+    ultima_linea integer NOT NULL DEFAULT 0,
+    filas_confirmadas integer NOT NULL DEFAULT 0,
+    created_at timestamp with time zone DEFAULT now(),
+    updated_at timestamp with time zone DEFAULT now(),
+    UNIQUE (idempotency_key, archivo_hash)
+    );
@@ -0,0 +1,16 @@
+-- V4__create_pedidos_staging.sql
+-- Staging de la validación por conjuntos (app.validacion.motor=sql). UNLOGGED: no escribe WAL;
+-- las filas solo viven durante la transacción de la carga y se borran al terminarla.
+
+CREATE UNLOGGED TABLE IF NOT EXISTS pedidos_staging (
+    carga_id uuid NOT NULL,
+    linea integer NOT NULL,
+    id uuid NOT NULL,
+    numero_pedido varchar,
+    cliente_id varchar,
+    zona_id varchar,
+    fecha_entrega date,
+    estado varchar,
+    requiere_refrigeracion boolean NOT NULL,
+    PRIMARY KEY (carga_id, linea)
+);
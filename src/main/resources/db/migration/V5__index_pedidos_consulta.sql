@@ -0,0 +1,16 @@
+-- V5__index_pedidos_consulta.sql
+-- Índices de la consulta GET /pedidos, paginada por clave (fecha_entrega, id): agregar id al final permite
+-- recorrer el índice en el orden de la página y continuar después del último pedido sin OFFSET.
+-- Con estado: rango sobre idx_pedidos_estado_fecha_id. Sin estado: rango sobre idx_pedidos_fecha_id.
+--
+-- pedidos ya tiene datos y recibe cargas: los índices se construyen con CONCURRENTLY, sin bloquear escrituras,
+-- y el de V1 (estado, fecha_entrega) se elimina solo cuando su reemplazo ya existe. CONCURRENTLY no se admite
+-- dentro de una transacción, por eso V5__index_pedidos_consulta.sql.conf desactiva la transacción de Flyway.
+-- Si la migración se interrumpe puede quedar un índice INVALID a medias: se elimina antes de volver a crearlo.
+DROP INDEX CONCURRENTLY IF EXISTS idx_pedidos_estado_fecha_id;
+CREATE INDEX CONCURRENTLY idx_pedidos_estado_fecha_id ON pedidos (estado, fecha_entrega, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_pedidos_fecha_id;
+CREATE INDEX CONCURRENTLY idx_pedidos_fecha_id ON pedidos (fecha_entrega, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_pedidos_estado_fecha;
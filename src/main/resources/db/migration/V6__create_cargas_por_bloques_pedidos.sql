@@ -0,0 +1,11 @@
+-- V6__create_cargas_por_bloques_pedidos.sql
+-- Números de pedido confirmados por cada carga por bloques, guardados en la misma transacción que el bloque:
+-- permiten revertir una carga sin su archivo (por ejemplo, una abandonada en EN_PROCESO tras una caída).
+-- Se borran al completar o revertir la carga.
+CREATE TABLE IF NOT EXISTS cargas_por_bloques_pedidos (
+    carga_id uuid NOT NULL REFERENCES cargas_por_bloques (id) ON DELETE CASCADE,
+    numero_pedido varchar NOT NULL,
+    PRIMARY KEY (carga_id, numero_pedido)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_cargas_por_bloques_estado_updated ON cargas_por_bloques (estado, updated_at);
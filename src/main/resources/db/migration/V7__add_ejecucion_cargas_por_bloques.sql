@@ -0,0 +1,5 @@
+-- V7__add_ejecucion_cargas_por_bloques.sql
+-- Ejecución (petición) que está procesando la carga: solo esa ejecución confirma bloques, revierte o completa.
+-- Una segunda petición con la misma clave y archivo no la reanuda mientras la primera siga avanzando.
+-- NULL cuando ninguna ejecución la tiene (interrumpida, revertida o creada antes de esta migración).
+ALTER TABLE cargas_por_bloques ADD COLUMN IF NOT EXISTS ejecucion_id uuid;
@@ -0,0 +1,30 @@
+package com.dinet.pedidos.application.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CargaJobTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    @DisplayName("No debería serializar la clave de idempotencia")
+    void shouldNotSerializeIdempotencyKey() {
+        UUID id = UUID.randomUUID();
+        CargaJob carga = new CargaJob(id, "clave-del-cliente");
+
+        JsonNode json = objectMapper.valueToTree(carga);
+
+        assertEquals(id.toString(), json.get("id").asText());
+        assertEquals("EN_COLA", json.get("estado").asText());
+        assertFalse(json.has("idempotencyKey"));
+        assertFalse(json.toString().contains("clave-del-cliente"));
+        assertEquals("clave-del-cliente", carga.getIdempotencyKey());
+    }
+}
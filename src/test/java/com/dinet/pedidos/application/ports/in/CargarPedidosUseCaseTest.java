@@ -4,6 +4,8 @@ import com.dinet.pedidos.application.model.CargaPedidosResult;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 class CargarPedidosUseCaseTest {
@@ -16,6 +18,11 @@ class CargarPedidosUseCaseTest {
             public CargaPedidosResult cargarPedidos(MultipartFile file, String idempotencyKey) {
                 return new CargaPedidosResult();
             }
+
+            @Override
+            public CargaPedidosResult cargarPedidosDesdeCuerpo(InputStream cuerpo, String idempotencyKey) {
+                return new CargaPedidosResult();
+            }
         };
 
         assertNotNull(useCase);
@@ -0,0 +1,151 @@
+package com.dinet.pedidos.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmisionCargasTest {
+
+    @Test
+    void ejecutar_ShouldNeverRunMoreThanMaxConcurrentLoads() throws Exception {
+        // Arrange
+        AdmisionCargas admision = new AdmisionCargas(3, 1, Duration.ofSeconds(10));
+        AtomicInteger enCurso = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        ExecutorService clientes = Executors.newFixedThreadPool(20);
+
+        // Act
+        List<Future<Integer>> resultados = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            int carga = i;
+            resultados.add(clientes.submit(() -> admision.ejecutar(() -> {
+                maximo.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+                dormir(5);
+                enCurso.decrementAndGet();
+                return carga;
+            })));
+        }
+        for (Future<Integer> resultado : resultados) {
+            resultado.get(10, TimeUnit.SECONDS);
+        }
+        clientes.shutdown();
+
+        // Assert
+        assertThat(maximo.get()).isEqualTo(3);
+        assertThat(admision.getDisponibles()).isEqualTo(3);
+    }
+
+    @Test
+    void ejecutar_WhenNoPermitWithinWait_ShouldRejectLoad() throws Exception {
+        // Arrange
+        AdmisionCargas admision = new AdmisionCargas(1, 1, Duration.ofMillis(50));
+        CountDownLatch ocupada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Thread otraCarga = new Thread(() -> admision.ejecutar(() -> {
+            ocupada.countDown();
+            esperar(liberar);
+            return null;
+        }));
+        otraCarga.start();
+        ocupada.await();
+
+        // Act & Assert
+        assertThatThrownBy(() -> admision.ejecutar(() -> "no debería ejecutarse"))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        liberar.countDown();
+        otraCarga.join();
+        assertThat(admision.ejecutar(() -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void ejecutar_WhenLoadFails_ShouldReleasePermit() {
+        // Arrange
+        AdmisionCargas admision = new AdmisionCargas(1, 1, Duration.ofMillis(50));
+
+        // Act
+        assertThatThrownBy(() -> admision.ejecutar(() -> {
+            throw new IllegalStateException("fallo");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Assert
+        assertThat(admision.getDisponibles()).isEqualTo(1);
+    }
+
+    @Test
+    void ejecutarEnSegundoPlano_ShouldWaitForPermitWithoutTimeout() throws Exception {
+        // Arrange
+        AdmisionCargas admision = new AdmisionCargas(1, 1, Duration.ofMillis(1));
+        CountDownLatch ocupada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Thread otraCarga = new Thread(() -> admision.ejecutar(() -> {
+            ocupada.countDown();
+            esperar(liberar);
+            return null;
+        }));
+        otraCarga.start();
+        ocupada.await();
+        ExecutorService fondo = Executors.newSingleThreadExecutor();
+
+        // Act
+        Future<String> resultado = fondo.submit(() -> admision.ejecutarEnSegundoPlano(() -> "procesada"));
+        dormir(50);
+        assertThat(resultado.isDone()).isFalse();
+        assertThat(admision.getEnEspera()).isEqualTo(1);
+        liberar.countDown();
+
+        // Assert
+        assertThat(resultado.get(5, TimeUnit.SECONDS)).isEqualTo("procesada");
+        otraCarga.join();
+        fondo.shutdown();
+    }
+
+    @Test
+    void reservarExportacion_ShouldShareBudgetWithLoadsAndReleaseOnce() {
+        // Arrange
+        AdmisionCargas admision = new AdmisionCargas(1, 2, Duration.ofMillis(50));
+
+        // Act
+        AdmisionCargas.Turno turno = admision.reservarExportacion();
+
+        // Assert
+        assertThat(admision.getDisponibles()).isZero();
+        assertThatThrownBy(() -> admision.ejecutar(() -> "no debería ejecutarse"))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThatThrownBy(admision::reservarExportacion).isInstanceOf(RejectedExecutionException.class);
+        assertThat(admision.getExportacionesDisponibles()).isEqualTo(1);
+
+        turno.close();
+        turno.close();
+        assertThat(admision.getDisponibles()).isEqualTo(1);
+        assertThat(admision.getExportacionesDisponibles()).isEqualTo(2);
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
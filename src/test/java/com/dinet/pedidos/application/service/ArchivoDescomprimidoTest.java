@@ -0,0 +1,106 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.ArchivoDemasiadoGrandeException;
+import com.dinet.pedidos.application.exception.CompresionNoSoportadaException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ArchivoDescomprimidoTest {
+
+    private static final byte[] CSV = ("numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n"
+            + "PED001,CLI001,2024-12-31,PENDIENTE,ZONA_NORTE,true\n").getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void getInputStream_WhenPlainFile_ShouldReturnSameBytes() throws Exception {
+        // Arrange
+        ArchivoDescomprimido archivo = new ArchivoDescomprimido(() -> new ByteArrayInputStream(CSV), 1024);
+
+        // Act
+        byte[] leidos = leer(archivo);
+
+        // Assert
+        assertArrayEquals(CSV, leidos);
+    }
+
+    @Test
+    void getInputStream_WhenGzipFile_ShouldDecompress() throws Exception {
+        // Arrange
+        byte[] gzip = gzip(CSV);
+        ArchivoDescomprimido archivo = new ArchivoDescomprimido(() -> new ByteArrayInputStream(gzip), 1024);
+
+        // Act
+        byte[] leidos = leer(archivo);
+
+        // Assert
+        assertArrayEquals(CSV, leidos);
+    }
+
+    @Test
+    void getInputStream_WhenDecompressedSizeExceedsLimit_ShouldReject() throws Exception {
+        // Arrange: 10 MB de ceros se comprimen a unos pocos KB
+        byte[] bomba = gzip(new byte[10 * 1024 * 1024]);
+        ArchivoDescomprimido archivo = new ArchivoDescomprimido(() -> new ByteArrayInputStream(bomba), 1024 * 1024);
+
+        // Act & Assert
+        assertThrows(ArchivoDemasiadoGrandeException.class, () -> leer(archivo));
+    }
+
+    @Test
+    void getInputStream_WhenPlainFileLargerThanLimit_ShouldNotApplyLimit() throws Exception {
+        // Arrange: el límite es solo para lo descomprimido; el tamaño recibido ya lo limita multipart
+        ArchivoDescomprimido archivo = new ArchivoDescomprimido(() -> new ByteArrayInputStream(CSV), 10);
+
+        // Act
+        byte[] leidos = leer(archivo);
+
+        // Assert
+        assertEquals(CSV.length, leidos.length);
+    }
+
+    @Test
+    void getInputStream_WhenZstdFile_ShouldRejectCompression() {
+        // Arrange
+        byte[] zstd = {(byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd, 0x00, 0x58};
+        ArchivoDescomprimido archivo = new ArchivoDescomprimido(() -> new ByteArrayInputStream(zstd), 1024);
+
+        // Act & Assert
+        assertThrows(CompresionNoSoportadaException.class, archivo::getInputStream);
+    }
+
+    @Test
+    void getInputStream_WhenFileShorterThanMagicBytes_ShouldReturnSameBytes() throws Exception {
+        // Arrange
+        byte[] corto = {0x1f};
+        ArchivoDescomprimido archivo = new ArchivoDescomprimido(() -> new ByteArrayInputStream(corto), 1024);
+
+        // Act
+        byte[] leidos = leer(archivo);
+
+        // Assert
+        assertArrayEquals(corto, leidos);
+    }
+
+    private static byte[] leer(ArchivoDescomprimido archivo) throws IOException {
+        try (InputStream in = archivo.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    static byte[] gzip(byte[] contenido) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(contenido);
+        }
+        return salida.toByteArray();
+    }
+}
@@ -0,0 +1,119 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.CabeceraCsvInvalidaException;
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BytesPedidoCsvReaderTest {
+
+    private static final String HEADER = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion";
+
+    @Test
+    void siguiente_WithSimpleRows_ShouldParseFieldsFromBytes() throws IOException {
+        try (BytesPedidoCsvReader lector = lector(HEADER + "\nP001,CLI-123,2025-11-23,PENDIENTE,ZONA1,true\n")) {
+            assertTrue(lector.siguiente());
+            Pedido pedido = lector.pedido();
+
+            assertEquals("P001", pedido.getNumeroPedido());
+            assertEquals("CLI-123", pedido.getClienteId());
+            assertEquals(LocalDate.of(2025, 11, 23), pedido.getFechaEntrega());
+            assertEquals(EstadoPedido.PENDIENTE, pedido.getEstado());
+            assertEquals("ZONA1", pedido.getZonaId());
+            assertTrue(pedido.isRequiereRefrigeracion());
+            assertFalse(lector.siguiente());
+        }
+    }
+
+    @Test
+    void siguiente_ShouldMatchCommonsCsvOnMixedInput() throws IOException {
+        String csv = "\uFEFF" + HEADER + "\r\n"
+                + "P001,CLI-123,2025-11-23,pendiente ,ZONA1,TRUE\r\n"
+                + "\r\n"
+                + "P002,CLI-999,2025-12-23,ENTREGADO,ZONA5,false\r"
+                + "\"P,003\",CLI-456,2025-12-24,CONFIRMADO,\"ZONA\nNUEVA\",yes\n"
+                + "P004,\"CLI \"\"789\"\"\",2025-12-25,ENTREGADO,ZONA9,true\n"
+                + "P005,CLI-001,2025-12-26,ENTREGADO,ZONA1,tRuE";
+
+        assertEquals(leerTodo(new CommonsCsvPedidoReader(stream(csv))), leerTodo(lector(csv)));
+    }
+
+    @Test
+    void siguiente_AcrossBufferBoundaries_ShouldMatchCommonsCsv() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        for (int i = 0; i < 20_000; i++) {
+            csv.append("PED").append(i).append(",CLI-123,2025-11-23,PENDIENTE,ZONA").append(i % 10).append(",false\n");
+        }
+        // Una fila más larga que el buffer inicial
+        csv.append("P".repeat(100_000)).append(",CLI-123,2025-11-23,PENDIENTE,ZONA1,true\n");
+
+        List<String> esperadas = leerTodo(new CommonsCsvPedidoReader(stream(csv.toString())));
+        List<String> obtenidas = leerTodo(lector(csv.toString()));
+
+        assertEquals(20_001, obtenidas.size());
+        assertEquals(esperadas, obtenidas);
+    }
+
+    @Test
+    void pedido_WithInvalidValues_ShouldThrowSameErrorsAsCommonsCsv() throws IOException {
+        String csv = HEADER + "\n"
+                + "P001,CLI-123,2025-13-01,PENDIENTE,ZONA1,true\n"
+                + "P002,CLI-123,23/11/2025,PENDIENTE,ZONA1,true\n"
+                + "P003,CLI-123,2025-11-23,CANCELADO,ZONA1,true\n"
+                + "P004,CLI-123\n";
+
+        assertEquals(leerTodo(new CommonsCsvPedidoReader(stream(csv))), leerTodo(lector(csv)));
+    }
+
+    @Test
+    void constructor_WithUnmappableHeader_ShouldThrowCabeceraInvalida() {
+        assertThrows(CabeceraCsvInvalidaException.class, () -> lector("numeroPedido,clienteId\nP001,CLI-123\n"));
+    }
+
+    @Test
+    void siguiente_WithEmptyFile_ShouldReturnFalse() throws IOException {
+        try (BytesPedidoCsvReader lector = lector("")) {
+            assertFalse(lector.siguiente());
+        }
+    }
+
+    private static BytesPedidoCsvReader lector(String csv) throws IOException {
+        return new BytesPedidoCsvReader(stream(csv));
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Representación comparable de cada fila: el pedido (sin el id aleatorio) o el mensaje de error.
+     */
+    private static List<String> leerTodo(PedidoCsvReader lector) throws IOException {
+        List<String> filas = new ArrayList<>();
+        try (lector) {
+            while (lector.siguiente()) {
+                try {
+                    Pedido p = lector.pedido();
+                    filas.add(String.join("|", p.getNumeroPedido(), p.getClienteId(), p.getZonaId(),
+                            p.getFechaEntrega().toString(), p.getEstado().name(),
+                            String.valueOf(p.isRequiereRefrigeracion())));
+                } catch (IllegalArgumentException e) {
+                    filas.add("ERROR " + e.getMessage());
+                }
+            }
+        }
+        return filas;
+    }
+}
@@ -0,0 +1,233 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.CargaInterrumpidaException;
+import com.dinet.pedidos.application.exception.CargaNoEncontradaException;
+import com.dinet.pedidos.application.exception.DuplicateLoadException;
+import com.dinet.pedidos.application.model.CargaJob;
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.model.CargaProgresoListener;
+import com.dinet.pedidos.application.model.EstadoCarga;
+import com.dinet.pedidos.application.model.ProgresoCarga;
+import com.dinet.pedidos.application.ports.out.CargaEventosPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CargaAsincronaServiceTest {
+
+    private static final String IDEMPOTENCY_KEY = "test-key-123";
+
+    @Mock
+    private CargarPedidosService cargarPedidosService;
+
+    @Mock
+    private CargaPorBloquesService cargaPorBloquesService;
+
+    @Mock
+    private CargaEventosPort cargaEventos;
+
+    @TempDir
+    Path spoolDir;
+
+    private final MockMultipartFile file = new MockMultipartFile("file", "pedidos.csv", "text/csv",
+            "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n".getBytes());
+
+    private CargaAsincronaService service(Executor executor) {
+        CargaAsincronaService service = new CargaAsincronaService(cargarPedidosService, cargaPorBloquesService,
+                new AdmisionCargas(2, 1, Duration.ofSeconds(1)), executor, cargaEventos);
+        ReflectionTestUtils.setField(service, "spoolDir", spoolDir.toString());
+        ReflectionTestUtils.setField(service, "retencion", Duration.ofHours(1));
+        return service;
+    }
+
+    @Test
+    void iniciarCarga_ShouldProcessSpooledFileAndStoreResult() throws Exception {
+        // Arrange
+        CargaPedidosResult result = new CargaPedidosResult();
+        result.setTotalProcesados(10);
+        result.setGuardados(10);
+        when(cargarPedidosService.procesarCarga(any(InputStreamSource.class), eq(IDEMPOTENCY_KEY), any(CargaProgresoListener.class)))
+                .thenAnswer(invocation -> {
+                    InputStreamSource archivo = invocation.getArgument(0);
+                    assertThat(archivo.getInputStream().readAllBytes()).isEqualTo(file.getBytes());
+                    CargaProgresoListener listener = invocation.getArgument(2);
+                    listener.onProgreso(new ProgresoCarga(10, 10, 0, 1, 10, 1000, true));
+                    return result;
+                });
+        CargaAsincronaService service = service(Runnable::run);
+
+        // Act
+        CargaJob carga = service.iniciarCarga(file, IDEMPOTENCY_KEY);
+
+        // Assert
+        CargaJob consultada = service.consultarCarga(carga.getId());
+        assertThat(consultada.getEstado()).isEqualTo(EstadoCarga.COMPLETADA);
+        assertThat(consultada.getResultado()).isSameAs(result);
+        assertThat(consultada.getProgreso().getFilasLeidas()).isEqualTo(10);
+        verify(cargaEventos).publicarProgreso(eq(carga.getId()), any(ProgresoCarga.class));
+        verify(cargaEventos).publicarFin(carga);
+        try (var archivos = Files.list(spoolDir)) {
+            assertThat(archivos).isEmpty();
+        }
+    }
+
+    @Test
+    void iniciarCarga_WhenChunkedModeAndFileReachesThreshold_ShouldProcessByBlocks() {
+        // Arrange
+        CargaPedidosResult result = new CargaPedidosResult();
+        when(cargaPorBloquesService.procesarCarga(any(InputStreamSource.class), eq(IDEMPOTENCY_KEY), any(CargaProgresoListener.class)))
+                .thenReturn(result);
+        CargaAsincronaService service = service(Runnable::run);
+        ReflectionTestUtils.setField(service, "cargaPorBloques", true);
+        ReflectionTestUtils.setField(service, "umbralPorBloques", DataSize.ofBytes(file.getSize()));
+
+        // Act
+        CargaJob carga = service.iniciarCarga(file, IDEMPOTENCY_KEY);
+
+        // Assert
+        assertThat(carga.getEstado()).isEqualTo(EstadoCarga.COMPLETADA);
+        assertThat(carga.getResultado()).isSameAs(result);
+        verifyNoInteractions(cargarPedidosService);
+    }
+
+    @Test
+    void iniciarCarga_WhenChunkedModeAndFileBelowThreshold_ShouldProcessAllOrNothing() {
+        // Arrange
+        when(cargarPedidosService.procesarCarga(any(InputStreamSource.class), eq(IDEMPOTENCY_KEY), any(CargaProgresoListener.class)))
+                .thenReturn(new CargaPedidosResult());
+        CargaAsincronaService service = service(Runnable::run);
+        ReflectionTestUtils.setField(service, "cargaPorBloques", true);
+        ReflectionTestUtils.setField(service, "umbralPorBloques", DataSize.ofMegabytes(50));
+
+        // Act
+        service.iniciarCarga(file, IDEMPOTENCY_KEY);
+
+        // Assert
+        verifyNoInteractions(cargaPorBloquesService);
+    }
+
+    @Test
+    void iniciarCarga_ShouldReturnQueuedJobBeforeProcessing() {
+        // Arrange: el executor no ejecuta la tarea
+        CargaAsincronaService service = service(tarea -> { });
+
+        // Act
+        CargaJob carga = service.iniciarCarga(file, IDEMPOTENCY_KEY);
+
+        // Assert
+        assertThat(carga.getEstado()).isEqualTo(EstadoCarga.EN_COLA);
+        assertThat(service.consultarCarga(carga.getId())).isSameAs(carga);
+    }
+
+    @Test
+    void iniciarCarga_WhenDuplicateLoad_ShouldMarkJobAsFailed() {
+        // Arrange
+        when(cargarPedidosService.procesarCarga(any(InputStreamSource.class), eq(IDEMPOTENCY_KEY), any(CargaProgresoListener.class)))
+                .thenThrow(new DuplicateLoadException("Carga duplicada"));
+        CargaAsincronaService service = service(Runnable::run);
+
+        // Act
+        CargaJob carga = service.iniciarCarga(file, IDEMPOTENCY_KEY);
+
+        // Assert
+        assertThat(carga.getEstado()).isEqualTo(EstadoCarga.FALLIDA);
+        assertThat(carga.getErrorCode()).isEqualTo("CARGA_DUPLICADA");
+        assertThat(carga.getFinalizadoEn()).isNotNull();
+        verify(cargaEventos).publicarFin(carga);
+    }
+
+    @Test
+    void iniciarCarga_WhenChunkedLoadIsInterrupted_ShouldReportResumableCode() {
+        // Arrange
+        when(cargaPorBloquesService.procesarCarga(any(InputStreamSource.class), eq(IDEMPOTENCY_KEY), any(CargaProgresoListener.class)))
+                .thenThrow(new CargaInterrumpidaException("Carga interrumpida", new IllegalStateException("conexión perdida")));
+        CargaAsincronaService service = service(Runnable::run);
+        ReflectionTestUtils.setField(service, "cargaPorBloques", true);
+        ReflectionTestUtils.setField(service, "umbralPorBloques", DataSize.ofBytes(1));
+
+        // Act
+        CargaJob carga = service.iniciarCarga(file, IDEMPOTENCY_KEY);
+
+        // Assert
+        assertThat(carga.getEstado()).isEqualTo(EstadoCarga.FALLIDA);
+        assertThat(carga.getErrorCode()).isEqualTo("CARGA_INTERRUMPIDA");
+        verify(cargaEventos).publicarFin(carga);
+    }
+
+    @Test
+    void iniciarCarga_WhenPoolIsFull_ShouldRejectAndCleanUp() throws Exception {
+        // Arrange
+        CargaAsincronaService service = service(tarea -> {
+            throw new RejectedExecutionException("cola llena");
+        });
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.iniciarCarga(file, IDEMPOTENCY_KEY))
+                .isInstanceOf(RejectedExecutionException.class);
+        try (var archivos = Files.list(spoolDir)) {
+            assertThat(archivos).isEmpty();
+        }
+    }
+
+    @Test
+    void consultarCarga_WhenUnknownId_ShouldThrowNotFound() {
+        CargaAsincronaService service = service(Runnable::run);
+
+        assertThatThrownBy(() -> service.consultarCarga(UUID.randomUUID()))
+                .isInstanceOf(CargaNoEncontradaException.class);
+    }
+
+    @Test
+    void suscribirEventos_ShouldSubscribeToKnownJob() {
+        // Arrange
+        when(cargarPedidosService.procesarCarga(any(InputStreamSource.class), eq(IDEMPOTENCY_KEY), any(CargaProgresoListener.class)))
+                .thenReturn(new CargaPedidosResult());
+        CargaAsincronaService service = service(Runnable::run);
+        CargaJob carga = service.iniciarCarga(file, IDEMPOTENCY_KEY);
+
+        // Act
+        service.suscribirEventos(carga.getId());
+
+        // Assert
+        verify(cargaEventos).suscribir(carga);
+        assertThatThrownBy(() -> service.suscribirEventos(UUID.randomUUID()))
+                .isInstanceOf(CargaNoEncontradaException.class);
+    }
+
+    @Test
+    void purgarFinalizadas_ShouldKeepRecentJobs() {
+        // Arrange
+        when(cargarPedidosService.procesarCarga(any(InputStreamSource.class), eq(IDEMPOTENCY_KEY), any(CargaProgresoListener.class)))
+                .thenReturn(new CargaPedidosResult());
+        CargaAsincronaService service = service(Runnable::run);
+        CargaJob carga = service.iniciarCarga(file, IDEMPOTENCY_KEY);
+
+        // Act
+        service.purgarFinalizadas();
+
+        // Assert
+        assertThat(service.consultarCarga(carga.getId())).isSameAs(carga);
+    }
+}
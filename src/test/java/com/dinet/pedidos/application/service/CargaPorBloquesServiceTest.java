@@ -0,0 +1,296 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.CargaEnCursoException;
+import com.dinet.pedidos.application.exception.CargaInterrumpidaException;
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.model.CargaProgresoListener;
+import com.dinet.pedidos.application.model.MetricasCarga;
+import com.dinet.pedidos.application.ports.out.CargaMetricasPort;
+import com.dinet.pedidos.domain.exception.PedidoValidationException;
+import com.dinet.pedidos.domain.model.CargaIdempotente;
+import com.dinet.pedidos.domain.model.CargaPorBloques;
+import com.dinet.pedidos.domain.model.EstadoCargaPorBloques;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.ports.CargaIdempotenteRepositoryPort;
+import com.dinet.pedidos.domain.ports.CargaPorBloquesRepositoryPort;
+import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
+import com.dinet.pedidos.domain.service.PedidoDomainService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CargaPorBloquesServiceTest {
+
+    private static final String IDEMPOTENCY_KEY = "test-key-123";
+
+    @Mock
+    private PedidoDomainService pedidoDomainService;
+
+    @Mock
+    private PedidoRepositoryPort pedidoRepository;
+
+    @Mock
+    private CargaIdempotenteRepositoryPort cargaIdempotenteRepository;
+
+    @Mock
+    private CargaPorBloquesRepositoryPort cargaPorBloquesRepository;
+
+    @Mock
+    private CargaMetricasPort cargaMetricas;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private CargaPorBloquesService cargaPorBloquesService;
+
+    @Captor
+    private ArgumentCaptor<MetricasCarga> metricasCaptor;
+
+    // Última línea confirmada en cada llamada a confirmarBloque (la carga es el mismo objeto mutable)
+    private final List<Integer> lineasConfirmadas = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cargaPorBloquesService, "batchSize", 500);
+        ReflectionTestUtils.setField(cargaPorBloquesService, "filasPorBloque", 500);
+        ReflectionTestUtils.setField(cargaPorBloquesService, "lectorCsv", "commons");
+        ReflectionTestUtils.setField(cargaPorBloquesService, "progresoIntervaloMs", 500L);
+    }
+
+    @Test
+    void procesarCarga_WhenAllRowsValid_ShouldCommitEachBlockAndComplete() {
+        // Arrange
+        InputStreamSource archivo = archivo(1200);
+        stubNuevaCarga();
+        when(cargaPorBloquesRepository.completar(any(CargaPorBloques.class), any(CargaIdempotente.class))).thenReturn(true);
+
+        // Act
+        CargaPedidosResult result = cargaPorBloquesService.procesarCarga(archivo, IDEMPOTENCY_KEY, CargaProgresoListener.NINGUNO);
+
+        // Assert
+        assertEquals(1200, result.getTotalProcesados());
+        assertEquals(1200, result.getGuardados());
+        assertTrue(result.getErrores().isEmpty());
+        assertEquals(List.of(501, 1001, 1201), lineasConfirmadas);
+
+        ArgumentCaptor<CargaIdempotente> idempotencia = ArgumentCaptor.forClass(CargaIdempotente.class);
+        ArgumentCaptor<CargaPorBloques> carga = ArgumentCaptor.forClass(CargaPorBloques.class);
+        verify(cargaPorBloquesRepository).completar(carga.capture(), idempotencia.capture());
+        assertEquals(1200, carga.getValue().getFilasConfirmadas());
+        assertNotNull(carga.getValue().getEjecucionId());
+        verify(cargaPorBloquesRepository).registrar(same(carga.getValue()));
+        assertEquals(IDEMPOTENCY_KEY, idempotencia.getValue().getIdempotencyKey());
+        assertNotNull(idempotencia.getValue().getResultadoJson());
+        verify(cargaPorBloquesRepository, never()).revertir(any());
+
+        verify(cargaMetricas).registrarCarga(metricasCaptor.capture());
+        assertEquals(MetricasCarga.RESULTADO_OK, metricasCaptor.getValue().getResultado());
+    }
+
+    @Test
+    void procesarCarga_WhenErrorAfterFirstBlock_ShouldDeleteCommittedRowsAndMarkReverted() {
+        // Arrange
+        InputStreamSource archivo = archivo(1200);
+        stubNuevaCarga();
+        doAnswer(invocation -> {
+            Pedido pedido = invocation.getArgument(0);
+            if (pedido.getNumeroPedido().equals("PED00700")) {
+                throw new PedidoValidationException("CLIENTE_NO_EXISTE", "El cliente no existe");
+            }
+            return null;
+        }).when(pedidoDomainService).validarPedido(any(Pedido.class));
+        when(cargaPorBloquesRepository.revertir(any(CargaPorBloques.class))).thenReturn(OptionalInt.of(500));
+
+        // Act
+        CargaPedidosResult result = cargaPorBloquesService.procesarCarga(archivo, IDEMPOTENCY_KEY, CargaProgresoListener.NINGUNO);
+
+        // Assert
+        assertEquals(0, result.getGuardados());
+        assertEquals(1, result.getConError());
+        assertEquals(701, result.getErrores().get(0).getNumeroLinea());
+        assertEquals(List.of(501), lineasConfirmadas);
+
+        ArgumentCaptor<CargaPorBloques> revertida = ArgumentCaptor.forClass(CargaPorBloques.class);
+        verify(cargaPorBloquesRepository).revertir(revertida.capture());
+        assertEquals(IDEMPOTENCY_KEY, revertida.getValue().getIdempotencyKey());
+        assertEquals(500, revertida.getValue().getFilasConfirmadas());
+        verify(cargaPorBloquesRepository, never()).completar(any(), any());
+    }
+
+    @Test
+    void procesarCarga_WhenPreviousRunWasInterrupted_ShouldResumeAfterLastCommittedLine() {
+        // Arrange
+        InputStreamSource archivo = archivo(1200);
+        CargaPorBloques interrumpida = new CargaPorBloques(UUID.randomUUID(), IDEMPOTENCY_KEY, "hash",
+                EstadoCargaPorBloques.EN_PROCESO, 501, 500, null, null, null);
+        when(cargaPorBloquesRepository.findByIdempotencyKeyAndHash(eq(IDEMPOTENCY_KEY), anyString()))
+                .thenReturn(Optional.of(interrumpida));
+        when(cargaPorBloquesRepository.reclamar(same(interrumpida), any(LocalDateTime.class))).thenReturn(true);
+        when(cargaPorBloquesRepository.completar(same(interrumpida), any(CargaIdempotente.class))).thenReturn(true);
+        when(pedidoRepository.findExistingNumeros(anyCollection())).thenReturn(Collections.emptySet());
+        registrarLineasConfirmadas();
+
+        // Act
+        CargaPedidosResult result = cargaPorBloquesService.procesarCarga(archivo, IDEMPOTENCY_KEY, CargaProgresoListener.NINGUNO);
+
+        // Assert: solo se validan y confirman las filas posteriores a la línea 501
+        assertEquals(1200, result.getTotalProcesados());
+        assertEquals(1200, result.getGuardados());
+        verify(pedidoDomainService, times(700)).validarPedido(any(Pedido.class));
+        assertEquals(List.of(1001, 1201), lineasConfirmadas);
+        verify(cargaPorBloquesRepository).completar(same(interrumpida), any(CargaIdempotente.class));
+        // Al reanudar la reclama (lo que también renueva updated_at) con una ejecución nueva
+        assertNotNull(interrumpida.getEjecucionId());
+        verify(cargaPorBloquesRepository, never()).save(any(CargaPorBloques.class));
+    }
+
+    @Test
+    void procesarCarga_WhenAnotherRunIsProcessingSameLoad_ShouldRejectWithoutResuming() {
+        // Arrange
+        InputStreamSource archivo = archivo(1200);
+        UUID otraEjecucion = UUID.randomUUID();
+        CargaPorBloques enCurso = new CargaPorBloques(UUID.randomUUID(), IDEMPOTENCY_KEY, "hash",
+                EstadoCargaPorBloques.EN_PROCESO, 501, 500, null, LocalDateTime.now(), otraEjecucion);
+        when(cargaPorBloquesRepository.findByIdempotencyKeyAndHash(eq(IDEMPOTENCY_KEY), anyString()))
+                .thenReturn(Optional.of(enCurso));
+        when(cargaPorBloquesRepository.reclamar(same(enCurso), any(LocalDateTime.class))).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(CargaEnCursoException.class,
+                () -> cargaPorBloquesService.procesarCarga(archivo, IDEMPOTENCY_KEY, CargaProgresoListener.NINGUNO));
+
+        verifyNoInteractions(pedidoDomainService, pedidoRepository);
+        verify(cargaPorBloquesRepository, never()).confirmarBloque(any(), anyList());
+        verify(cargaPorBloquesRepository, never()).revertir(any());
+        verify(cargaPorBloquesRepository, never()).liberar(any());
+    }
+
+    @Test
+    void procesarCarga_WhenLoadIsClaimedByAnotherRunMidway_ShouldStopWithoutRevertingItsBlocks() {
+        // Arrange
+        InputStreamSource archivo = archivo(1200);
+        when(cargaPorBloquesRepository.registrar(any(CargaPorBloques.class))).thenReturn(true);
+        when(pedidoRepository.findExistingNumeros(anyCollection())).thenReturn(Collections.emptySet());
+        when(cargaPorBloquesRepository.confirmarBloque(any(CargaPorBloques.class), anyList()))
+                .thenReturn(true)
+                .thenReturn(false);
+
+        // Act & Assert
+        assertThrows(CargaEnCursoException.class,
+                () -> cargaPorBloquesService.procesarCarga(archivo, IDEMPOTENCY_KEY, CargaProgresoListener.NINGUNO));
+
+        verify(cargaPorBloquesRepository, times(2)).confirmarBloque(any(CargaPorBloques.class), anyList());
+        verify(cargaPorBloquesRepository, never()).revertir(any());
+        verify(cargaPorBloquesRepository, never()).completar(any(), any());
+        verify(cargaPorBloquesRepository, never()).liberar(any());
+    }
+
+    @Test
+    void procesarCarga_WhenBlockCommitFails_ShouldKeepCommittedBlocksForResume() {
+        // Arrange
+        InputStreamSource archivo = archivo(1200);
+        when(cargaPorBloquesRepository.registrar(any(CargaPorBloques.class))).thenReturn(true);
+        when(pedidoRepository.findExistingNumeros(anyCollection())).thenReturn(Collections.emptySet());
+        doReturn(true)
+                .doThrow(new IllegalStateException("conexión perdida"))
+                .when(cargaPorBloquesRepository).confirmarBloque(any(CargaPorBloques.class), anyList());
+
+        // Act & Assert: es un fallo técnico reanudable, no una carga duplicada
+        CargaInterrumpidaException exception = assertThrows(CargaInterrumpidaException.class,
+                () -> cargaPorBloquesService.procesarCarga(archivo, IDEMPOTENCY_KEY, CargaProgresoListener.NINGUNO));
+
+        assertTrue(exception.getMessage().contains("desde la línea 502"));
+        // Se libera para que el reintento la reanude sin esperar a que venza la ejecución
+        verify(cargaPorBloquesRepository).liberar(any(CargaPorBloques.class));
+        verify(cargaPorBloquesRepository, never()).revertir(any());
+        verify(cargaPorBloquesRepository, never()).completar(any(), any());
+        verify(cargaMetricas).registrarCarga(metricasCaptor.capture());
+        assertEquals(MetricasCarga.RESULTADO_FALLIDA, metricasCaptor.getValue().getResultado());
+    }
+
+    @Test
+    void procesarCarga_WhenSameKeyAndFileCompleted_ShouldReplayStoredResult() {
+        // Arrange
+        InputStreamSource archivo = archivo(10);
+        CargaIdempotente previa = new CargaIdempotente();
+        previa.setResultadoJson("{\"totalProcesados\":10,\"guardados\":10,\"conError\":0,\"errores\":[]}");
+        when(cargaIdempotenteRepository.findByIdempotencyKeyAndHash(eq(IDEMPOTENCY_KEY), anyString()))
+                .thenReturn(Optional.of(previa));
+
+        // Act
+        CargaPedidosResult result = cargaPorBloquesService.procesarCarga(archivo, IDEMPOTENCY_KEY, CargaProgresoListener.NINGUNO);
+
+        // Assert
+        assertEquals(10, result.getGuardados());
+        verifyNoInteractions(pedidoDomainService, pedidoRepository);
+        verify(cargaPorBloquesRepository, never()).save(any(CargaPorBloques.class));
+        verify(cargaPorBloquesRepository, never()).registrar(any(CargaPorBloques.class));
+    }
+
+    @Test
+    void revertirAbandonadas_ShouldRevertStaleLoadsAndContinueOnFailure() {
+        // Arrange
+        ReflectionTestUtils.setField(cargaPorBloquesService, "abandono", Duration.ofHours(24));
+        CargaPorBloques fallida = new CargaPorBloques(UUID.randomUUID(), "otra", "hash",
+                EstadoCargaPorBloques.EN_PROCESO, 1001, 1000, null, null, null);
+        CargaPorBloques abandonada = new CargaPorBloques(UUID.randomUUID(), IDEMPOTENCY_KEY, "hash",
+                EstadoCargaPorBloques.EN_PROCESO, 501, 500, null, null, null);
+        ArgumentCaptor<LocalDateTime> limite = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(cargaPorBloquesRepository.findEnProcesoSinAvanceDesde(limite.capture()))
+                .thenReturn(List.of(fallida, abandonada));
+        when(cargaPorBloquesRepository.revertir(fallida)).thenThrow(new IllegalStateException("conexión perdida"));
+        when(cargaPorBloquesRepository.revertir(abandonada)).thenReturn(OptionalInt.of(500));
+
+        // Act
+        cargaPorBloquesService.revertirAbandonadas();
+
+        // Assert
+        verify(cargaPorBloquesRepository).revertir(abandonada);
+        assertTrue(limite.getValue().isBefore(LocalDateTime.now().minusHours(23)));
+    }
+
+    private void stubNuevaCarga() {
+        when(cargaPorBloquesRepository.registrar(any(CargaPorBloques.class))).thenReturn(true);
+        when(pedidoRepository.findExistingNumeros(anyCollection())).thenReturn(Collections.emptySet());
+        registrarLineasConfirmadas();
+    }
+
+    private void registrarLineasConfirmadas() {
+        doAnswer(invocation -> {
+            CargaPorBloques carga = invocation.getArgument(0);
+            lineasConfirmadas.add(carga.getUltimaLinea());
+            return true;
+        }).when(cargaPorBloquesRepository).confirmarBloque(any(CargaPorBloques.class), anyList());
+    }
+
+    private static InputStreamSource archivo(int filas) {
+        StringBuilder csv = new StringBuilder();
+        csv.append("numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n");
+        for (int i = 1; i <= filas; i++) {
+            csv.append(String.format("PED%05d,CLI001,2024-12-31,PENDIENTE,ZONA_NORTE,false\n", i));
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        return () -> new ByteArrayInputStream(bytes);
+    }
+}
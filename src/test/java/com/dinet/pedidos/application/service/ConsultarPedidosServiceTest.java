@@ -0,0 +1,120 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.model.PedidosPagina;
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.dinet.pedidos.domain.model.PosicionPedido;
+import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultarPedidosServiceTest {
+
+    private static final PedidoFiltro SIN_FILTRO = new PedidoFiltro(null, null, null, null, null);
+
+    @Mock
+    private PedidoRepositoryPort pedidoRepository;
+
+    @InjectMocks
+    private ConsultarPedidosService consultarPedidosService;
+
+    @Test
+    void consultarPedidos_WhenMoreRowsThanLimit_ShouldReturnCursorOfLastPedido() {
+        // Arrange
+        List<PedidoResumen> pedidos = pedidos(4);
+        when(pedidoRepository.findPagina(eq(SIN_FILTRO), isNull(), eq(4))).thenReturn(pedidos);
+
+        // Act
+        PedidosPagina pagina = consultarPedidosService.consultarPedidos(SIN_FILTRO, null, 3);
+
+        // Assert
+        assertThat(pagina.getPedidos()).containsExactlyElementsOf(pedidos.subList(0, 3));
+        assertThat(ConsultarPedidosService.decodificarCursor(pagina.getSiguienteCursor()))
+                .isEqualTo(pedidos.get(2).posicion());
+    }
+
+    @Test
+    void consultarPedidos_OnLastPage_ShouldNotReturnCursor() {
+        // Arrange
+        List<PedidoResumen> pedidos = pedidos(2);
+        when(pedidoRepository.findPagina(eq(SIN_FILTRO), isNull(), eq(4))).thenReturn(pedidos);
+
+        // Act
+        PedidosPagina pagina = consultarPedidosService.consultarPedidos(SIN_FILTRO, null, 3);
+
+        // Assert
+        assertThat(pagina.getPedidos()).hasSize(2);
+        assertThat(pagina.getSiguienteCursor()).isNull();
+    }
+
+    @Test
+    void consultarPedidos_WithCursor_ShouldContinueAfterItsPosition() {
+        // Arrange
+        PosicionPedido posicion = new PosicionPedido(LocalDate.of(2025, 3, 1), UUID.randomUUID());
+        String cursor = ConsultarPedidosService.codificarCursor(posicion);
+        when(pedidoRepository.findPagina(SIN_FILTRO, posicion, 11)).thenReturn(List.of());
+
+        // Act
+        PedidosPagina pagina = consultarPedidosService.consultarPedidos(SIN_FILTRO, cursor, 10);
+
+        // Assert
+        assertThat(pagina.getPedidos()).isEmpty();
+        assertThat(pagina.getSiguienteCursor()).isNull();
+    }
+
+    @Test
+    void consultarPedidos_WithInvalidCursor_ShouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> consultarPedidosService.consultarPedidos(SIN_FILTRO, "no-es-un-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("cursor inválido");
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    void consultarPedidos_WithLimitOutOfRange_ShouldThrowIllegalArgument() {
+        assertThatThrownBy(() -> consultarPedidosService.consultarPedidos(SIN_FILTRO, null, 501))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> consultarPedidosService.consultarPedidos(SIN_FILTRO, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    void consultarPedidos_WithInvertedDateRange_ShouldThrowIllegalArgument() {
+        // Arrange
+        PedidoFiltro filtro = new PedidoFiltro(EstadoPedido.PENDIENTE, LocalDate.of(2025, 2, 1),
+                LocalDate.of(2025, 1, 1), null, null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> consultarPedidosService.consultarPedidos(filtro, null, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("fechaDesde no puede ser posterior a fechaHasta");
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    private static List<PedidoResumen> pedidos(int cantidad) {
+        List<PedidoResumen> pedidos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            pedidos.add(new PedidoResumen(UUID.randomUUID(), "PED" + i, "CLI-123", "ZONA1",
+                    LocalDate.of(2025, 1, 1).plusDays(i), EstadoPedido.PENDIENTE, false));
+        }
+        return pedidos;
+    }
+}
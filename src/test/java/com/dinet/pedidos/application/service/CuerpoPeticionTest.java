@@ -0,0 +1,71 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.ArchivoDemasiadoGrandeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CuerpoPeticionTest {
+
+    private static final byte[] CSV = "numeroPedido,clienteId\nPED001,CLI001\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void getInputStream_ShouldAllowSingleRead() throws Exception {
+        // Arrange
+        CuerpoPeticion cuerpo = new CuerpoPeticion(new ByteArrayInputStream(CSV), 1024);
+
+        // Act
+        byte[] leidos;
+        try (InputStream in = cuerpo.getInputStream()) {
+            leidos = in.readAllBytes();
+        }
+
+        // Assert
+        assertArrayEquals(CSV, leidos);
+        assertThrows(IllegalStateException.class, cuerpo::getInputStream);
+    }
+
+    @Test
+    void getInputStream_WhenBodyExceedsLimit_ShouldReject() {
+        // Arrange
+        CuerpoPeticion cuerpo = new CuerpoPeticion(new ByteArrayInputStream(CSV), 10);
+
+        // Act & Assert
+        assertThrows(ArchivoDemasiadoGrandeException.class, () -> cuerpo.getInputStream().readAllBytes());
+    }
+
+    @Test
+    void copiarA_ShouldWriteBodyToTemporaryFile(@TempDir Path directorio) throws Exception {
+        // Arrange
+        CuerpoPeticion cuerpo = new CuerpoPeticion(new ByteArrayInputStream(CSV), 1024);
+
+        // Act
+        Path copia = cuerpo.copiarA(directorio);
+
+        // Assert
+        assertArrayEquals(CSV, Files.readAllBytes(copia));
+    }
+
+    @Test
+    void copiarA_WhenBodyExceedsLimit_ShouldDeletePartialCopy(@TempDir Path directorio) throws Exception {
+        // Arrange
+        CuerpoPeticion cuerpo = new CuerpoPeticion(new ByteArrayInputStream(CSV), 10);
+
+        // Act
+        assertThrows(ArchivoDemasiadoGrandeException.class, () -> cuerpo.copiarA(directorio));
+
+        // Assert
+        try (var archivos = Files.list(directorio)) {
+            assertEquals(0, archivos.count());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicadosEnArchivoTest {
+
+    @Test
+    void primeraAparicion_WhenNumberRepeats_ShouldReportDuplicadoEnArchivo() {
+        // Arrange
+        DuplicadosEnArchivo duplicados = new DuplicadosEnArchivo();
+        CargaPedidosResult result = new CargaPedidosResult();
+
+        // Act & Assert
+        assertTrue(duplicados.primeraAparicion(2, "PED001", result));
+        assertFalse(duplicados.primeraAparicion(3, "PED001", result));
+        assertEquals(List.of("3:DUPLICADO_EN_ARCHIVO"), codigos(result));
+    }
+
+    @Test
+    void existeEnBaseDeDatos_ShouldRelabelEarlierAndLaterRepetitions() {
+        // Arrange: la repetición de la línea 3 se registra antes de consultar la BD
+        DuplicadosEnArchivo duplicados = new DuplicadosEnArchivo();
+        CargaPedidosResult result = new CargaPedidosResult();
+        duplicados.primeraAparicion(2, "PED001", result);
+        duplicados.primeraAparicion(3, "PED001", result);
+
+        // Act
+        duplicados.existeEnBaseDeDatos(2, "PED001", result);
+        duplicados.primeraAparicion(4, "PED001", result);
+
+        // Assert
+        assertEquals(List.of("3:DUPLICADO", "2:DUPLICADO", "4:DUPLICADO"), codigos(result));
+        assertTrue(result.getErrores().stream()
+                .allMatch(error -> error.getMotivo().equals("Numero de pedido ya existe en la base de datos: PED001")));
+    }
+
+    @Test
+    void marcarVisto_ShouldTreatNextOccurrenceAsRepetition() {
+        // Arrange
+        DuplicadosEnArchivo duplicados = new DuplicadosEnArchivo();
+        CargaPedidosResult result = new CargaPedidosResult();
+
+        // Act
+        duplicados.marcarVisto("PED001");
+
+        // Assert
+        assertFalse(duplicados.primeraAparicion(5, "PED001", result));
+        assertEquals(List.of("5:DUPLICADO_EN_ARCHIVO"), codigos(result));
+    }
+
+    private static List<String> codigos(CargaPedidosResult result) {
+        return result.getErrores().stream()
+                .map(error -> error.getNumeroLinea() + ":" + error.getErrorCode())
+                .toList();
+    }
+}
@@ -0,0 +1,137 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.model.ExportacionPedidos;
+import com.dinet.pedidos.application.ports.out.PedidosExportPort;
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportarPedidosServiceTest {
+
+    @Mock
+    private PedidosExportPort pedidosExport;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AdmisionCargas admisionCargas;
+
+    private ExportarPedidosService exportarPedidosService;
+
+    @BeforeEach
+    void setUp() {
+        admisionCargas = new AdmisionCargas(2, 1, Duration.ofMillis(50));
+        exportarPedidosService = new ExportarPedidosService(pedidosExport, admisionCargas, transactionManager);
+    }
+
+    @Test
+    void exportarPedidos_ShouldNotReadUntilWrittenAndThenStreamInReadOnlyTransaction() {
+        // Arrange
+        PedidoFiltro filtro = new PedidoFiltro(EstadoPedido.PENDIENTE, null, null, null, null);
+        PedidoResumen pedido = new PedidoResumen(UUID.randomUUID(), "PED1", "CLI-123", "ZONA1",
+                LocalDate.of(2025, 1, 1), EstadoPedido.PENDIENTE, false);
+        when(pedidosExport.exportar(eq(filtro), any())).thenAnswer(invocation -> {
+            Consumer<PedidoResumen> destino = invocation.getArgument(1);
+            destino.accept(pedido);
+            return 1L;
+        });
+
+        // Act
+        ExportacionPedidos exportacion = exportarPedidosService.exportarPedidos(filtro);
+        verifyNoInteractions(pedidosExport, transactionManager);
+        List<PedidoResumen> escritos = new ArrayList<>();
+        long exportados = exportacion.escribir(escritos::add);
+
+        // Assert
+        assertThat(exportados).isEqualTo(1);
+        assertThat(escritos).containsExactly(pedido);
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void exportarPedidos_WhenMaxExportsInProgress_ShouldRejectUntilPreviousFinishes() {
+        // Arrange
+        PedidoFiltro filtro = new PedidoFiltro(null, null, null, null, null);
+        when(pedidosExport.exportar(eq(filtro), any())).thenReturn(0L);
+        ExportacionPedidos enCurso = exportarPedidosService.exportarPedidos(filtro);
+
+        // Act & Assert
+        assertThat(admisionCargas.getDisponibles()).isEqualTo(1);
+        assertThatThrownBy(() -> exportarPedidosService.exportarPedidos(filtro))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        enCurso.escribir(pedido -> { });
+        assertThat(admisionCargas.getDisponibles()).isEqualTo(2);
+        assertThat(admisionCargas.getExportacionesDisponibles()).isEqualTo(1);
+        assertThat(exportarPedidosService.exportarPedidos(filtro)).isNotNull();
+    }
+
+    @Test
+    void exportarPedidos_WhenClosedWithoutWriting_ShouldReleaseTurn() {
+        // Arrange
+        ExportacionPedidos exportacion = exportarPedidosService.exportarPedidos(
+                new PedidoFiltro(null, null, null, null, null));
+
+        // Act
+        exportacion.close();
+        exportacion.close();
+
+        // Assert
+        assertThat(admisionCargas.getDisponibles()).isEqualTo(2);
+        assertThat(admisionCargas.getExportacionesDisponibles()).isEqualTo(1);
+        verifyNoInteractions(pedidosExport);
+    }
+
+    @Test
+    void exportarPedidos_WhenReadFails_ShouldReleaseTurn() {
+        // Arrange
+        PedidoFiltro filtro = new PedidoFiltro(null, null, null, null, null);
+        when(pedidosExport.exportar(eq(filtro), any())).thenThrow(new IllegalStateException("fallo"));
+        ExportacionPedidos exportacion = exportarPedidosService.exportarPedidos(filtro);
+
+        // Act
+        assertThatThrownBy(() -> exportacion.escribir(pedido -> { })).isInstanceOf(IllegalStateException.class);
+
+        // Assert
+        assertThat(admisionCargas.getDisponibles()).isEqualTo(2);
+        assertThat(admisionCargas.getExportacionesDisponibles()).isEqualTo(1);
+    }
+
+    @Test
+    void exportarPedidos_WithInvertedDateRange_ShouldFailBeforeStreaming() {
+        // Arrange
+        PedidoFiltro filtro = new PedidoFiltro(null, LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, null);
+
+        // Act & Assert
+        assertThatThrownBy(() -> exportarPedidosService.exportarPedidos(filtro))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("fechaDesde no puede ser posterior a fechaHasta");
+        verifyNoInteractions(pedidosExport);
+        assertThat(admisionCargas.getExportacionesDisponibles()).isEqualTo(1);
+    }
+}
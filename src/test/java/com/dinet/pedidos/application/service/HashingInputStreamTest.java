@@ -0,0 +1,73 @@
+package com.dinet.pedidos.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashingInputStreamTest {
+
+    private static final byte[] CONTENT =
+            "numeroPedido,clienteId\nP001,CLI-123\n".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void hashHex_AfterFullRead_ShouldMatchSha256OfContent() throws Exception {
+        // Arrange
+        HashingInputStream stream = new HashingInputStream(new ByteArrayInputStream(CONTENT));
+
+        // Act
+        byte[] read = stream.readAllBytes();
+        String hash = stream.hashHex();
+
+        // Assert
+        assertArrayEquals(CONTENT, read);
+        assertEquals(expectedHash(), hash);
+    }
+
+    @Test
+    void hashHex_AfterPartialRead_ShouldDrainRemainingBytes() throws Exception {
+        // Arrange
+        HashingInputStream stream = new HashingInputStream(new ByteArrayInputStream(CONTENT));
+        stream.read(new byte[5]);
+
+        // Act
+        String hash = stream.hashHex();
+
+        // Assert
+        assertEquals(expectedHash(), hash);
+        assertEquals(-1, stream.read());
+    }
+
+    @Test
+    void hashHex_CalledTwice_ShouldReturnSameValue() throws Exception {
+        // Arrange
+        HashingInputStream stream = new HashingInputStream(new ByteArrayInputStream(CONTENT));
+
+        // Act & Assert
+        assertEquals(stream.hashHex(), stream.hashHex());
+    }
+
+    @Test
+    void getBytesLeidos_ShouldCountBytesReadAndDrained() throws Exception {
+        // Arrange
+        HashingInputStream stream = new HashingInputStream(new ByteArrayInputStream(CONTENT));
+
+        // Act
+        stream.read();
+        stream.read(new byte[4]);
+        long parcial = stream.getBytesLeidos();
+        stream.hashHex();
+
+        // Assert
+        assertEquals(5, parcial);
+        assertEquals(CONTENT.length, stream.getBytesLeidos());
+    }
+
+    private static String expectedHash() throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(CONTENT));
+    }
+}
@@ -0,0 +1,116 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonPedidoReaderTest {
+
+    private static final String P001 = "{\"numeroPedido\":\"P001\",\"clienteId\":\"CLI-123\",\"fechaEntrega\":\"2025-11-23\","
+            + "\"estado\":\"PENDIENTE\",\"zonaEntrega\":\"ZONA1\",\"requiereRefrigeracion\":true}";
+    private static final String P002 = "{\"numeroPedido\":\"P002\",\"clienteId\":\"CLI-456\",\"fechaEntrega\":\"2025-11-24\","
+            + "\"estado\":\"ENTREGADO\",\"zonaEntrega\":\"ZONA2\",\"requiereRefrigeracion\":false}";
+
+    @Test
+    void siguiente_WithJsonLines_ShouldParseEachRecord() throws IOException {
+        try (JsonPedidoReader lector = lector(P001 + "\n" + P002 + "\n")) {
+            assertTrue(lector.siguiente());
+            Pedido pedido = lector.pedido();
+            assertEquals("P001", pedido.getNumeroPedido());
+            assertEquals("CLI-123", pedido.getClienteId());
+            assertEquals(LocalDate.of(2025, 11, 23), pedido.getFechaEntrega());
+            assertEquals(EstadoPedido.PENDIENTE, pedido.getEstado());
+            assertEquals("ZONA1", pedido.getZonaId());
+            assertTrue(pedido.isRequiereRefrigeracion());
+
+            assertTrue(lector.siguiente());
+            assertEquals("P002", lector.pedido().getNumeroPedido());
+            assertFalse(lector.pedido().isRequiereRefrigeracion());
+            assertFalse(lector.siguiente());
+        }
+    }
+
+    @Test
+    void siguiente_WithJsonArray_ShouldParseEachRecord() throws IOException {
+        try (JsonPedidoReader lector = lector("[\n  " + P001 + ",\n  " + P002 + "\n]")) {
+            assertTrue(lector.siguiente());
+            assertEquals("P001", lector.pedido().getNumeroPedido());
+            assertTrue(lector.siguiente());
+            assertEquals("P002", lector.pedido().getNumeroPedido());
+            assertFalse(lector.siguiente());
+        }
+    }
+
+    @Test
+    void pedido_WithUnknownFieldsAndAnyCase_ShouldIgnoreUnknownFields() throws IOException {
+        String registro = "{\"origen\":{\"sistema\":\"ERP\",\"lotes\":[1,2]},\"NUMEROPEDIDO\":\"P003\",\"clienteId\":\"C1\","
+                + "\"fechaEntrega\":\"2025-01-01\",\"estado\":\"pendiente\",\"zonaEntrega\":\"Z1\",\"requiereRefrigeracion\":\"true\"}";
+        try (JsonPedidoReader lector = lector(registro)) {
+            assertTrue(lector.siguiente());
+            Pedido pedido = lector.pedido();
+            assertEquals("P003", pedido.getNumeroPedido());
+            assertTrue(pedido.isRequiereRefrigeracion());
+        }
+    }
+
+    @Test
+    void pedido_WithInvalidRecords_ShouldFailOnlyThatRecord() throws IOException {
+        String sinEstado = "{\"numeroPedido\":\"P004\",\"clienteId\":\"C1\",\"fechaEntrega\":\"2025-01-01\","
+                + "\"zonaEntrega\":\"Z1\",\"requiereRefrigeracion\":false}";
+        String zonaObjeto = "{\"numeroPedido\":\"P005\",\"clienteId\":\"C1\",\"fechaEntrega\":\"2025-01-01\","
+                + "\"estado\":\"PENDIENTE\",\"zonaEntrega\":{\"id\":\"Z1\"},\"requiereRefrigeracion\":false}";
+        try (JsonPedidoReader lector = lector(sinEstado + "\n\"texto\"\n" + zonaObjeto + "\n" + P001)) {
+            assertTrue(lector.siguiente());
+            IllegalArgumentException faltante = assertThrows(IllegalArgumentException.class, lector::pedido);
+            assertEquals("Falta el campo estado en el registro", faltante.getMessage());
+
+            assertTrue(lector.siguiente());
+            assertThrows(IllegalArgumentException.class, lector::pedido);
+
+            assertTrue(lector.siguiente());
+            IllegalArgumentException anidado = assertThrows(IllegalArgumentException.class, lector::pedido);
+            assertEquals("El campo zonaEntrega debe ser un valor simple", anidado.getMessage());
+
+            assertTrue(lector.siguiente());
+            assertEquals("P001", lector.pedido().getNumeroPedido());
+            assertFalse(lector.siguiente());
+        }
+    }
+
+    @Test
+    void lineaInicial_ShouldNumberRecordsFromOne() throws IOException {
+        try (JsonPedidoReader lector = lector(P001)) {
+            assertEquals(0, lector.lineaInicial());
+        }
+    }
+
+    @Test
+    void abrirLector_ShouldDetectJsonByFirstCharacter() throws IOException {
+        try (PedidoCsvReader json = CargarPedidosService.abrirLector(entrada("\uFEFF\n  " + P001), "bytes");
+             PedidoCsvReader csv = CargarPedidosService.abrirLector(
+                     entrada("numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n"), "commons")) {
+            assertTrue(json instanceof JsonPedidoReader);
+            assertTrue(json.siguiente());
+            assertEquals("P001", json.pedido().getNumeroPedido());
+            assertTrue(csv instanceof CommonsCsvPedidoReader);
+        }
+    }
+
+    private static JsonPedidoReader lector(String contenido) throws IOException {
+        return new JsonPedidoReader(entrada(contenido));
+    }
+
+    private static ByteArrayInputStream entrada(String contenido) {
+        return new ByteArrayInputStream(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,81 @@
+package com.dinet.pedidos.application.service;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PedidoCsvColumnasTest {
+
+    @Test
+    void desdeCabecera_WithBomSpacesAndCase_ShouldResolveByName() throws IOException {
+        CSVParser parser = parse("\uFEFFnumeroPedido, CLIENTEID,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n"
+                + "PED001,CLI001,2024-12-31,PENDIENTE,ZONA1,true");
+
+        PedidoCsvColumnas columnas = PedidoCsvColumnas.desdeCabecera(parser.getHeaderNames());
+        CSVRecord record = parser.iterator().next();
+
+        assertEquals("PED001", columnas.numeroPedido(record));
+        assertEquals("CLI001", columnas.clienteId(record));
+        assertEquals("2024-12-31", columnas.fechaEntrega(record));
+        assertEquals("PENDIENTE", columnas.estado(record));
+        assertEquals("ZONA1", columnas.zonaEntrega(record));
+        assertEquals("true", columnas.requiereRefrigeracion(record));
+    }
+
+    @Test
+    void desdeCabecera_WithColumnsInOtherOrder_ShouldFollowHeader() throws IOException {
+        CSVParser parser = parse("estado,numeroPedido,clienteId,fechaEntrega,zonaEntrega,requiereRefrigeracion\n"
+                + "PENDIENTE,PED001,CLI001,2024-12-31,ZONA1,true");
+
+        PedidoCsvColumnas columnas = PedidoCsvColumnas.desdeCabecera(parser.getHeaderNames());
+        CSVRecord record = parser.iterator().next();
+
+        assertEquals("PED001", columnas.numeroPedido(record));
+        assertEquals("PENDIENTE", columnas.estado(record));
+    }
+
+    @Test
+    void desdeCabecera_WithUnknownNames_ShouldFallBackToPosition() throws IOException {
+        CSVParser parser = parse("pedido,cliente,fecha,estado,zona,frio\n"
+                + "PED001,CLI001,2024-12-31,PENDIENTE,ZONA1,true");
+
+        PedidoCsvColumnas columnas = PedidoCsvColumnas.desdeCabecera(parser.getHeaderNames());
+        CSVRecord record = parser.iterator().next();
+
+        assertEquals("PED001", columnas.numeroPedido(record));
+        assertEquals("CLI001", columnas.clienteId(record));
+        assertEquals("true", columnas.requiereRefrigeracion(record));
+    }
+
+    @Test
+    void desdeCabecera_WithMissingColumns_ShouldThrowClearError() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> PedidoCsvColumnas.desdeCabecera(List.of("numeroPedido", "clienteId", "fechaEntrega")));
+
+        assertTrue(exception.getMessage().contains("estado"));
+    }
+
+    @Test
+    void valor_WhenRowIsShorterThanHeader_ShouldThrow() throws IOException {
+        CSVParser parser = parse("numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n"
+                + "PED001,CLI001");
+
+        PedidoCsvColumnas columnas = PedidoCsvColumnas.desdeCabecera(parser.getHeaderNames());
+        CSVRecord record = parser.iterator().next();
+
+        assertEquals("PED001", columnas.numeroPedido(record));
+        assertThrows(IllegalArgumentException.class, () -> columnas.estado(record));
+    }
+
+    private static CSVParser parse(String contenido) throws IOException {
+        return CSVParser.parse(contenido, CSVFormat.DEFAULT.withFirstRecordAsHeader());
+    }
+}
@@ -0,0 +1,88 @@
+package com.dinet.pedidos.application.service;
+
+import com.dinet.pedidos.application.exception.CuerpoLentoException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VelocidadMinimaInputStreamTest {
+
+    private static final long SEGUNDO = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong reloj = new AtomicLong();
+
+    @Test
+    void read_WhenClientSendsFastEnough_ShouldReadWholeBody() throws IOException {
+        // Arrange: cada lectura de 1000 bytes tarda 1 ms
+        InputStream cliente = cliente(1000, SEGUNDO / 1000);
+        VelocidadMinimaInputStream in = new VelocidadMinimaInputStream(cliente, 1000, Duration.ofSeconds(1), reloj::get);
+
+        // Act
+        byte[] leidos = in.readAllBytes();
+
+        // Assert
+        assertEquals(20_000, leidos.length);
+    }
+
+    @Test
+    void read_WhenClientTricklesAfterGracePeriod_ShouldFail() {
+        // Arrange: cada lectura de 1000 bytes tarda 2 s (500 bytes/s)
+        InputStream cliente = cliente(1000, 2 * SEGUNDO);
+        VelocidadMinimaInputStream in = new VelocidadMinimaInputStream(cliente, 1000, Duration.ofSeconds(3), reloj::get);
+
+        // Act & Assert: la primera lectura está dentro del periodo de gracia, la segunda ya no
+        assertThrows(CuerpoLentoException.class, in::readAllBytes);
+        assertEquals(4 * SEGUNDO, reloj.get());
+    }
+
+    @Test
+    void read_ShouldNotCountTimeSpentBetweenReads() throws IOException {
+        // Arrange: el cliente es rápido, pero la carga tarda 10 s en procesar cada bloque leído
+        InputStream cliente = cliente(1000, SEGUNDO / 1000);
+        VelocidadMinimaInputStream in = new VelocidadMinimaInputStream(cliente, 1000, Duration.ZERO, reloj::get);
+        byte[] buffer = new byte[1000];
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1000, in.read(buffer, 0, buffer.length));
+            reloj.addAndGet(10 * SEGUNDO);
+        }
+    }
+
+    @Test
+    void read_WhenConnectorTimesOut_ShouldReportSlowBody() {
+        // Arrange
+        InputStream cliente = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new SocketTimeoutException("Read timed out");
+            }
+        };
+        VelocidadMinimaInputStream in = new VelocidadMinimaInputStream(cliente, 1000, Duration.ofSeconds(1), reloj::get);
+
+        // Act & Assert
+        CuerpoLentoException ex = assertThrows(CuerpoLentoException.class, in::read);
+        assertEquals("Se agotó el tiempo de espera del cuerpo de la petición", ex.getMessage());
+    }
+
+    /**
+     * Cliente que entrega 20 lecturas de {@code porLectura} bytes y avanza el reloj {@code nanosPorLectura} en cada una.
+     */
+    private InputStream cliente(int porLectura, long nanosPorLectura) {
+        return new ByteArrayInputStream(new byte[20 * porLectura]) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                reloj.addAndGet(nanosPorLectura);
+                return super.read(b, off, Math.min(len, porLectura));
+            }
+        };
+    }
+}
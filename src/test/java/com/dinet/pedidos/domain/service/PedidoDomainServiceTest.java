@@ -300,6 +300,61 @@ class PedidoDomainServiceTest {
         }
     }
 
+    @Test
+    void validarPedido_WithRefrigeracion_ShouldLookUpZonaOnlyOnce() {
+        // Arrange
+        Pedido pedido = createValidPedido();
+        pedido.setRequiereRefrigeracion(true);
+        mockRepositoriesForValidPedido();
+
+        // Act
+        pedidoDomainService.validarPedido(pedido);
+
+        // Assert - cliente y zona se resuelven una sola vez y se comparten entre las reglas
+        verify(clienteRepository, times(1)).findById("CLI001");
+        verify(zonaRepository, times(1)).findById("ZONA_NORTE");
+    }
+
+    @Test
+    void validarPedido_WithResolvedContext_ShouldNotQueryRepositories() {
+        // Arrange
+        Pedido pedido = createValidPedido();
+        pedido.setRequiereRefrigeracion(true);
+        PedidoValidationContext contexto = new PedidoValidationContext(
+                new Cliente("CLI001", true), new Zona("ZONA_NORTE", true));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> pedidoDomainService.validarPedido(pedido, contexto));
+        verifyNoInteractions(clienteRepository, zonaRepository);
+    }
+
+    @Test
+    void validarPedido_WithResolvedContextMissingZona_ShouldThrowZonaNoExiste() {
+        // Arrange
+        Pedido pedido = createValidPedido();
+        PedidoValidationContext contexto = new PedidoValidationContext(new Cliente("CLI001", true), null);
+
+        // Act & Assert
+        PedidoValidationException exception = assertThrows(PedidoValidationException.class,
+                () -> pedidoDomainService.validarPedido(pedido, contexto));
+
+        assertEquals("ZONA_NO_EXISTE", exception.getErrorCode());
+    }
+
+    @Test
+    void resolverContexto_ShouldResolveClienteAndZona() {
+        // Arrange
+        Pedido pedido = createValidPedido();
+        mockRepositoriesForValidPedido();
+
+        // Act
+        PedidoValidationContext contexto = pedidoDomainService.resolverContexto(pedido);
+
+        // Assert
+        assertEquals("CLI001", contexto.getCliente().getId());
+        assertEquals("ZONA_NORTE", contexto.getZona().getId());
+    }
+
     private Pedido createValidPedido() {
         Pedido pedido = new Pedido();
         pedido.setNumeroPedido("PED001");
@@ -0,0 +1,146 @@
+package com.dinet.pedidos.infrastructure.adapters.in.rest;
+
+import com.dinet.pedidos.application.model.ExportacionPedidos;
+import com.dinet.pedidos.application.model.PedidosPagina;
+import com.dinet.pedidos.application.ports.in.ConsultarPedidosUseCase;
+import com.dinet.pedidos.application.ports.in.ExportarPedidosUseCase;
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConsultaPedidosControllerTest {
+
+    @Mock
+    private ConsultarPedidosUseCase consultarPedidosUseCase;
+
+    @Mock
+    private ExportarPedidosUseCase exportarPedidosUseCase;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ConsultaPedidosController controller;
+
+    @Test
+    void consultarPedidos_ShouldBuildFilterFromParameters() {
+        // Arrange
+        LocalDate desde = LocalDate.of(2025, 1, 1);
+        LocalDate hasta = LocalDate.of(2025, 1, 31);
+        PedidoFiltro filtro = new PedidoFiltro(EstadoPedido.PENDIENTE, desde, hasta, "ZONA1", "CLI-123");
+        PedidosPagina pagina = new PedidosPagina(List.of(), "cursor-2");
+        when(consultarPedidosUseCase.consultarPedidos(filtro, "cursor-1", 50)).thenReturn(pagina);
+
+        // Act
+        ResponseEntity<PedidosPagina> response = controller.consultarPedidos(
+                EstadoPedido.PENDIENTE, desde, hasta, "ZONA1", "CLI-123", "cursor-1", 50);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(pagina);
+    }
+
+    @Test
+    void exportarPedidos_WithGzip_ShouldStreamCompressedCsv() throws Exception {
+        // Arrange
+        PedidoFiltro filtro = new PedidoFiltro(null, LocalDate.of(2030, 1, 1), null, null, null);
+        PedidoResumen pedido = new PedidoResumen(UUID.randomUUID(), "PED1", "CLI-123", "ZONA1",
+                LocalDate.of(2030, 1, 15), EstadoPedido.PENDIENTE, false);
+        when(exportarPedidosUseCase.exportarPedidos(filtro)).thenReturn(destino -> {
+            destino.accept(pedido);
+            return 1;
+        });
+
+        // Act
+        ResponseEntity<StreamingResponseBody> response = controller.exportarPedidos(
+                null, LocalDate.of(2030, 1, 1), null, null, null, "csv", true, peticion());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        // Assert
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeaders().getContentDisposition().getFilename()).isEqualTo("pedidos.csv");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(
+                    "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion\n"
+                            + "PED1,CLI-123,2030-01-15,PENDIENTE,ZONA1,false\n");
+        }
+    }
+
+    @Test
+    void exportarPedidos_WhenWriterCannotBeCreated_ShouldCloseExport() throws Exception {
+        // Arrange
+        PedidoFiltro filtro = new PedidoFiltro(null, null, null, null, null);
+        AtomicBoolean cerrada = new AtomicBoolean();
+        when(exportarPedidosUseCase.exportarPedidos(filtro)).thenReturn(new ExportacionPedidos() {
+            @Override
+            public long escribir(Consumer<PedidoResumen> destino) {
+                return 0;
+            }
+
+            @Override
+            public void close() {
+                cerrada.set(true);
+            }
+        });
+        JsonFactory fabrica = mock(JsonFactory.class);
+        when(fabrica.createGenerator(any(Writer.class))).thenThrow(new IOException("sin generador"));
+        doReturn(fabrica).when(objectMapper).getFactory();
+        ResponseEntity<StreamingResponseBody> response = controller.exportarPedidos(
+                null, null, null, null, null, "ndjson", false, peticion());
+
+        // Act
+        assertThatThrownBy(() -> response.getBody().writeTo(new ByteArrayOutputStream()))
+                .isInstanceOf(IOException.class);
+
+        // Assert
+        assertThat(cerrada).isTrue();
+    }
+
+    @Test
+    void exportarPedidos_WithUnknownFormat_ShouldFailBeforeStreaming() {
+        assertThatThrownBy(() -> controller.exportarPedidos(null, null, null, null, null, "xml", false, peticion()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(exportarPedidosUseCase);
+    }
+
+    private static NativeWebRequest peticion() {
+        return new ServletWebRequest(new MockHttpServletRequest());
+    }
+}
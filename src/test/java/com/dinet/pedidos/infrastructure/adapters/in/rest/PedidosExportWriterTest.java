@@ -0,0 +1,71 @@
+package com.dinet.pedidos.infrastructure.adapters.in.rest;
+
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PedidosExportWriterTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final PedidoResumen PEDIDO_1 = new PedidoResumen(UUID.randomUUID(), "PED1", "CLI-123", "ZONA1",
+            LocalDate.of(2030, 1, 15), EstadoPedido.PENDIENTE, true);
+    private static final PedidoResumen PEDIDO_2 = new PedidoResumen(UUID.randomUUID(), "PED2", "CLI,\"X\"", "ZONA2",
+            LocalDate.of(2030, 1, 16), EstadoPedido.ENTREGADO, false);
+
+    @Test
+    void escribir_Csv_ShouldUseUploadHeaderAndColumnOrder() throws IOException {
+        // Act
+        String csv = escribir(PedidosExportWriter.Formato.CSV);
+
+        // Assert
+        assertThat(csv).isEqualTo("""
+                numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion
+                PED1,CLI-123,2030-01-15,PENDIENTE,ZONA1,true
+                PED2,"CLI,""X""\",2030-01-16,ENTREGADO,ZONA2,false
+                """);
+    }
+
+    @Test
+    void escribir_Ndjson_ShouldWriteOneObjectPerLine() throws IOException {
+        // Act
+        String ndjson = escribir(PedidosExportWriter.Formato.NDJSON);
+
+        // Assert
+        String[] lineas = ndjson.split("\n", -1);
+        assertThat(lineas).hasSize(3);
+        assertThat(lineas[2]).isEmpty();
+        JsonNode primero = OBJECT_MAPPER.readTree(lineas[0]);
+        assertThat(primero.get("id").asText()).isEqualTo(PEDIDO_1.id().toString());
+        assertThat(primero.get("fechaEntrega").asText()).isEqualTo("2030-01-15");
+        assertThat(primero.get("requiereRefrigeracion").asBoolean()).isTrue();
+        assertThat(OBJECT_MAPPER.readTree(lineas[1]).get("clienteId").asText()).isEqualTo("CLI,\"X\"");
+    }
+
+    @Test
+    void formatoDesde_WithUnknownValue_ShouldThrowIllegalArgument() {
+        assertThat(PedidosExportWriter.Formato.desde("NDJSON")).isEqualTo(PedidosExportWriter.Formato.NDJSON);
+        assertThatThrownBy(() -> PedidosExportWriter.Formato.desde("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String escribir(PedidosExportWriter.Formato formato) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PedidosExportWriter writer = new PedidosExportWriter(formato, out, OBJECT_MAPPER.getFactory())) {
+            writer.escribir(PEDIDO_1);
+            writer.escribir(PEDIDO_2);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
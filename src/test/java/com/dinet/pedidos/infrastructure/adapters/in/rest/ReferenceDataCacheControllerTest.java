@@ -0,0 +1,57 @@
+package com.dinet.pedidos.infrastructure.adapters.in.rest;
+
+import com.dinet.pedidos.infrastructure.adapters.out.cache.ReferenceDataCache;
+import com.dinet.pedidos.infrastructure.adapters.out.cache.ReferenceDataCacheStats;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheControllerTest {
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @InjectMocks
+    private ReferenceDataCacheController controller;
+
+    @Test
+    void refresh_ShouldReloadCacheAndReturnStats() {
+        // Arrange
+        ReferenceDataCacheStats stats = new ReferenceDataCacheStats(5, 5, 0, 0, 0, 0, Instant.now());
+        when(referenceDataCache.getStats()).thenReturn(stats);
+
+        // Act
+        ResponseEntity<ReferenceDataCacheStats> response = controller.refresh();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isSameAs(stats);
+        var order = inOrder(referenceDataCache);
+        order.verify(referenceDataCache).refresh();
+        order.verify(referenceDataCache).getStats();
+    }
+
+    @Test
+    void getStats_ShouldReturnCurrentStats() {
+        // Arrange
+        ReferenceDataCacheStats stats = new ReferenceDataCacheStats(5, 5, 10, 1, 10, 0, Instant.now());
+        when(referenceDataCache.getStats()).thenReturn(stats);
+
+        // Act
+        ResponseEntity<ReferenceDataCacheStats> response = controller.getStats();
+
+        // Assert
+        assertThat(response.getBody().getClienteHits()).isEqualTo(10);
+    }
+}
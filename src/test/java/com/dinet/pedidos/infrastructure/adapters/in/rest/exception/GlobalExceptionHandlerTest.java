@@ -1,8 +1,13 @@
 package com.dinet.pedidos.infrastructure.adapters.in.rest.exception;
 
+import com.dinet.pedidos.application.exception.ArchivoDemasiadoGrandeException;
+import com.dinet.pedidos.application.exception.CargaNoEncontradaException;
+import com.dinet.pedidos.application.exception.CuerpoLentoException;
+import com.dinet.pedidos.application.exception.CargaEnCursoException;
 import com.dinet.pedidos.application.exception.DuplicateLoadException;
 import com.dinet.pedidos.application.model.ErrorResponse;
 import com.dinet.pedidos.domain.exception.PedidoValidationException;
+import com.dinet.pedidos.domain.model.EstadoPedido;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -13,9 +18,11 @@ import org.slf4j.MDC;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MissingRequestHeaderException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -81,6 +88,26 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Test
+    void handleMethodArgumentTypeMismatch_ShouldReturnBadRequestWithParameterName() {
+        // Arrange
+        try (MockedStatic<MDC> mockedMdc = mockStatic(MDC.class)) {
+            mockedMdc.when(() -> MDC.get("correlationId")).thenReturn("test-correlation-param");
+            MethodArgumentTypeMismatchException ex = new MethodArgumentTypeMismatchException(
+                    "ANULADO", EstadoPedido.class, "estado", null, null);
+
+            // Act
+            ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleMethodArgumentTypeMismatch(ex);
+
+            // Assert
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            ErrorResponse errorResponse = response.getBody();
+            assertNotNull(errorResponse);
+            assertEquals("ARGUMENTO_INVALIDO", errorResponse.getCode());
+            assertEquals("Valor inválido para el parámetro estado: ANULADO", errorResponse.getMessage());
+        }
+    }
+
     @Test
     void handleMissingRequestHeaderException_ShouldReturnBadRequest() {
         // Arrange
@@ -130,6 +157,52 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Test
+    void handleCuerpoLento_ShouldReturnRequestTimeout() {
+        // Arrange
+        try (MockedStatic<MDC> mockedMdc = mockStatic(MDC.class)) {
+            String correlationId = "test-correlation-408";
+            mockedMdc.when(() -> MDC.get("correlationId")).thenReturn(correlationId);
+
+            CuerpoLentoException ex = new CuerpoLentoException(
+                    "El cuerpo de la petición llega a menos de 65536 bytes por segundo");
+
+            // Act
+            ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleCuerpoLento(ex);
+
+            // Assert
+            assertEquals(HttpStatus.REQUEST_TIMEOUT, response.getStatusCode());
+            ErrorResponse errorResponse = response.getBody();
+            assertNotNull(errorResponse);
+            assertEquals("TIEMPO_AGOTADO", errorResponse.getCode());
+            assertEquals(ex.getMessage(), errorResponse.getMessage());
+            assertEquals(correlationId, errorResponse.getCorrelationId());
+        }
+    }
+
+    @Test
+    void handleArchivoDemasiadoGrande_ShouldReturnPayloadTooLarge() {
+        // Arrange
+        try (MockedStatic<MDC> mockedMdc = mockStatic(MDC.class)) {
+            String correlationId = "test-correlation-413";
+            mockedMdc.when(() -> MDC.get("correlationId")).thenReturn(correlationId);
+
+            ArchivoDemasiadoGrandeException ex = new ArchivoDemasiadoGrandeException(
+                    "El archivo descomprimido excede el tamaño máximo permitido de 100 bytes");
+
+            // Act
+            ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleArchivoDemasiadoGrande(ex);
+
+            // Assert
+            assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+            ErrorResponse errorResponse = response.getBody();
+            assertNotNull(errorResponse);
+            assertEquals("ARCHIVO_DEMASIADO_GRANDE", errorResponse.getCode());
+            assertEquals(ex.getMessage(), errorResponse.getMessage());
+            assertEquals(correlationId, errorResponse.getCorrelationId());
+        }
+    }
+
     @Test
     void handleDuplicateLoadException_ShouldReturnConflict() {
         // Arrange
@@ -155,6 +228,64 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Test
+    void handleCargaEnCurso_ShouldReturnConflict() {
+        // Arrange
+        try (MockedStatic<MDC> mockedMdc = mockStatic(MDC.class)) {
+            String correlationId = "test-correlation-112";
+            mockedMdc.when(() -> MDC.get("correlationId")).thenReturn(correlationId);
+
+            String errorMessage = "La carga ya se está procesando en otra petición";
+            CargaEnCursoException ex = new CargaEnCursoException(errorMessage);
+
+            // Act
+            ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleCargaEnCurso(ex);
+
+            // Assert
+            assertNotNull(response);
+            assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+
+            ErrorResponse errorResponse = response.getBody();
+            assertNotNull(errorResponse);
+            assertEquals("CARGA_EN_CURSO", errorResponse.getCode());
+            assertEquals(errorMessage, errorResponse.getMessage());
+            assertEquals(correlationId, errorResponse.getCorrelationId());
+        }
+    }
+
+    @Test
+    void handleCargaNoEncontrada_ShouldReturnNotFound() {
+        // Arrange
+        try (MockedStatic<MDC> mockedMdc = mockStatic(MDC.class)) {
+            mockedMdc.when(() -> MDC.get("correlationId")).thenReturn("test-correlation-222");
+
+            // Act
+            ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleCargaNoEncontrada(
+                    new CargaNoEncontradaException("Carga no encontrada: 123"));
+
+            // Assert
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            assertEquals("CARGA_NO_ENCONTRADA", response.getBody().getCode());
+            assertEquals("Carga no encontrada: 123", response.getBody().getMessage());
+        }
+    }
+
+    @Test
+    void handleRejectedExecution_ShouldReturnServiceUnavailable() {
+        // Arrange
+        try (MockedStatic<MDC> mockedMdc = mockStatic(MDC.class)) {
+            mockedMdc.when(() -> MDC.get("correlationId")).thenReturn("test-correlation-333");
+
+            // Act
+            ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleRejectedExecution(
+                    new RejectedExecutionException("cola llena"));
+
+            // Assert
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+            assertEquals("CAPACIDAD_AGOTADA", response.getBody().getCode());
+        }
+    }
+
     @Test
     void handleGenericException_ShouldReturnInternalServerError() {
         // Arrange
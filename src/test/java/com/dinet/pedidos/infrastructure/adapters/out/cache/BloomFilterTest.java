@@ -0,0 +1,56 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void puedeContener_ShouldNeverMissAddedValues() {
+        // Arrange
+        BloomFilter filtro = BloomFilter.crear(50_000, 0.01);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            filtro.agregar("PED" + i);
+        }
+
+        // Assert
+        for (int i = 0; i < 50_000; i++) {
+            assertThat(filtro.puedeContener("PED" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void puedeContener_ShouldKeepFalsePositiveRateNearTarget() {
+        // Arrange
+        BloomFilter filtro = BloomFilter.crear(50_000, 0.01);
+        for (int i = 0; i < 50_000; i++) {
+            filtro.agregar("PED" + i);
+        }
+
+        // Act
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.puedeContener("NUEVO" + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        // Assert
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+        assertThat(filtro.falsosPositivosEstimados()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void crear_ShouldSizeBitsAndHashesForTarget() {
+        // Act
+        BloomFilter filtro = BloomFilter.crear(1_000_000, 0.01);
+
+        // Assert: ~9,6 bits por elemento y 7 hashes
+        assertThat(filtro.getBytes()).isBetween(1_150_000L, 1_250_000L);
+        assertThat(filtro.getNumHashes()).isEqualTo(7);
+        assertThat(filtro.falsosPositivosEstimados()).isZero();
+    }
+}
@@ -0,0 +1,49 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import com.dinet.pedidos.domain.model.Cliente;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedClienteRepositoryAdapterTest {
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @InjectMocks
+    private CachedClienteRepositoryAdapter cachedClienteRepositoryAdapter;
+
+    @Test
+    void findById_ShouldDelegateToCache() {
+        // Arrange
+        Cliente cliente = new Cliente("CLI-123", true);
+        when(referenceDataCache.findCliente("CLI-123")).thenReturn(Optional.of(cliente));
+
+        // Act
+        Optional<Cliente> result = cachedClienteRepositoryAdapter.findById("CLI-123");
+
+        // Assert
+        assertThat(result).contains(cliente);
+    }
+
+    @Test
+    void findAll_ShouldReturnSnapshotClientes() {
+        // Arrange
+        when(referenceDataCache.findAllClientes()).thenReturn(List.of(new Cliente("CLI-123", true)));
+
+        // Act
+        List<Cliente> result = cachedClienteRepositoryAdapter.findAll();
+
+        // Assert
+        assertThat(result).extracting(Cliente::getId).containsExactly("CLI-123");
+    }
+}
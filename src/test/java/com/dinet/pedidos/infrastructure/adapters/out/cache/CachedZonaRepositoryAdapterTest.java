@@ -0,0 +1,49 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import com.dinet.pedidos.domain.model.Zona;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachedZonaRepositoryAdapterTest {
+
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @InjectMocks
+    private CachedZonaRepositoryAdapter cachedZonaRepositoryAdapter;
+
+    @Test
+    void findById_ShouldDelegateToCache() {
+        // Arrange
+        Zona zona = new Zona("ZONA1", true);
+        when(referenceDataCache.findZona("ZONA1")).thenReturn(Optional.of(zona));
+
+        // Act
+        Optional<Zona> result = cachedZonaRepositoryAdapter.findById("ZONA1");
+
+        // Assert
+        assertThat(result).contains(zona);
+    }
+
+    @Test
+    void findAll_ShouldReturnSnapshotZonas() {
+        // Arrange
+        when(referenceDataCache.findAllZonas()).thenReturn(List.of(new Zona("ZONA1", true)));
+
+        // Act
+        List<Zona> result = cachedZonaRepositoryAdapter.findAll();
+
+        // Assert
+        assertThat(result).extracting(Zona::getId).containsExactly("ZONA1");
+    }
+}
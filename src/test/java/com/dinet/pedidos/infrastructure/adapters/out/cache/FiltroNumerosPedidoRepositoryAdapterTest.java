@@ -0,0 +1,86 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.infrastructure.adapters.out.persistence.PedidoRepositoryAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FiltroNumerosPedidoRepositoryAdapterTest {
+
+    @Mock
+    private PedidoRepositoryAdapter pedidoRepository;
+
+    @Mock
+    private NumerosPedidoFilter numerosPedidoFilter;
+
+    @InjectMocks
+    private FiltroNumerosPedidoRepositoryAdapter adapter;
+
+    @Test
+    void findExistingNumeros_ShouldQueryOnlyProbableNumbers() {
+        // Arrange
+        when(numerosPedidoFilter.puedeExistir("PED1")).thenReturn(false);
+        when(numerosPedidoFilter.puedeExistir("PED2")).thenReturn(true);
+        when(numerosPedidoFilter.puedeExistir("PED3")).thenReturn(true);
+        when(pedidoRepository.findExistingNumeros(Set.of("PED2", "PED3"))).thenReturn(Set.of("PED2"));
+
+        // Act
+        Set<String> result = adapter.findExistingNumeros(List.of("PED1", "PED2", "PED3"));
+
+        // Assert
+        assertThat(result).containsExactly("PED2");
+        verify(numerosPedidoFilter).registrarConfirmacion(2, 1);
+    }
+
+    @Test
+    void findExistingNumeros_WhenAllDiscarded_ShouldNotQueryDatabase() {
+        // Arrange
+        when(numerosPedidoFilter.puedeExistir("PED1")).thenReturn(false);
+
+        // Act
+        Set<String> result = adapter.findExistingNumeros(List.of("PED1"));
+
+        // Assert
+        assertThat(result).isEmpty();
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    void existsByNumeroPedido_WhenDiscarded_ShouldReturnFalseWithoutQuery() {
+        // Arrange
+        when(numerosPedidoFilter.puedeExistir("PED1")).thenReturn(false);
+
+        // Act & Assert
+        assertThat(adapter.existsByNumeroPedido("PED1")).isFalse();
+        verifyNoInteractions(pedidoRepository);
+    }
+
+    @Test
+    void saveAll_ShouldRegisterSavedNumbers() {
+        // Arrange
+        List<Pedido> pedidos = List.of(
+                Pedido.of("PED1", "CLI-123", "ZONA1", LocalDate.now().plusDays(1), EstadoPedido.PENDIENTE, false),
+                Pedido.of("PED2", "CLI-123", "ZONA1", LocalDate.now().plusDays(1), EstadoPedido.PENDIENTE, false));
+        when(pedidoRepository.saveAll(pedidos)).thenReturn(pedidos);
+
+        // Act
+        adapter.saveAll(pedidos);
+
+        // Assert
+        verify(numerosPedidoFilter).registrar(List.of("PED1", "PED2"));
+    }
+}
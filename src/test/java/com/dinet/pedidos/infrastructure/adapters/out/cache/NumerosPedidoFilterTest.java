@@ -0,0 +1,110 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NumerosPedidoFilterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private DataSourceTransactionManager transactionManager;
+    private SimpleMeterRegistry registry;
+    private NumerosPedidoFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE pedidos (numero_pedido varchar(50) PRIMARY KEY)");
+        for (int i = 0; i < 1000; i++) {
+            jdbcTemplate.update("INSERT INTO pedidos VALUES (?)", "PED" + i);
+        }
+        transactionManager = new DataSourceTransactionManager(database);
+        registry = new SimpleMeterRegistry();
+        filter = new NumerosPedidoFilter(database, transactionManager, registry, 0.01);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void puedeExistir_BeforeFirstBuild_ShouldTreatEveryNumberAsProbable() {
+        assertThat(filter.puedeExistir("NUEVO1")).isTrue();
+    }
+
+    @Test
+    void refresh_ShouldLoadExistingNumbersAndPublishMetrics() {
+        // Act
+        filter.refresh();
+
+        // Assert
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.puedeExistir("PED" + i)).isTrue();
+        }
+        long descartados = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (!filter.puedeExistir("NUEVO" + i)) {
+                descartados++;
+            }
+        }
+        assertThat(descartados).isGreaterThan(980);
+        assertThat(registry.get(NumerosPedidoFilter.ELEMENTOS).gauge().value()).isEqualTo(1000);
+        assertThat(registry.get(NumerosPedidoFilter.BYTES).gauge().value()).isPositive();
+        assertThat(registry.get(NumerosPedidoFilter.FALSOS_POSITIVOS).gauge().value()).isLessThan(0.01);
+        assertThat(registry.get(NumerosPedidoFilter.RECONSTRUCCION).timer().count()).isEqualTo(1);
+        assertThat(registry.get(NumerosPedidoFilter.CONSULTAS).tag("resultado", "descartado").counter().count())
+                .isEqualTo(descartados);
+    }
+
+    @Test
+    void registrar_ShouldAddNumbersOnlyAfterCommit() {
+        // Arrange
+        filter.refresh();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            filter.registrar(List.of("REVERTIDO1"));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            filter.registrar(List.of("CONFIRMADO1"));
+            assertThat(filter.puedeExistir("CONFIRMADO1")).isFalse();
+        });
+
+        // Assert
+        assertThat(filter.puedeExistir("CONFIRMADO1")).isTrue();
+        assertThat(filter.puedeExistir("REVERTIDO1")).isFalse();
+    }
+
+    @Test
+    void refresh_ShouldForgetDeletedNumbers() {
+        // Arrange
+        filter.refresh();
+        jdbcTemplate.update("DELETE FROM pedidos WHERE numero_pedido = 'PED1'");
+
+        // Act
+        filter.refresh();
+
+        // Assert
+        assertThat(filter.puedeExistir("PED1")).isFalse();
+        assertThat(filter.puedeExistir("PED2")).isTrue();
+    }
+}
@@ -0,0 +1,102 @@
+package com.dinet.pedidos.infrastructure.adapters.out.cache;
+
+import com.dinet.pedidos.domain.model.Cliente;
+import com.dinet.pedidos.domain.model.Zona;
+import com.dinet.pedidos.infrastructure.adapters.out.persistence.ClienteRepositoryAdapter;
+import com.dinet.pedidos.infrastructure.adapters.out.persistence.ZonaRepositoryAdapter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock
+    private ClienteRepositoryAdapter clienteRepository;
+
+    @Mock
+    private ZonaRepositoryAdapter zonaRepository;
+
+    @InjectMocks
+    private ReferenceDataCache referenceDataCache;
+
+    @Test
+    void findCliente_WhenInSnapshot_ShouldNotQueryDatabasePerLookup() {
+        // Arrange
+        when(clienteRepository.findAll()).thenReturn(List.of(new Cliente("CLI-123", true)));
+        when(zonaRepository.findAll()).thenReturn(List.of(new Zona("ZONA1", true)));
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            assertThat(referenceDataCache.findCliente("CLI-123")).isPresent();
+            assertThat(referenceDataCache.findZona("ZONA1")).isPresent();
+        }
+
+        // Assert - una sola carga del catálogo y ninguna consulta por id
+        verify(clienteRepository, times(1)).findAll();
+        verify(zonaRepository, times(1)).findAll();
+        verify(clienteRepository, never()).findById("CLI-123");
+        verify(zonaRepository, never()).findById("ZONA1");
+
+        ReferenceDataCacheStats stats = referenceDataCache.getStats();
+        assertThat(stats.getClienteHits()).isEqualTo(1000);
+        assertThat(stats.getZonaHits()).isEqualTo(1000);
+        assertThat(stats.getClienteMisses()).isZero();
+    }
+
+    @Test
+    void findCliente_WhenNotInSnapshot_ShouldFallBackToDatabaseAndCountMiss() {
+        // Arrange
+        when(clienteRepository.findAll()).thenReturn(List.of());
+        when(zonaRepository.findAll()).thenReturn(List.of());
+        when(clienteRepository.findById("CLI-NEW")).thenReturn(Optional.of(new Cliente("CLI-NEW", true)));
+
+        // Act
+        Optional<Cliente> result = referenceDataCache.findCliente("CLI-NEW");
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(referenceDataCache.getStats().getClienteMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void refresh_ShouldReplaceSnapshot() {
+        // Arrange
+        when(clienteRepository.findAll())
+                .thenReturn(List.of(new Cliente("CLI-123", true)))
+                .thenReturn(List.of(new Cliente("CLI-123", false), new Cliente("CLI-456", true)));
+        when(zonaRepository.findAll()).thenReturn(List.of(new Zona("ZONA1", true)));
+        referenceDataCache.refresh();
+
+        // Act
+        referenceDataCache.refresh();
+
+        // Assert
+        assertThat(referenceDataCache.findCliente("CLI-123").orElseThrow().isActivo()).isFalse();
+        ReferenceDataCacheStats stats = referenceDataCache.getStats();
+        assertThat(stats.getClientes()).isEqualTo(2);
+        assertThat(stats.getZonas()).isEqualTo(1);
+        assertThat(stats.getCargadoEn()).isNotNull();
+    }
+
+    @Test
+    void getStats_BeforeFirstLoad_ShouldReportEmptySnapshot() {
+        // Act
+        ReferenceDataCacheStats stats = referenceDataCache.getStats();
+
+        // Assert
+        assertThat(stats.getClientes()).isZero();
+        assertThat(stats.getCargadoEn()).isNull();
+    }
+}
@@ -0,0 +1,123 @@
+package com.dinet.pedidos.infrastructure.adapters.out.eventos;
+
+import com.dinet.pedidos.application.model.CargaJob;
+import com.dinet.pedidos.application.model.CargaPedidosResult;
+import com.dinet.pedidos.application.model.ProgresoCarga;
+import com.dinet.pedidos.application.ports.in.CargaAsincronaUseCase;
+import com.dinet.pedidos.application.ports.in.CargarPedidosUseCase;
+import com.dinet.pedidos.infrastructure.adapters.in.rest.CargaPedidosController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class SseCargaEventosAdapterTest {
+
+    @Mock
+    private CargaAsincronaUseCase cargaAsincronaUseCase;
+
+    @Mock
+    private CargarPedidosUseCase cargarPedidosUseCase;
+
+    private SseCargaEventosAdapter adapter;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        adapter = new SseCargaEventosAdapter(Runnable::run);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new CargaPedidosController(cargaAsincronaUseCase, cargarPedidosUseCase))
+                .build();
+    }
+
+    @Test
+    void eventos_ShouldStreamProgressAndCloseOnFin() throws Exception {
+        // Arrange
+        CargaJob carga = new CargaJob(UUID.randomUUID(), "key-1");
+        carga.iniciar();
+        when(cargaAsincronaUseCase.suscribirEventos(carga.getId())).thenAnswer(invocation -> adapter.suscribir(carga));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/pedidos/cargas/{id}/eventos", carga.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        adapter.publicarProgreso(carga.getId(), new ProgresoCarga(1024, 1000, 24, 2, 1000, 5000, false));
+        carga.completar(new CargaPedidosResult());
+        adapter.publicarFin(carga);
+
+        // Assert
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).contains("event:progreso").contains("\"filasLeidas\":1024");
+        assertThat(body).contains("event:fin").contains("\"estado\":\"COMPLETADA\"");
+        assertThat(adapter.suscriptores(carga.getId())).isZero();
+    }
+
+    @Test
+    void eventos_WhenLoadAlreadyFinished_ShouldSendFinImmediately() throws Exception {
+        // Arrange
+        CargaJob carga = new CargaJob(UUID.randomUUID(), "key-1");
+        carga.fallar("CARGA_DUPLICADA", "Carga duplicada");
+        when(cargaAsincronaUseCase.suscribirEventos(carga.getId())).thenAnswer(invocation -> adapter.suscribir(carga));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/pedidos/cargas/{id}/eventos", carga.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        assertThat(result.getResponse().getContentAsString())
+                .contains("event:fin")
+                .contains("CARGA_DUPLICADA");
+        assertThat(adapter.suscriptores(carga.getId())).isZero();
+    }
+
+    @Test
+    void publicarProgreso_ShouldNotWriteOnCallerThreadAndKeepOnlyLatestProgress() throws Exception {
+        // Arrange: el pool de envíos no ejecuta nada hasta que se vacía a mano
+        List<Runnable> envios = new ArrayList<>();
+        SseCargaEventosAdapter diferido = new SseCargaEventosAdapter(envios::add);
+        MockMvc mvc = MockMvcBuilders
+                .standaloneSetup(new CargaPedidosController(cargaAsincronaUseCase, cargarPedidosUseCase))
+                .build();
+        CargaJob carga = new CargaJob(UUID.randomUUID(), "key-1");
+        carga.iniciar();
+        when(cargaAsincronaUseCase.suscribirEventos(carga.getId())).thenAnswer(invocation -> diferido.suscribir(carga));
+        MvcResult result = mvc.perform(get("/pedidos/cargas/{id}/eventos", carga.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Act
+        diferido.publicarProgreso(carga.getId(), new ProgresoCarga(100, 100, 0, 0, 100, 50, false));
+        diferido.publicarProgreso(carga.getId(), new ProgresoCarga(200, 200, 0, 0, 200, 50, false));
+        diferido.publicarProgreso(carga.getId(), new ProgresoCarga(300, 300, 0, 0, 300, 50, false));
+        String antesDelEnvio = result.getResponse().getContentAsString();
+        List.copyOf(envios).forEach(Runnable::run);
+
+        // Assert: nada se escribe en el hilo de la carga y un suscriptor lento solo recibe el último progreso
+        assertThat(antesDelEnvio).isEmpty();
+        assertThat(envios).hasSize(1);
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).contains("\"filasLeidas\":300").doesNotContain("\"filasLeidas\":100")
+                .doesNotContain("\"filasLeidas\":200");
+    }
+
+    @Test
+    void publicarProgreso_WithoutSubscribers_ShouldDoNothing() {
+        adapter.publicarProgreso(UUID.randomUUID(), new ProgresoCarga(1, 1, 0, 0, 0, 1, false));
+        adapter.publicarFin(new CargaJob(UUID.randomUUID(), "key-1"));
+    }
+}
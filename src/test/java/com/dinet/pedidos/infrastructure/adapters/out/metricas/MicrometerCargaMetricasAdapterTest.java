@@ -0,0 +1,88 @@
+package com.dinet.pedidos.infrastructure.adapters.out.metricas;
+
+import com.dinet.pedidos.application.model.ErrorProcesamiento;
+import com.dinet.pedidos.application.model.EtapaCarga;
+import com.dinet.pedidos.application.model.MetricasCarga;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerCargaMetricasAdapterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerCargaMetricasAdapter adapter = new MicrometerCargaMetricasAdapter(registry);
+
+    @Test
+    void registrarCarga_ShouldRecordTimersCountersAndThroughputGauges() {
+        // Arrange
+        MetricasCarga metricas = new MetricasCarga();
+        metricas.sumar(EtapaCarga.PARSEO, 2_000_000);
+        metricas.sumar(EtapaCarga.PERSISTENCIA, 5_000_000);
+        metricas.setFilas(1000);
+        metricas.setBytes(50_000);
+        metricas.setResultado(MetricasCarga.RESULTADO_OK);
+        metricas.finalizar();
+
+        // Act
+        adapter.registrarCarga(metricas);
+
+        // Assert
+        Timer parseo = registry.get(MicrometerCargaMetricasAdapter.ETAPA)
+                .tags("etapa", "parseo", "resultado", "ok").timer();
+        assertEquals(1, parseo.count());
+        assertEquals(2.0, parseo.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        // Las etapas sin tiempo (p. ej. hash durante el parseo) no generan muestras
+        assertNull(registry.find(MicrometerCargaMetricasAdapter.ETAPA).tags("etapa", "hash").timer());
+        assertEquals(1, registry.get(MicrometerCargaMetricasAdapter.CARGA).tags("resultado", "ok").timer().count());
+        assertEquals(1000, registry.get(MicrometerCargaMetricasAdapter.FILAS).tags("resultado", "ok").counter().count());
+        assertEquals(50_000, registry.get(MicrometerCargaMetricasAdapter.BYTES).tags("resultado", "ok").counter().count());
+        assertTrue(registry.get(MicrometerCargaMetricasAdapter.FILAS_POR_SEGUNDO).gauge().value() > 0);
+        assertTrue(registry.get(MicrometerCargaMetricasAdapter.BYTES_POR_SEGUNDO).gauge().value() > 0);
+    }
+
+    @Test
+    void registrarCarga_ShouldCountErrorsByCodeWithoutHighCardinalityTags() {
+        // Arrange
+        MetricasCarga metricas = new MetricasCarga();
+        metricas.contarErrores(List.of(
+                new ErrorProcesamiento(2, "El cliente no existe", "CLIENTE_NO_EXISTE"),
+                new ErrorProcesamiento(3, "El cliente no existe", "CLIENTE_NO_EXISTE"),
+                new ErrorProcesamiento(4, "La zona no existe", "ZONA_NO_EXISTE")));
+        metricas.setFilas(3);
+        metricas.setResultado(MetricasCarga.RESULTADO_ERRORES);
+        metricas.finalizar();
+
+        // Act
+        adapter.registrarCarga(metricas);
+
+        // Assert
+        assertEquals(2, registry.get(MicrometerCargaMetricasAdapter.ERRORES).tag("codigo", "CLIENTE_NO_EXISTE").counter().count());
+        assertEquals(1, registry.get(MicrometerCargaMetricasAdapter.ERRORES).tag("codigo", "ZONA_NO_EXISTE").counter().count());
+        for (Meter meter : registry.getMeters()) {
+            meter.getId().getTags().forEach(tag ->
+                    assertTrue(List.of("resultado", "etapa", "codigo").contains(tag.getKey()), tag.getKey()));
+        }
+    }
+
+    @Test
+    void registrarCarga_WhenReplay_ShouldNotUpdateThroughputGauges() {
+        // Arrange
+        MetricasCarga metricas = new MetricasCarga();
+        metricas.setFilas(10);
+        metricas.setResultado(MetricasCarga.RESULTADO_REINTENTO);
+        metricas.finalizar();
+
+        // Act
+        adapter.registrarCarga(metricas);
+
+        // Assert
+        assertEquals(0, registry.get(MicrometerCargaMetricasAdapter.FILAS_POR_SEGUNDO).gauge().value());
+        assertEquals(1, registry.get(MicrometerCargaMetricasAdapter.CARGA).tags("resultado", "reintento").timer().count());
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -64,6 +65,22 @@ class CargaIdempotenteRepositoryAdapterTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void findByIdempotencyKey_ShouldReturnAllCargasForKey() {
+        // Arrange
+        CargaIdempotenteEntity entity1 = new CargaIdempotenteEntity(UUID.randomUUID(), "key", "hash1", null, LocalDateTime.now());
+        CargaIdempotenteEntity entity2 = new CargaIdempotenteEntity(UUID.randomUUID(), "key", "hash2", null, LocalDateTime.now());
+
+        when(cargaIdempotenteJpaRepository.findByIdempotencyKey("key")).thenReturn(List.of(entity1, entity2));
+
+        // Act
+        List<CargaIdempotente> result = cargaIdempotenteRepositoryAdapter.findByIdempotencyKey("key");
+
+        // Assert
+        assertThat(result).extracting(CargaIdempotente::getArchivoHash)
+                .containsExactly("hash1", "hash2");
+    }
+
     @Test
     void save_ShouldSaveAndReturnCargaIdempotente() {
         // Arrange
@@ -0,0 +1,201 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.domain.model.CargaIdempotente;
+import com.dinet.pedidos.domain.model.CargaPorBloques;
+import com.dinet.pedidos.domain.model.EstadoCargaPorBloques;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.ports.CargaIdempotenteRepositoryPort;
+import com.dinet.pedidos.domain.ports.PedidoRepositoryPort;
+import com.dinet.pedidos.infrastructure.entities.CargaPorBloquesEntity;
+import com.dinet.pedidos.infrastructure.repositories.CargaPorBloquesJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CargaPorBloquesRepositoryAdapterTest {
+
+    @Mock
+    private CargaPorBloquesJpaRepository cargaPorBloquesJpaRepository;
+
+    @Mock
+    private PedidoRepositoryPort pedidoRepository;
+
+    @Mock
+    private CargaIdempotenteRepositoryPort cargaIdempotenteRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private CargaPorBloquesRepositoryAdapter cargaPorBloquesRepositoryAdapter;
+
+    @Test
+    void findByIdempotencyKeyAndHash_WhenExists_ShouldMapEstado() {
+        // Arrange
+        CargaPorBloquesEntity entity = new CargaPorBloquesEntity(UUID.randomUUID(), "key", "hash", "EN_PROCESO",
+                501, 500, LocalDateTime.now(), LocalDateTime.now(), null);
+        when(cargaPorBloquesJpaRepository.findByIdempotencyKeyAndArchivoHash("key", "hash"))
+                .thenReturn(Optional.of(entity));
+
+        // Act
+        Optional<CargaPorBloques> result = cargaPorBloquesRepositoryAdapter.findByIdempotencyKeyAndHash("key", "hash");
+
+        // Assert
+        assertThat(result).isPresent();
+        assertThat(result.get().getEstado()).isEqualTo(EstadoCargaPorBloques.EN_PROCESO);
+        assertThat(result.get().getUltimaLinea()).isEqualTo(501);
+        assertThat(result.get().getFilasConfirmadas()).isEqualTo(500);
+    }
+
+    @Test
+    void confirmarBloque_ShouldSavePedidosBeforeAdvancingCarga() {
+        // Arrange
+        CargaPorBloques carga = nuevaCarga(EstadoCargaPorBloques.EN_PROCESO);
+        List<Pedido> pedidos = List.of(new Pedido());
+        poseer(carga);
+        when(cargaPorBloquesJpaRepository.save(any(CargaPorBloquesEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        boolean confirmado = cargaPorBloquesRepositoryAdapter.confirmarBloque(carga, pedidos);
+
+        // Assert
+        assertThat(confirmado).isTrue();
+        InOrder inOrder = inOrder(pedidoRepository, jdbcTemplate, cargaPorBloquesJpaRepository);
+        inOrder.verify(jdbcTemplate).update(eq(CargaPorBloquesRepositoryAdapter.COMPROBAR_EJECUCION_SQL),
+                any(LocalDateTime.class), eq(carga.getId()), eq(carga.getEjecucionId()));
+        inOrder.verify(pedidoRepository).saveAll(pedidos);
+        inOrder.verify(jdbcTemplate).batchUpdate(eq(CargaPorBloquesRepositoryAdapter.REGISTRAR_SQL), eq(pedidos), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        inOrder.verify(cargaPorBloquesJpaRepository).save(any(CargaPorBloquesEntity.class));
+        assertThat(carga.getUpdatedAt()).isNotNull();
+    }
+
+    @Test
+    void revertir_ShouldDeleteRecordedPedidosAndMarkReverted() {
+        // Arrange
+        CargaPorBloques carga = new CargaPorBloques(UUID.randomUUID(), "key", "hash", EstadoCargaPorBloques.EN_PROCESO,
+                501, 500, LocalDateTime.now(), null, UUID.randomUUID());
+        poseer(carga);
+        when(jdbcTemplate.update(CargaPorBloquesRepositoryAdapter.ELIMINAR_PEDIDOS_SQL, carga.getId())).thenReturn(500);
+        when(cargaPorBloquesJpaRepository.save(any(CargaPorBloquesEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        OptionalInt borrados = cargaPorBloquesRepositoryAdapter.revertir(carga);
+
+        // Assert
+        assertThat(borrados).hasValue(500);
+        verify(jdbcTemplate).update(CargaPorBloquesRepositoryAdapter.ELIMINAR_REGISTRO_SQL, carga.getId());
+        verify(jdbcTemplate).update(CargaPorBloquesRepositoryAdapter.LIBERAR_SQL, carga.getId(), carga.getEjecucionId());
+        ArgumentCaptor<CargaPorBloquesEntity> captor = ArgumentCaptor.forClass(CargaPorBloquesEntity.class);
+        verify(cargaPorBloquesJpaRepository).save(captor.capture());
+        assertThat(captor.getValue().getEstado()).isEqualTo("REVERTIDA");
+        assertThat(captor.getValue().getUltimaLinea()).isZero();
+        assertThat(captor.getValue().getFilasConfirmadas()).isZero();
+    }
+
+    @Test
+    void findEnProcesoSinAvanceDesde_ShouldQueryInProgressLoads() {
+        // Arrange
+        LocalDateTime limite = LocalDateTime.now().minusHours(24);
+        CargaPorBloquesEntity entity = new CargaPorBloquesEntity(UUID.randomUUID(), "key", "hash", "EN_PROCESO",
+                501, 500, limite.minusHours(1), limite.minusHours(1), null);
+        when(cargaPorBloquesJpaRepository.findByEstadoAndUpdatedAtBefore("EN_PROCESO", limite)).thenReturn(List.of(entity));
+
+        // Act
+        List<CargaPorBloques> result = cargaPorBloquesRepositoryAdapter.findEnProcesoSinAvanceDesde(limite);
+
+        // Assert
+        assertThat(result).extracting(CargaPorBloques::getId).containsExactly(entity.getId());
+    }
+
+    @Test
+    void completar_ShouldMarkCompletadaAndSaveIdempotencia() {
+        // Arrange
+        CargaPorBloques carga = nuevaCarga(EstadoCargaPorBloques.EN_PROCESO);
+        CargaIdempotente idempotencia = new CargaIdempotente();
+        poseer(carga);
+        when(cargaPorBloquesJpaRepository.save(any(CargaPorBloquesEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        boolean completada = cargaPorBloquesRepositoryAdapter.completar(carga, idempotencia);
+
+        // Assert
+        assertThat(completada).isTrue();
+        ArgumentCaptor<CargaPorBloquesEntity> captor = ArgumentCaptor.forClass(CargaPorBloquesEntity.class);
+        verify(cargaPorBloquesJpaRepository).save(captor.capture());
+        assertThat(captor.getValue().getEstado()).isEqualTo("COMPLETADA");
+        verify(cargaIdempotenteRepository).save(idempotencia);
+        verify(jdbcTemplate).update(CargaPorBloquesRepositoryAdapter.ELIMINAR_REGISTRO_SQL, carga.getId());
+    }
+
+    @Test
+    void confirmarBloque_WhenLoadBelongsToAnotherRun_ShouldWriteNothing() {
+        // Arrange
+        CargaPorBloques carga = nuevaCarga(EstadoCargaPorBloques.EN_PROCESO);
+        when(jdbcTemplate.update(eq(CargaPorBloquesRepositoryAdapter.COMPROBAR_EJECUCION_SQL),
+                any(LocalDateTime.class), eq(carga.getId()), eq(carga.getEjecucionId()))).thenReturn(0);
+
+        // Act
+        boolean confirmado = cargaPorBloquesRepositoryAdapter.confirmarBloque(carga, List.of(new Pedido()));
+
+        // Assert
+        assertThat(confirmado).isFalse();
+        verifyNoInteractions(pedidoRepository, cargaPorBloquesJpaRepository);
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void reclamar_WhenAnotherRunIsActive_ShouldReturnFalse() {
+        // Arrange
+        CargaPorBloques carga = nuevaCarga(EstadoCargaPorBloques.EN_PROCESO);
+        LocalDateTime libreDesde = LocalDateTime.now().minusMinutes(5);
+        when(jdbcTemplate.update(eq(CargaPorBloquesRepositoryAdapter.RECLAMAR_SQL), eq(carga.getEjecucionId()),
+                any(LocalDateTime.class), eq(carga.getId()), eq(libreDesde))).thenReturn(0);
+
+        // Act & Assert
+        assertThat(cargaPorBloquesRepositoryAdapter.reclamar(carga, libreDesde)).isFalse();
+    }
+
+    @Test
+    void registrar_WhenSameLoadRegisteredConcurrently_ShouldReturnFalse() {
+        // Arrange
+        CargaPorBloques carga = nuevaCarga(EstadoCargaPorBloques.EN_PROCESO);
+        when(cargaPorBloquesJpaRepository.saveAndFlush(any(CargaPorBloquesEntity.class)))
+                .thenThrow(new DataIntegrityViolationException("uk_idempotency_key_archivo_hash"));
+
+        // Act & Assert
+        assertThat(cargaPorBloquesRepositoryAdapter.registrar(carga)).isFalse();
+    }
+
+    private void poseer(CargaPorBloques carga) {
+        when(jdbcTemplate.update(eq(CargaPorBloquesRepositoryAdapter.COMPROBAR_EJECUCION_SQL),
+                any(LocalDateTime.class), eq(carga.getId()), eq(carga.getEjecucionId()))).thenReturn(1);
+    }
+
+    private static CargaPorBloques nuevaCarga(EstadoCargaPorBloques estado) {
+        return new CargaPorBloques(UUID.randomUUID(), "key", "hash", estado, 0, 0, LocalDateTime.now(), null,
+                UUID.randomUUID());
+    }
+}
@@ -9,6 +9,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -71,6 +72,20 @@ class ClienteRepositoryAdapterTest {
         assertThat(result.get().isActivo()).isFalse();
     }
 
+    @Test
+    void findAll_ShouldReturnAllClientes() {
+        // Arrange
+        when(clienteJpaRepository.findAll()).thenReturn(List.of(
+                new ClienteEntity("CLI001", true),
+                new ClienteEntity("CLI002", false)));
+
+        // Act
+        List<Cliente> result = clienteRepositoryAdapter.findAll();
+
+        // Assert
+        assertThat(result).extracting(Cliente::getId).containsExactly("CLI001", "CLI002");
+    }
+
     @Test
     void toDomain_ShouldConvertEntityToDomainCorrectly() {
         // Arrange
@@ -0,0 +1,130 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.support.DockerRequerido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PedidoBulkInsertWriterTest {
+
+    private static final String CREATE_TABLE = "CREATE TABLE pedidos ("
+            + "id uuid PRIMARY KEY, numero_pedido varchar NOT NULL UNIQUE, cliente_id varchar NOT NULL, "
+            + "zona_id varchar NOT NULL, fecha_entrega date NOT NULL, estado varchar NOT NULL, "
+            + "requiere_refrigeracion boolean NOT NULL, created_at timestamp with time zone DEFAULT now(), "
+            + "updated_at timestamp with time zone DEFAULT now())";
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private PedidoBulkInsertWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute(CREATE_TABLE);
+        writer = new PedidoBulkInsertWriter(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void batchInsert_ShouldInsertAllPedidos() {
+        // Act
+        writer.batchInsert(pedidos(1000));
+
+        // Assert
+        assertThat(jdbcTemplate.queryForObject("select count(*) from pedidos", Integer.class)).isEqualTo(1000);
+        assertThat(jdbcTemplate.queryForObject(
+                "select estado from pedidos where numero_pedido = 'PED7'", String.class)).isEqualTo("CONFIRMADO");
+    }
+
+    @Test
+    void copy_WithoutPostgres_ShouldFallBackToBatchInsert() {
+        // Act
+        writer.copy(pedidos(10));
+
+        // Assert
+        assertThat(jdbcTemplate.queryForObject("select count(*) from pedidos", Integer.class)).isEqualTo(10);
+    }
+
+    @Test
+    void copy_ShouldRollBackWithSurroundingTransaction() {
+        // Arrange
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.copy(pedidos(10));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(jdbcTemplate.queryForObject("select count(*) from pedidos", Integer.class)).isZero();
+    }
+
+    @Test
+    void copy_WithPostgres_ShouldStreamRowsWithCopyManager() {
+        DockerRequerido.comprobar();
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+            postgres.start();
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+            JdbcTemplate pgTemplate = new JdbcTemplate(dataSource);
+            pgTemplate.execute(CREATE_TABLE);
+            PedidoBulkInsertWriter pgWriter = new PedidoBulkInsertWriter(dataSource);
+
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                    .executeWithoutResult(status -> pgWriter.copy(pedidos(1000)));
+
+            assertThat(pgTemplate.queryForObject("select count(*) from pedidos", Integer.class)).isEqualTo(1000);
+            assertThat(pgTemplate.queryForObject(
+                    "select count(*) from pedidos where created_at is not null", Integer.class)).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    void writeCsvValue_ShouldQuoteOnlyWhenNeeded() throws Exception {
+        StringWriter out = new StringWriter();
+
+        PedidoBulkInsertWriter.writeCsvValue(out, "CLI-123");
+        out.write('|');
+        PedidoBulkInsertWriter.writeCsvValue(out, "a,\"b\"");
+        out.write('|');
+        PedidoBulkInsertWriter.writeCsvValue(out, "");
+
+        assertThat(out.toString()).isEqualTo("CLI-123|\"a,\"\"b\"\"\"|\"\"");
+    }
+
+    private List<Pedido> pedidos(int cantidad) {
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            pedidos.add(Pedido.of("PED" + i, "CLI-123", "ZONA1", LocalDate.of(2030, 1, 1).plusDays(i % 30),
+                    i % 2 == 0 ? EstadoPedido.PENDIENTE : EstadoPedido.CONFIRMADO, i % 3 == 0));
+        }
+        return pedidos;
+    }
+}
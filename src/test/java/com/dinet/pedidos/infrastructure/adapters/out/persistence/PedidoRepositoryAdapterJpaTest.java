@@ -0,0 +1,119 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import com.dinet.pedidos.domain.model.PosicionPedido;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cuenta las sentencias que Hibernate envía al guardar un lote: con ids UUID asignados por el dominio
+ * no debe haber un SELECT previo por fila, solo INSERTs en batch. La consulta paginada proyecta sin
+ * cargar entidades.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({PedidoRepositoryAdapter.class, PedidoBulkInsertWriter.class})
+class PedidoRepositoryAdapterJpaTest {
+
+    private static final int FILAS = 1000;
+    private static final int JDBC_BATCH_SIZE = 500;
+
+    @Autowired
+    private PedidoRepositoryAdapter pedidoRepositoryAdapter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_WithNewPedidos_ShouldOnlyIssueBatchedInserts() {
+        // Arrange
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < FILAS; i++) {
+            pedidos.add(Pedido.of("PED" + i, "CLI-123", "ZONA1", LocalDate.now().plusDays(1),
+                    EstadoPedido.PENDIENTE, false));
+        }
+
+        // Act
+        pedidoRepositoryAdapter.saveAll(pedidos);
+
+        // Assert
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(FILAS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(FILAS / JDBC_BATCH_SIZE);
+    }
+
+    @Test
+    void findPagina_ShouldWalkAllMatchingPedidosInKeyOrderWithoutLoadingEntities() {
+        // Arrange: 4 fechas con varios pedidos cada una, mitad en ZONA1 y mitad confirmados
+        List<Pedido> pedidos = new ArrayList<>();
+        LocalDate base = LocalDate.now().plusDays(1);
+        for (int i = 0; i < 40; i++) {
+            pedidos.add(Pedido.of("PED" + i, "CLI-123", i % 2 == 0 ? "ZONA1" : "ZONA2", base.plusDays(i % 4),
+                    i % 4 < 2 ? EstadoPedido.PENDIENTE : EstadoPedido.CONFIRMADO, false));
+        }
+        pedidoRepositoryAdapter.saveAll(pedidos);
+        statistics.clear();
+        PedidoFiltro filtro = new PedidoFiltro(null, base, base.plusDays(2), "ZONA1", "CLI-123");
+
+        // Act: páginas de 3 hasta agotar el resultado
+        List<PedidoResumen> recorridos = new ArrayList<>();
+        PosicionPedido despuesDe = null;
+        List<PedidoResumen> pagina;
+        do {
+            pagina = pedidoRepositoryAdapter.findPagina(filtro, despuesDe, 3);
+            recorridos.addAll(pagina);
+            despuesDe = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1).posicion();
+        } while (pagina.size() == 3);
+
+        // Assert: ZONA1 son las fechas base y base+2 (i par), 10 pedidos cada una
+        assertThat(recorridos).hasSize(20);
+        assertThat(recorridos).extracting(PedidoResumen::zonaId).containsOnly("ZONA1");
+        assertThat(recorridos).extracting(PedidoResumen::fechaEntrega).isSorted();
+        assertThat(recorridos).extracting(PedidoResumen::numeroPedido).doesNotHaveDuplicates();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findPagina_WithEstado_ShouldOnlyReturnThatEstado() {
+        // Arrange
+        LocalDate fecha = LocalDate.now().plusDays(1);
+        pedidoRepositoryAdapter.saveAll(List.of(
+                Pedido.of("PED1", "CLI-123", "ZONA1", fecha, EstadoPedido.PENDIENTE, false),
+                Pedido.of("PED2", "CLI-123", "ZONA1", fecha, EstadoPedido.ENTREGADO, true)));
+
+        // Act
+        List<PedidoResumen> pagina = pedidoRepositoryAdapter.findPagina(
+                new PedidoFiltro(EstadoPedido.ENTREGADO, null, null, null, null), null, 10);
+
+        // Assert
+        assertThat(pagina).singleElement().satisfies(pedido -> {
+            assertThat(pedido.numeroPedido()).isEqualTo("PED2");
+            assertThat(pedido.estado()).isEqualTo(EstadoPedido.ENTREGADO);
+            assertThat(pedido.requiereRefrigeracion()).isTrue();
+        });
+    }
+}
@@ -4,19 +4,27 @@ import com.dinet.pedidos.domain.model.EstadoPedido;
 import com.dinet.pedidos.domain.model.Pedido;
 import com.dinet.pedidos.infrastructure.entities.PedidoEntity;
 import com.dinet.pedidos.infrastructure.repositories.PedidoJpaRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,6 +33,12 @@ class PedidoRepositoryAdapterTest {
     @Mock
     private PedidoJpaRepository pedidoJpaRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PedidoBulkInsertWriter bulkInsertWriter;
+
     @InjectMocks
     private PedidoRepositoryAdapter pedidoRepositoryAdapter;
 
@@ -114,6 +128,60 @@ class PedidoRepositoryAdapterTest {
         assertThat(savedPedidos).hasSize(2);
         assertThat(savedPedidos).extracting(Pedido::getNumeroPedido)
                 .containsExactly("PED001", "PED002");
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void saveAll_WithCopyInsertMode_ShouldUseCopyWriter() {
+        // Arrange
+        ReflectionTestUtils.setField(pedidoRepositoryAdapter, "insertMode", "copy");
+        List<Pedido> pedidos = List.of(Pedido.of("PED001", "CLI001", "ZONA_NORTE",
+                LocalDate.of(2024, 12, 31), EstadoPedido.PENDIENTE, true));
+
+        // Act
+        List<Pedido> savedPedidos = pedidoRepositoryAdapter.saveAll(pedidos);
+
+        // Assert
+        assertThat(savedPedidos).isEqualTo(pedidos);
+        verify(bulkInsertWriter).copy(pedidos);
+        verify(pedidoJpaRepository, never()).saveAll(anyList());
+        verify(entityManager, never()).flush();
+    }
+
+    @Test
+    void saveAll_WithJdbcInsertMode_ShouldUseBatchInsert() {
+        // Arrange
+        ReflectionTestUtils.setField(pedidoRepositoryAdapter, "insertMode", "jdbc");
+        List<Pedido> pedidos = List.of(Pedido.of("PED001", "CLI001", "ZONA_NORTE",
+                LocalDate.of(2024, 12, 31), EstadoPedido.PENDIENTE, true));
+
+        // Act
+        pedidoRepositoryAdapter.saveAll(pedidos);
+
+        // Assert
+        verify(bulkInsertWriter).batchInsert(pedidos);
+        verify(pedidoJpaRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void validarInsertMode_WithKnownModeInAnyCase_ShouldAccept() {
+        // Arrange
+        ReflectionTestUtils.setField(pedidoRepositoryAdapter, "insertMode", "COPY");
+
+        // Act & Assert
+        pedidoRepositoryAdapter.validarInsertMode();
+    }
+
+    @Test
+    void validarInsertMode_WithUnknownMode_ShouldFailAtStartup() {
+        // Arrange
+        ReflectionTestUtils.setField(pedidoRepositoryAdapter, "insertMode", "bulk");
+
+        // Act & Assert
+        assertThatThrownBy(() -> pedidoRepositoryAdapter.validarInsertMode())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("'bulk'");
     }
 
     @Test
@@ -140,6 +208,45 @@ class PedidoRepositoryAdapterTest {
         assertThat(exists).isFalse();
     }
 
+    @Test
+    void findExistingNumeros_ShouldReturnOnlyExistingNumeros() {
+        // Arrange
+        when(pedidoJpaRepository.findExistingNumeros(List.of("PED001", "PED002", "PED003")))
+                .thenReturn(List.of("PED002"));
+
+        // Act
+        Set<String> existentes = pedidoRepositoryAdapter.findExistingNumeros(List.of("PED001", "PED002", "PED003"));
+
+        // Assert
+        assertThat(existentes).containsExactly("PED002");
+    }
+
+    @Test
+    void findExistingNumeros_WithEmptyCollection_ShouldNotQuery() {
+        // Act
+        Set<String> existentes = pedidoRepositoryAdapter.findExistingNumeros(List.of());
+
+        // Assert
+        assertThat(existentes).isEmpty();
+        verify(pedidoJpaRepository, never()).findExistingNumeros(anyList());
+    }
+
+    @Test
+    void findExistingNumeros_WithMoreThanMaxInParams_ShouldQueryInChunks() {
+        // Arrange
+        List<String> numeros = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            numeros.add("PED" + i);
+        }
+        when(pedidoJpaRepository.findExistingNumeros(anyList())).thenReturn(List.of());
+
+        // Act
+        pedidoRepositoryAdapter.findExistingNumeros(numeros);
+
+        // Assert
+        verify(pedidoJpaRepository, times(3)).findExistingNumeros(anyList());
+    }
+
     @Test
     void toEntity_ShouldConvertPedidoToEntityCorrectly() {
         // Arrange
@@ -0,0 +1,80 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.PedidoFiltro;
+import com.dinet.pedidos.domain.model.PedidoResumen;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PedidosExportAdapterTest {
+
+    private static final LocalDate BASE = LocalDate.of(2030, 1, 1);
+
+    private EmbeddedDatabase database;
+    private PedidosExportAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE pedidos (id uuid PRIMARY KEY, numero_pedido varchar NOT NULL, "
+                + "cliente_id varchar NOT NULL, zona_id varchar NOT NULL, fecha_entrega date NOT NULL, "
+                + "estado varchar NOT NULL, requiere_refrigeracion boolean NOT NULL)");
+        // Fechas en orden inverso al de inserción para comprobar el ORDER BY
+        for (int i = 0; i < 30; i++) {
+            jdbcTemplate.update("INSERT INTO pedidos VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    UUID.randomUUID(), "PED" + i, i % 3 == 0 ? "CLI-456" : "CLI-123", "ZONA" + (i % 2 + 1),
+                    BASE.plusDays(30 - i), i % 2 == 0 ? "PENDIENTE" : "ENTREGADO", i % 5 == 0);
+        }
+        adapter = new PedidosExportAdapter(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void exportar_WithoutFilter_ShouldStreamAllPedidosOrderedByFecha() {
+        // Act
+        List<PedidoResumen> exportados = new ArrayList<>();
+        long total = adapter.exportar(new PedidoFiltro(null, null, null, null, null), exportados::add);
+
+        // Assert
+        assertThat(total).isEqualTo(30);
+        assertThat(exportados).hasSize(30);
+        assertThat(exportados).extracting(PedidoResumen::fechaEntrega).isSorted();
+        assertThat(exportados.get(0).numeroPedido()).isEqualTo("PED29");
+        assertThat(exportados.get(29).requiereRefrigeracion()).isTrue();
+    }
+
+    @Test
+    void exportar_WithFilters_ShouldOnlyStreamMatchingPedidos() {
+        // Arrange
+        PedidoFiltro filtro = new PedidoFiltro(EstadoPedido.PENDIENTE, BASE.plusDays(11), BASE.plusDays(30),
+                "ZONA1", "CLI-123");
+
+        // Act
+        List<PedidoResumen> exportados = new ArrayList<>();
+        adapter.exportar(filtro, exportados::add);
+
+        // Assert: i par (PENDIENTE, ZONA1), no múltiplo de 3 y fecha 30 - i >= 11
+        assertThat(exportados).extracting(PedidoResumen::numeroPedido)
+                .containsExactly("PED16", "PED14", "PED10", "PED8", "PED4", "PED2");
+    }
+}
@@ -0,0 +1,180 @@
+package com.dinet.pedidos.infrastructure.adapters.out.persistence;
+
+import com.dinet.pedidos.application.model.ErrorProcesamiento;
+import com.dinet.pedidos.application.model.FilaPendiente;
+import com.dinet.pedidos.domain.model.EstadoPedido;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.support.DockerRequerido;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PedidosStagingAdapterTest {
+
+    private static final LocalDate MANANA = LocalDate.now(ZoneId.of("America/Lima")).plusDays(1);
+
+    @Test
+    void disponible_WithoutPostgres_ShouldBeFalse() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        try {
+            assertThat(new PedidosStagingAdapter(database, Optional.empty()).disponible()).isFalse();
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void sentencias_WithPostgres_ShouldBeAcceptedByPlanner() throws Exception {
+        DockerRequerido.comprobar();
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+            postgres.start();
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+            JdbcTemplate pgTemplate = crearEsquema(dataSource);
+
+            // Solo planifica: un error de sintaxis falla aquí con la consulta que lo tiene
+            for (String sql : List.of(PedidosStagingAdapter.VALIDAR_SQL, PedidosStagingAdapter.INSERT_SQL,
+                    PedidosStagingAdapter.INSERT_RETURNING_SQL, PedidosStagingAdapter.DELETE_SQL)) {
+                assertThat(pgTemplate.queryForList("EXPLAIN " + sql, String.class, UUID.randomUUID()))
+                        .as(sql)
+                        .isNotEmpty();
+            }
+        }
+    }
+
+    @Test
+    void validar_WithPostgres_ShouldReportSameErrorsAsDomainValidation() throws Exception {
+        DockerRequerido.comprobar();
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+            postgres.start();
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+            JdbcTemplate pgTemplate = crearEsquema(dataSource);
+            PedidosStagingAdapter adapter = new PedidosStagingAdapter(dataSource, Optional.empty());
+            UUID cargaId = UUID.randomUUID();
+
+            List<FilaPendiente> filas = new ArrayList<>();
+            filas.add(fila(2, "PED1", "CLI-123", "ZONA1", MANANA, true));
+            filas.add(fila(3, "", "CLI-123", "ZONA1", MANANA, false));
+            filas.add(fila(4, "PED-3", "CLI-123", "ZONA1", MANANA, false));
+            filas.add(fila(5, "PED4", "CLI-123", "ZONA1", MANANA.minusDays(2), false));
+            filas.add(fila(6, "PED5", "CLI-000", "ZONA1", MANANA, false));
+            filas.add(fila(7, "PED6", "CLI-OFF", "ZONA1", MANANA, false));
+            filas.add(fila(8, "PED7", "CLI-123", "ZONA0", MANANA, false));
+            filas.add(fila(9, "PED8", "CLI-123", "ZONA2", MANANA, true));
+            filas.add(fila(10, "PED1", "CLI-123", "ZONA1", MANANA, false));
+            filas.add(fila(11, "EXISTE1", "CLI-123", "ZONA1", MANANA, false));
+            // Una fila inválida no cuenta como primera aparición del número
+            filas.add(fila(12, "PED9", "CLI-000", "ZONA1", MANANA, false));
+            filas.add(fila(13, "PED9", "CLI-123", "ZONA1", MANANA, false));
+            // Un número que ya existe en pedidos es DUPLICADO en todas sus apariciones
+            filas.add(fila(14, "EXISTE1", "CLI-123", "ZONA1", MANANA, false));
+
+            List<ErrorProcesamiento> errores = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                    .execute(status -> {
+                        adapter.agregar(cargaId, filas);
+                        List<ErrorProcesamiento> resultado = adapter.validar(cargaId);
+                        adapter.descartar(cargaId);
+                        return resultado;
+                    });
+
+            assertThat(errores)
+                    .extracting(ErrorProcesamiento::getNumeroLinea, ErrorProcesamiento::getErrorCode, ErrorProcesamiento::getMotivo)
+                    .containsExactly(
+                            tuple(3, "NUMERO_PEDIDO_INVALIDO", "numeroPedido es obligatorio"),
+                            tuple(4, "NUMERO_PEDIDO_INVALIDO", "numeroPedido debe ser alfanumérico (A-Z, a-z, 0-9) sin espacios ni símbolos"),
+                            tuple(5, "FECHA_INVALIDA", "fechaEntrega no puede ser anterior a la fecha actual (America/Lima)"),
+                            tuple(6, "CLIENTE_NO_EXISTE", "El cliente no existe"),
+                            tuple(7, "CLIENTE_INACTIVO", "El cliente no está activo"),
+                            tuple(8, "ZONA_NO_EXISTE", "La zona no existe"),
+                            tuple(9, "ZONA_NO_PERMITE_REFRIGERACION", "Esta zona no admite pedidos con refrigeración"),
+                            tuple(10, "DUPLICADO_EN_ARCHIVO", "Numero de pedido duplicado en el archivo: PED1"),
+                            tuple(11, "DUPLICADO", "Numero de pedido ya existe en la base de datos: EXISTE1"),
+                            tuple(12, "CLIENTE_NO_EXISTE", "El cliente no existe"),
+                            tuple(14, "DUPLICADO", "Numero de pedido ya existe en la base de datos: EXISTE1"));
+            assertThat(pgTemplate.queryForObject("select count(*) from pedidos_staging", Integer.class)).isZero();
+        }
+    }
+
+    @Test
+    void insertarValidos_WithPostgres_ShouldMoveStagedRowsToPedidos() throws Exception {
+        DockerRequerido.comprobar();
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")) {
+            postgres.start();
+            DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+            JdbcTemplate pgTemplate = crearEsquema(dataSource);
+            PedidosStagingAdapter adapter = new PedidosStagingAdapter(dataSource, Optional.empty());
+            UUID cargaId = UUID.randomUUID();
+            List<FilaPendiente> filas = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                filas.add(fila(i + 2, "PED" + i, "CLI-123", "ZONA1", MANANA, i % 2 == 0));
+            }
+
+            Integer insertados = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                    .execute(status -> {
+                        adapter.agregar(cargaId, filas);
+                        assertThat(adapter.validar(cargaId)).isEmpty();
+                        int resultado = adapter.insertarValidos(cargaId);
+                        adapter.descartar(cargaId);
+                        return resultado;
+                    });
+
+            assertThat(insertados).isEqualTo(1000);
+            assertThat(pgTemplate.queryForObject(
+                    "select count(*) from pedidos where created_at is not null", Integer.class)).isEqualTo(1001);
+            assertThat(pgTemplate.queryForObject("select count(*) from pedidos_staging", Integer.class)).isZero();
+        }
+    }
+
+    private static JdbcTemplate crearEsquema(DriverManagerDataSource dataSource) throws IOException {
+        JdbcTemplate pgTemplate = new JdbcTemplate(dataSource);
+        pgTemplate.execute("CREATE TABLE clientes (id varchar PRIMARY KEY, activo boolean NOT NULL)");
+        pgTemplate.execute("CREATE TABLE zonas (id varchar PRIMARY KEY, soporte_refrigeracion boolean NOT NULL)");
+        pgTemplate.execute("CREATE TABLE pedidos ("
+                + "id uuid PRIMARY KEY, numero_pedido varchar NOT NULL UNIQUE, cliente_id varchar NOT NULL, "
+                + "zona_id varchar NOT NULL, fecha_entrega date NOT NULL, estado varchar NOT NULL, "
+                + "requiere_refrigeracion boolean NOT NULL, created_at timestamp with time zone DEFAULT now(), "
+                + "updated_at timestamp with time zone DEFAULT now())");
+        try (InputStream migracion = PedidosStagingAdapterTest.class
+                .getResourceAsStream("/db/migration/V4__create_pedidos_staging.sql")) {
+            pgTemplate.execute(new String(migracion.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        pgTemplate.update("INSERT INTO clientes VALUES ('CLI-123', true), ('CLI-OFF', false)");
+        pgTemplate.update("INSERT INTO zonas VALUES ('ZONA1', true), ('ZONA2', false)");
+        pgTemplate.update("INSERT INTO pedidos (id, numero_pedido, cliente_id, zona_id, fecha_entrega, estado, "
+                + "requiere_refrigeracion) VALUES (?, 'EXISTE1', 'CLI-123', 'ZONA1', ?, 'PENDIENTE', false)",
+                UUID.randomUUID(), MANANA);
+        return pgTemplate;
+    }
+
+    private static FilaPendiente fila(int linea, String numero, String cliente, String zona, LocalDate fecha,
+                                      boolean refrigeracion) {
+        return new FilaPendiente(linea, Pedido.of(numero, cliente, zona, fecha, EstadoPedido.PENDIENTE, refrigeracion));
+    }
+}
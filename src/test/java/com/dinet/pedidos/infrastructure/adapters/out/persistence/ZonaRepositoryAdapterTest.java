@@ -9,6 +9,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -71,6 +72,20 @@ class ZonaRepositoryAdapterTest {
         assertThat(result.get().isSoporteRefrigeracion()).isFalse();
     }
 
+    @Test
+    void findAll_ShouldReturnAllZonas() {
+        // Arrange
+        when(zonaJpaRepository.findAll()).thenReturn(List.of(
+                new ZonaEntity("ZONA_NORTE", true),
+                new ZonaEntity("ZONA_SUR", false)));
+
+        // Act
+        List<Zona> result = zonaRepositoryAdapter.findAll();
+
+        // Assert
+        assertThat(result).extracting(Zona::getId).containsExactly("ZONA_NORTE", "ZONA_SUR");
+    }
+
     @Test
     void toDomain_ShouldConvertEntityToDomainCorrectly() {
         // Arrange
@@ -52,4 +52,16 @@ class PedidoEntityTest {
         assertThat(entity.isRequiereRefrigeracion()).isTrue();
         assertThat(entity.getEstado()).isEqualTo("PENDIENTE");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldBeNewUntilPersistedOrLoaded() {
+        PedidoEntity entity = new PedidoEntity();
+        entity.setId(UUID.randomUUID());
+
+        assertThat(entity.isNew()).isTrue();
+
+        entity.marcarNoNuevo();
+
+        assertThat(entity.isNew()).isFalse();
+    }
+}
@@ -0,0 +1,174 @@
+package com.dinet.pedidos.support;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga de subidas concurrentes contra una instancia en ejecución.
+ * <p>
+ * Lanza {@code --cargas} subidas de {@code --filas} filas con {@code --concurrencia} clientes a la vez; cada
+ * archivo usa un prefijo y un Idempotency-Key propios para que todas las cargas inserten. En modo
+ * {@code async} sube a {@code POST /pedidos/cargas} y consulta el Location hasta que la carga termina. Sirve
+ * para comparar la misma instancia con hilos de plataforma y con {@code VIRTUAL_THREADS_ENABLED=true}:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.dinet.pedidos.support.CargasConcurrentesRunner \
+ *     -Dexec.args="--url=http://localhost:8080 --token=$TOKEN --cargas=200 --concurrencia=50 --filas=2000"
+ * </pre>
+ */
+public class CargasConcurrentesRunner {
+
+    private static final String BOUNDARY = "----dinet-pedidos-carga";
+    private static final Pattern ESTADO = Pattern.compile("\"estado\"\\s*:\\s*\"(\\w+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String url;
+    private final String token;
+    private final long filas;
+    private final boolean async;
+
+    CargasConcurrentesRunner(String url, String token, long filas, boolean async) {
+        this.url = url;
+        this.token = token;
+        this.filas = filas;
+        this.async = async;
+    }
+
+    /**
+     * Argumentos: {@code --url=U --token=T [--cargas=N] [--concurrencia=N] [--filas=N] [--modo=sync|async]}.
+     */
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        String token = null;
+        int cargas = 100;
+        int concurrencia = 20;
+        long filas = 1000;
+        boolean async = false;
+
+        for (String arg : args) {
+            if (arg.startsWith("--url=")) {
+                url = valor(arg);
+            } else if (arg.startsWith("--token=")) {
+                token = valor(arg);
+            } else if (arg.startsWith("--cargas=")) {
+                cargas = Integer.parseInt(valor(arg));
+            } else if (arg.startsWith("--concurrencia=")) {
+                concurrencia = Integer.parseInt(valor(arg));
+            } else if (arg.startsWith("--filas=")) {
+                filas = Long.parseLong(valor(arg));
+            } else if (arg.startsWith("--modo=")) {
+                async = "async".equals(valor(arg));
+            } else {
+                throw new IllegalArgumentException("Argumento no reconocido: " + arg);
+            }
+        }
+        if (token == null) {
+            throw new IllegalArgumentException("Falta --token=JWT");
+        }
+
+        new CargasConcurrentesRunner(url, token, filas, async).ejecutar(cargas, concurrencia);
+    }
+
+    void ejecutar(int cargas, int concurrencia) throws Exception {
+        ExecutorService clientes = Executors.newFixedThreadPool(concurrencia);
+        List<Future<Resultado>> pendientes = new ArrayList<>();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < cargas; i++) {
+            String prefijo = "LT" + Long.toString(System.nanoTime(), 36).toUpperCase() + i;
+            pendientes.add(clientes.submit(() -> subir(prefijo)));
+        }
+
+        Map<String, Integer> porResultado = new TreeMap<>();
+        List<Long> latencias = new ArrayList<>();
+        for (Future<Resultado> pendiente : pendientes) {
+            Resultado resultado = pendiente.get();
+            porResultado.merge(resultado.estado(), 1, Integer::sum);
+            latencias.add(resultado.ms());
+        }
+        clientes.shutdown();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        Collections.sort(latencias);
+        int exitosas = porResultado.getOrDefault(async ? "COMPLETADA" : "200", 0);
+        System.out.printf("%d cargas de %d filas, %d clientes, modo %s: %.1f s%n",
+                cargas, filas, concurrencia, async ? "async" : "sync", segundos);
+        porResultado.forEach((estado, cantidad) -> System.out.printf("  %s: %d%n", estado, cantidad));
+        System.out.printf("  latencia p50=%d ms p95=%d ms max=%d ms%n",
+                percentil(latencias, 0.50), percentil(latencias, 0.95), latencias.get(latencias.size() - 1));
+        System.out.printf("  %.2f cargas/s, %.0f filas/s%n", exitosas / segundos, exitosas * filas / segundos);
+    }
+
+    private Resultado subir(String prefijo) {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<String> respuesta = client.send(HttpRequest.newBuilder(URI.create(url + (async ? "/pedidos/cargas" : "/pedidos/cargar")))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(prefijo)))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            String estado = String.valueOf(respuesta.statusCode());
+            if (async && respuesta.statusCode() == 202) {
+                estado = esperarFin(respuesta.headers().firstValue("Location").orElseThrow());
+            }
+            return new Resultado(estado, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            return new Resultado(e.getClass().getSimpleName(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Resultado("INTERRUMPIDA", (System.nanoTime() - inicio) / 1_000_000);
+        }
+    }
+
+    private String esperarFin(String location) throws IOException, InterruptedException {
+        HttpRequest consulta = HttpRequest.newBuilder(URI.create(url).resolve(location))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        while (true) {
+            Matcher estado = ESTADO.matcher(client.send(consulta, HttpResponse.BodyHandlers.ofString()).body());
+            if (estado.find() && (estado.group(1).equals("COMPLETADA") || estado.group(1).equals("FALLIDA"))) {
+                return estado.group(1);
+            }
+            Thread.sleep(200);
+        }
+    }
+
+    private byte[] multipart(String prefijo) throws IOException {
+        ByteArrayOutputStream cuerpo = new ByteArrayOutputStream();
+        cuerpo.write(("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + prefijo + ".csv\"\r\n"
+                + "Content-Type: text/csv\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        new PedidosCsvGenerator(filas).conPrefijo(prefijo).escribir(cuerpo);
+        cuerpo.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return cuerpo.toByteArray();
+    }
+
+    private static long percentil(List<Long> ordenadas, double p) {
+        return ordenadas.get((int) Math.min(ordenadas.size() - 1, Math.ceil(p * ordenadas.size()) - 1));
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    private record Resultado(String estado, long ms) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.dinet.pedidos.support;
+
+import org.testcontainers.DockerClientFactory;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guarda de las pruebas contra PostgreSQL con Testcontainers. Sin Docker la prueba se omite en local, pero con
+ * el perfil {@code postgres} ({@code mvn -Ppostgres test}, el que debe ejecutar CI) falla: así un runner sin
+ * Docker no puede dar por buena una consulta SQL que nunca se ejecutó.
+ */
+public final class DockerRequerido {
+
+    static final String PROPIEDAD = "tests.postgres.requerido";
+
+    private DockerRequerido() {
+    }
+
+    public static void comprobar() {
+        boolean disponible = DockerClientFactory.instance().isDockerAvailable();
+        if (!disponible && Boolean.getBoolean(PROPIEDAD)) {
+            fail("Docker no disponible y " + PROPIEDAD + "=true: las pruebas contra PostgreSQL no pueden omitirse");
+        }
+        assumeTrue(disponible, "Docker no disponible");
+    }
+}
@@ -0,0 +1,261 @@
+package com.dinet.pedidos.support;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de archivos CSV de pedidos para pruebas de carga y soak.
+ * <p>
+ * Produce la misma cabecera que {@code samples/test.csv} y referencia los clientes y zonas que crea
+ * {@code DataLoader}, de modo que las filas "válidas" pasan todas las validaciones de dominio. Se puede
+ * inyectar una proporción de filas erróneas por código de error; cada fila errónea provoca exactamente
+ * un error, así el resultado esperado de la carga se conoce de antemano (ver {@link #escribir(OutputStream)}).
+ * <p>
+ * Las filas se escriben una a una sobre un {@link BufferedWriter}: la memoria usada no depende del tamaño
+ * del archivo. Uso por línea de comandos:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.dinet.pedidos.support.PedidosCsvGenerator \
+ *     -Dexec.args="--filas=1000000 --salida=target/pedidos.csv --bom --error.CLIENTE_NO_EXISTE=0.01"
+ * </pre>
+ */
+public class PedidosCsvGenerator {
+
+    public static final String CABECERA = "numeroPedido,clienteId,fechaEntrega,estado,zonaEntrega,requiereRefrigeracion";
+
+    /** Códigos de error que el generador sabe provocar con los datos semilla. */
+    public static final List<String> CODIGOS_SOPORTADOS = List.of(
+            "NUMERO_PEDIDO_INVALIDO",
+            "FECHA_INVALIDA",
+            "CLIENTE_NO_EXISTE",
+            "ZONA_NO_EXISTE",
+            "ZONA_NO_PERMITE_REFRIGERACION",
+            "DUPLICADO_EN_ARCHIVO",
+            "ERROR_DESCONOCIDO");
+
+    // Datos semilla de DataLoader (todos los clientes están activos)
+    private static final String[] CLIENTES = {"CLI-123", "CLI-456", "CLI-789", "CLI-999", "CLI-001"};
+    private static final String[] ZONAS_CON_REFRIGERACION = {"ZONA1", "ZONA3", "ZONA9"};
+    private static final String[] ZONAS_SIN_REFRIGERACION = {"ZONA2", "ZONA5"};
+    private static final String[] ESTADOS = {"PENDIENTE", "CONFIRMADO", "ENTREGADO"};
+
+    private static final ZoneId BUSINESS_ZONE = ZoneId.of("America/Lima");
+
+    private final long filas;
+    private boolean bom;
+    private long semilla = 42L;
+    private String prefijo = "P";
+    private final Map<String, Double> proporciones = new LinkedHashMap<>();
+
+    public PedidosCsvGenerator(long filas) {
+        if (filas < 0) {
+            throw new IllegalArgumentException("filas no puede ser negativo: " + filas);
+        }
+        this.filas = filas;
+    }
+
+    /** Antepone el BOM UTF-8 a la cabecera (como los CSV exportados desde Excel). */
+    public PedidosCsvGenerator conBom(boolean bom) {
+        this.bom = bom;
+        return this;
+    }
+
+    /** Semilla del generador aleatorio: misma semilla, mismo archivo. */
+    public PedidosCsvGenerator conSemilla(long semilla) {
+        this.semilla = semilla;
+        return this;
+    }
+
+    /**
+     * Prefijo alfanumérico de numeroPedido. Usar uno distinto por ejecución evita que una segunda carga
+     * contra la misma BD falle por DUPLICADO.
+     */
+    public PedidosCsvGenerator conPrefijo(String prefijo) {
+        if (prefijo == null || !prefijo.matches("[A-Za-z0-9]+")) {
+            throw new IllegalArgumentException("El prefijo debe ser alfanumérico: " + prefijo);
+        }
+        this.prefijo = prefijo;
+        return this;
+    }
+
+    /**
+     * Proporción (0..1) de filas que deben fallar con el código indicado.
+     */
+    public PedidosCsvGenerator conError(String errorCode, double proporcion) {
+        if (!CODIGOS_SOPORTADOS.contains(errorCode)) {
+            throw new IllegalArgumentException("Código de error no soportado: " + errorCode
+                    + " (soportados: " + CODIGOS_SOPORTADOS + ")");
+        }
+        if (proporcion < 0 || proporcion > 1) {
+            throw new IllegalArgumentException("La proporción debe estar entre 0 y 1: " + proporcion);
+        }
+        proporciones.put(errorCode, proporcion);
+        double total = proporciones.values().stream().mapToDouble(Double::doubleValue).sum();
+        if (total > 1) {
+            throw new IllegalArgumentException("La suma de proporciones de error supera 1: " + total);
+        }
+        return this;
+    }
+
+    public Map<String, Long> escribir(Path destino) throws IOException {
+        try (OutputStream out = Files.newOutputStream(destino)) {
+            return escribir(out);
+        }
+    }
+
+    /**
+     * Escribe el archivo completo en el stream (no lo cierra).
+     *
+     * @return cantidad de filas generadas por código de error, en el orden en que se configuraron
+     */
+    public Map<String, Long> escribir(OutputStream out) throws IOException {
+        Map<String, Long> errores = new LinkedHashMap<>();
+        proporciones.keySet().forEach(codigo -> errores.put(codigo, 0L));
+        String[] codigos = proporciones.keySet().toArray(new String[0]);
+        double[] acumuladas = new double[codigos.length];
+        double acumulada = 0;
+        for (int i = 0; i < codigos.length; i++) {
+            acumulada += proporciones.get(codigos[i]);
+            acumuladas[i] = acumulada;
+        }
+
+        SplittableRandom random = new SplittableRandom(semilla);
+        LocalDate hoy = LocalDate.now(BUSINESS_ZONE);
+        StringBuilder linea = new StringBuilder(96);
+        String ultimoValido = null;
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        if (bom) {
+            writer.write('\uFEFF');
+        }
+        writer.write(CABECERA);
+        writer.write('\n');
+
+        for (long fila = 1; fila <= filas; fila++) {
+            String codigo = elegirError(random.nextDouble(), codigos, acumuladas);
+            // Un duplicado necesita un numeroPedido válido previo; sin él la fila se genera válida
+            if ("DUPLICADO_EN_ARCHIVO".equals(codigo) && ultimoValido == null) {
+                codigo = null;
+            }
+
+            String numeroPedido = prefijo + fila;
+            String clienteId = CLIENTES[random.nextInt(CLIENTES.length)];
+            String fechaEntrega = hoy.plusDays(1 + random.nextInt(60)).toString();
+            String estado = ESTADOS[random.nextInt(ESTADOS.length)];
+            boolean requiereRefrigeracion = random.nextBoolean();
+            String zona = requiereRefrigeracion
+                    ? ZONAS_CON_REFRIGERACION[random.nextInt(ZONAS_CON_REFRIGERACION.length)]
+                    : elegirZona(random);
+
+            if (codigo != null) {
+                switch (codigo) {
+                    case "NUMERO_PEDIDO_INVALIDO" -> numeroPedido = prefijo + "-" + fila;
+                    case "FECHA_INVALIDA" -> fechaEntrega = hoy.minusDays(1 + random.nextInt(30)).toString();
+                    case "CLIENTE_NO_EXISTE" -> clienteId = "CLI-X" + fila;
+                    case "ZONA_NO_EXISTE" -> zona = "ZONAX" + fila;
+                    case "ZONA_NO_PERMITE_REFRIGERACION" -> {
+                        requiereRefrigeracion = true;
+                        zona = ZONAS_SIN_REFRIGERACION[random.nextInt(ZONAS_SIN_REFRIGERACION.length)];
+                    }
+                    case "DUPLICADO_EN_ARCHIVO" -> numeroPedido = ultimoValido;
+                    case "ERROR_DESCONOCIDO" -> fechaEntrega = "31/12/" + hoy.getYear();
+                    default -> throw new IllegalStateException("Código no contemplado: " + codigo);
+                }
+                errores.merge(codigo, 1L, Long::sum);
+            } else {
+                ultimoValido = numeroPedido;
+            }
+
+            linea.setLength(0);
+            linea.append(numeroPedido).append(',')
+                    .append(clienteId).append(',')
+                    .append(fechaEntrega).append(',')
+                    .append(estado).append(',')
+                    .append(zona).append(',')
+                    .append(requiereRefrigeracion).append('\n');
+            writer.append(linea);
+        }
+        writer.flush();
+        return errores;
+    }
+
+    private static String elegirError(double sorteo, String[] codigos, double[] acumuladas) {
+        for (int i = 0; i < codigos.length; i++) {
+            if (sorteo < acumuladas[i]) {
+                return codigos[i];
+            }
+        }
+        return null;
+    }
+
+    private static String elegirZona(SplittableRandom random) {
+        int indice = random.nextInt(ZONAS_CON_REFRIGERACION.length + ZONAS_SIN_REFRIGERACION.length);
+        return indice < ZONAS_CON_REFRIGERACION.length
+                ? ZONAS_CON_REFRIGERACION[indice]
+                : ZONAS_SIN_REFRIGERACION[indice - ZONAS_CON_REFRIGERACION.length];
+    }
+
+    /**
+     * Argumentos: {@code --filas=N --salida=ruta [--bom] [--semilla=N] [--prefijo=P] [--error.CODIGO=proporcion ...]}.
+     */
+    public static void main(String[] args) throws IOException {
+        long filas = 1000;
+        Path salida = null;
+        boolean bom = false;
+        Long semilla = null;
+        String prefijo = null;
+        Map<String, Double> errores = new LinkedHashMap<>();
+
+        for (String arg : args) {
+            if (arg.equals("--bom")) {
+                bom = true;
+            } else if (arg.startsWith("--filas=")) {
+                filas = Long.parseLong(valor(arg));
+            } else if (arg.startsWith("--salida=")) {
+                salida = Path.of(valor(arg));
+            } else if (arg.startsWith("--semilla=")) {
+                semilla = Long.parseLong(valor(arg));
+            } else if (arg.startsWith("--prefijo=")) {
+                prefijo = valor(arg);
+            } else if (arg.startsWith("--error.")) {
+                errores.put(arg.substring("--error.".length(), arg.indexOf('=')), Double.parseDouble(valor(arg)));
+            } else {
+                throw new IllegalArgumentException("Argumento no reconocido: " + arg);
+            }
+        }
+        if (salida == null) {
+            throw new IllegalArgumentException("Falta --salida=ruta");
+        }
+
+        PedidosCsvGenerator generador = new PedidosCsvGenerator(filas).conBom(bom);
+        if (semilla != null) {
+            generador.conSemilla(semilla);
+        }
+        if (prefijo != null) {
+            generador.conPrefijo(prefijo);
+        }
+        errores.forEach(generador::conError);
+
+        long inicio = System.nanoTime();
+        Map<String, Long> generados = generador.escribir(salida);
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+        System.out.printf("%d filas escritas en %s (%d bytes, %d ms)%n", filas, salida, Files.size(salida), ms);
+        generados.forEach((codigo, cantidad) -> System.out.printf("  %s: %d%n", codigo, cantidad));
+    }
+
+    private static String valor(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+}
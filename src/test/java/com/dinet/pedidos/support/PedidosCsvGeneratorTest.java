@@ -0,0 +1,184 @@
+package com.dinet.pedidos.support;
+
+import com.dinet.pedidos.application.service.CargarPedidosService;
+import com.dinet.pedidos.application.service.PedidoCsvColumnas;
+import com.dinet.pedidos.domain.exception.PedidoValidationException;
+import com.dinet.pedidos.domain.model.Cliente;
+import com.dinet.pedidos.domain.model.Pedido;
+import com.dinet.pedidos.domain.model.Zona;
+import com.dinet.pedidos.domain.ports.ClienteRepositoryPort;
+import com.dinet.pedidos.domain.ports.ZonaRepositoryPort;
+import com.dinet.pedidos.domain.service.PedidoDomainService;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PedidosCsvGeneratorTest {
+
+    private static final Map<String, Cliente> CLIENTES = Map.of(
+            "CLI-123", new Cliente("CLI-123", true),
+            "CLI-456", new Cliente("CLI-456", true),
+            "CLI-789", new Cliente("CLI-789", true),
+            "CLI-999", new Cliente("CLI-999", true),
+            "CLI-001", new Cliente("CLI-001", true));
+
+    private static final Map<String, Zona> ZONAS = Map.of(
+            "ZONA1", new Zona("ZONA1", true),
+            "ZONA2", new Zona("ZONA2", false),
+            "ZONA3", new Zona("ZONA3", true),
+            "ZONA5", new Zona("ZONA5", false),
+            "ZONA9", new Zona("ZONA9", true));
+
+    @Test
+    void escribir_sinErrores_todasLasFilasPasanLasValidaciones() throws IOException {
+        // Arrange
+        PedidosCsvGenerator generador = new PedidosCsvGenerator(2000);
+
+        // Act
+        String csv = generar(generador);
+
+        // Assert
+        assertTrue(csv.startsWith(PedidosCsvGenerator.CABECERA + "\n"));
+        Map<String, Long> errores = validar(csv);
+        assertTrue(errores.isEmpty(), () -> "Errores inesperados: " + errores);
+        assertEquals(2001, csv.lines().count());
+    }
+
+    @Test
+    void escribir_conProporciones_cadaFilaErroneaFallaConSuCodigo() throws IOException {
+        // Arrange
+        PedidosCsvGenerator generador = new PedidosCsvGenerator(5000).conSemilla(7);
+        PedidosCsvGenerator.CODIGOS_SOPORTADOS.forEach(codigo -> generador.conError(codigo, 0.02));
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Map<String, Long> generados = generador.escribir(out);
+
+        // Assert
+        Map<String, Long> esperados = new TreeMap<>(generados);
+        esperados.values().removeIf(cantidad -> cantidad == 0);
+        assertEquals(esperados, validar(out.toString(StandardCharsets.UTF_8)));
+        assertTrue(generados.values().stream().allMatch(cantidad -> cantidad > 0));
+    }
+
+    @Test
+    void escribir_conBom_anteponeBomALaCabecera() throws IOException {
+        // Arrange
+        PedidosCsvGenerator generador = new PedidosCsvGenerator(1).conBom(true);
+
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generador.escribir(out);
+
+        // Assert
+        byte[] bytes = out.toByteArray();
+        assertArrayEquals(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF},
+                new byte[]{bytes[0], bytes[1], bytes[2]});
+        assertTrue(validar(out.toString(StandardCharsets.UTF_8)).isEmpty());
+    }
+
+    @Test
+    void escribir_mismaSemilla_generaElMismoArchivo(@TempDir Path dir) throws IOException {
+        // Arrange
+        Path primero = dir.resolve("a.csv");
+        Path segundo = dir.resolve("b.csv");
+
+        // Act
+        new PedidosCsvGenerator(500).conSemilla(3).conError("FECHA_INVALIDA", 0.1).escribir(primero);
+        new PedidosCsvGenerator(500).conSemilla(3).conError("FECHA_INVALIDA", 0.1).escribir(segundo);
+
+        // Assert
+        assertArrayEquals(Files.readAllBytes(primero), Files.readAllBytes(segundo));
+    }
+
+    @Test
+    void conError_codigoNoSoportadoOSumaMayorQueUno_lanzaExcepcion() {
+        PedidosCsvGenerator generador = new PedidosCsvGenerator(10).conError("CLIENTE_NO_EXISTE", 0.6);
+
+        assertThrows(IllegalArgumentException.class, () -> generador.conError("CLIENTE_INACTIVO", 0.1));
+        assertThrows(IllegalArgumentException.class, () -> generador.conError("ZONA_NO_EXISTE", 0.5));
+        assertThrows(IllegalArgumentException.class, () -> generador.conPrefijo("P-"));
+    }
+
+    private static String generar(PedidosCsvGenerator generador) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generador.escribir(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reproduce la validación por fila de la carga (parseo, reglas de dominio y duplicados en el archivo)
+     * y cuenta los errores por código.
+     */
+    private static Map<String, Long> validar(String csv) throws IOException {
+        PedidoDomainService domainService = new PedidoDomainService(new ClientesEnMemoria(), new ZonasEnMemoria());
+        CargarPedidosService service = new CargarPedidosService(null, null, null, null, null, null, null);
+        Map<String, Long> errores = new TreeMap<>();
+        Set<String> vistos = new HashSet<>();
+        try (CSVParser parser = new CSVParser(new StringReader(csv), CSVFormat.DEFAULT.withFirstRecordAsHeader())) {
+            PedidoCsvColumnas columnas = PedidoCsvColumnas.desdeCabecera(parser.getHeaderNames());
+            for (CSVRecord record : parser) {
+                String codigo = null;
+                try {
+                    Pedido pedido = service.parsePedidoFromRecord(record, columnas);
+                    domainService.validarPedido(pedido);
+                    if (!vistos.add(pedido.getNumeroPedido())) {
+                        codigo = "DUPLICADO_EN_ARCHIVO";
+                    }
+                } catch (PedidoValidationException e) {
+                    codigo = e.getErrorCode();
+                } catch (IllegalArgumentException e) {
+                    codigo = "ERROR_DESCONOCIDO";
+                }
+                if (codigo != null) {
+                    errores.merge(codigo, 1L, Long::sum);
+                }
+            }
+        }
+        return errores;
+    }
+
+    private static final class ClientesEnMemoria implements ClienteRepositoryPort {
+        @Override
+        public Optional<Cliente> findById(String id) {
+            return Optional.ofNullable(CLIENTES.get(id));
+        }
+
+        @Override
+        public List<Cliente> findAll() {
+            return List.copyOf(CLIENTES.values());
+        }
+    }
+
+    private static final class ZonasEnMemoria implements ZonaRepositoryPort {
+        @Override
+        public Optional<Zona> findById(String id) {
+            return Optional.ofNullable(ZONAS.get(id));
+        }
+
+        @Override
+        public List<Zona> findAll() {
+            return List.copyOf(ZONAS.values());
+        }
+    }
+}